@@ -0,0 +1,160 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.store.ItemStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 실행 방식별 부하 테스트 : sync (요청마다 Tomcat 스레드 사용) vs async (item.async.enabled=true)
+ * 저장소 호출마다 latencyMillis 만큼 대기하도록 감싸서(SlowItemStore) 파일, 원격 저장소처럼 대기하는 상황을 만든다.
+ * Tomcat 스레드(tomcatThreads) 보다 많은 동시 요청(@Threads) 을 보내고, SampleTime 결과로 처리량과 p99 를 비교한다.
+ * ./gradlew jmh -Pjmh.args="AsyncHandlerLoadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(64)
+public class AsyncHandlerLoadBenchmark {
+
+    @Param({"sync", "async"})
+    String mode;
+
+    @Param({"16"})
+    int tomcatThreads;
+
+    @Param({"100"})
+    long latencyMillis;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest itemRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application.properties 보다 우선하도록 명령행 인자로 전달한다.
+        context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new BeanPostProcessor() {
+                            @Override
+                            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                return bean instanceof ItemStore ? new SlowItemStore((ItemStore) bean, latencyMillis) : bean;
+                            }
+                        }))
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--server.tomcat.threads.min-spare=" + tomcatThreads,
+                        "--spring.output.ansi.enabled=never",
+                        "--logging.level.root=warn",
+                        "--item.async.enabled=" + mode.equals("async"),
+                        // 같은 화면을 반복 요청하므로 HTTP 캐시(ItemCacheConfig) 를 끄고 매번 저장소를 조회한다.
+                        "--item.cache.enabled=false");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        itemRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/v4/items/1")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int item() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(itemRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("status=" + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * 조회, 저장할 때마다 latencyMillis 만큼 대기하는 저장소
+     */
+    static class SlowItemStore implements ItemStore {
+
+        private final ItemStore delegate;
+        private final long latencyMillis;
+
+        SlowItemStore(ItemStore delegate, long latencyMillis) {
+            this.delegate = delegate;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Item save(Item item) {
+            await();
+            return delegate.save(item);
+        }
+
+        @Override
+        public List<Item> saveAll(List<Item> items) {
+            await();
+            return delegate.saveAll(items);
+        }
+
+        @Override
+        public Item findById(Long id) {
+            await();
+            return delegate.findById(id);
+        }
+
+        @Override
+        public List<Item> findAll() {
+            await();
+            return delegate.findAll();
+        }
+
+        @Override
+        public List<Item> findPage(Long afterId, int limit) {
+            await();
+            return delegate.findPage(afterId, limit);
+        }
+
+        @Override
+        public void update(Long itemId, Item updateParam) {
+            await();
+            delegate.update(itemId, updateParam);
+        }
+
+        @Override
+        public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+            await();
+            return delegate.update(itemId, updateParam, expectedVersion);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public void restore(Item item) {
+            delegate.restore(item);
+        }
+
+        private void await() {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
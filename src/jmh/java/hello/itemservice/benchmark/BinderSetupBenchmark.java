@@ -0,0 +1,135 @@
+package hello.itemservice.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.metrics.ItemMetrics;
+import hello.itemservice.web.metrics.MeteredValidator;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.ValidationItemControllerV2;
+import hello.itemservice.web.validation.ValidatorRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ModelAttribute 바인더 준비 비용 (ValidationItemControllerV2.addItemV6 의 Item)
+ * initBinder : 요청마다 @InitBinder 호출(리플렉션) + addValidators(supports 확인) + 검증기를 MeteredValidator 로 감싸기 (이전 방식)
+ * registry : 시작할 때 결정해둔 검증기, 검증 hint 조회 (ValidatorRegistry)
+ * 두 방식 모두 WebBindingInitializer 와 같이 글로벌 검증기를 먼저 설정한다.
+ * init binder 로그는 끄고 측정한다. (INFO 로그를 남기면 initBinder 는 로그 출력 비용이 더해진다)
+ * ./gradlew jmh -Pjmh.args="BinderSetupBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderSetupBenchmark {
+
+    @Param({"initBinder", "registry"})
+    String binder;
+
+    LocalValidatorFactoryBean beanValidator;
+    ItemMetrics itemMetrics;
+    Validator globalValidator;
+    ValidationItemControllerV2 controller;
+    Method initBinder;
+    ValidatorRegistry registry;
+    MethodParameter parameter;
+    Item item;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(ValidationItemControllerV2.class)).setLevel(ch.qos.logback.classic.Level.OFF);
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        itemMetrics = new ItemMetrics(new SimpleMeterRegistry());
+        globalValidator = new MeteredValidator(beanValidator, "beanValidation", itemMetrics);
+
+        ItemValidator itemValidator = new ItemValidator();
+        controller = new ValidationItemControllerV2(null, itemValidator);
+        initBinder = ValidationItemControllerV2.class.getMethod("init", WebDataBinder.class);
+        registry = new ValidatorRegistry(globalValidator, itemMetrics)
+                .register(ValidationItemControllerV2.class, itemValidator);
+        parameter = new MethodParameter(ValidationItemControllerV2.class.getMethod("addItemV6",
+                Item.class, BindingResult.class, RedirectAttributes.class), 0);
+        registry.binding(parameter);
+
+        item = new Item("itemA", 10000, 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public void setup(Blackhole blackhole) throws Exception {
+        WebDataBinder dataBinder = newBinder();
+        if (binder.equals("initBinder")) {
+            initBinder.invoke(controller, dataBinder);
+            meterValidators(dataBinder);
+        } else {
+            blackhole.consume(registry.binding(parameter));
+        }
+        blackhole.consume(dataBinder);
+    }
+
+    @Benchmark
+    public BindingResult setupAndValidate() throws Exception {
+        WebDataBinder dataBinder = newBinder();
+        if (binder.equals("initBinder")) {
+            initBinder.invoke(controller, dataBinder);
+            meterValidators(dataBinder);
+            dataBinder.validate();
+        } else {
+            registry.binding(parameter).validate(dataBinder.getTarget(), dataBinder.getBindingResult());
+        }
+        return dataBinder.getBindingResult();
+    }
+
+    /**
+     * ConfigurableWebBindingInitializer : supports() 이면 글로벌 검증기 설정
+     */
+    private WebDataBinder newBinder() {
+        WebDataBinder dataBinder = new WebDataBinder(item, "item");
+        if (globalValidator.supports(Item.class)) {
+            dataBinder.setValidator(globalValidator);
+        }
+        return dataBinder;
+    }
+
+    /**
+     * 이전 MeteredModelAttributeMethodProcessor.validateIfApplicable : @InitBinder 로 추가한 검증기를 요청마다 감싼다.
+     */
+    private void meterValidators(WebDataBinder dataBinder) {
+        List<Validator> validators = dataBinder.getValidators();
+        Validator[] metered = null;
+        for (int i = 0; i < validators.size(); i++) {
+            Validator validator = validators.get(i);
+            if (validator instanceof MeteredValidator) {
+                continue;
+            }
+            if (metered == null) {
+                metered = validators.toArray(new Validator[0]);
+            }
+            metered[i] = new MeteredValidator(validator, validator.getClass().getSimpleName(), itemMetrics);
+        }
+        if (metered != null) {
+            dataBinder.replaceValidators(metered);
+        }
+    }
+
+}
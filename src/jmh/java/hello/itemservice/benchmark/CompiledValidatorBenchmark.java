@@ -0,0 +1,68 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.web.validation.compiled.BeanValidationConstraintMessages;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation(리플렉션, 메타데이터 조회) 과 컴파일 시점에 생성된 검증기 비교
+ * valid : 오류가 없는 요청, invalid : 모든 필드에 오류가 있는 요청 (기본 메시지 생성 포함)
+ * ./gradlew jmh -Pjmh.args="CompiledValidatorBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    @Param({"beanValidation", "compiled"})
+    String validator;
+
+    LocalValidatorFactoryBean beanValidator;
+    Validator target;
+    ItemSaveForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        target = validator.equals("compiled")
+                ? new ItemSaveFormCompiledValidator(new BeanValidationConstraintMessages(beanValidator))
+                : beanValidator;
+
+        form = new ItemSaveForm();
+        if (input.equals("valid")) {
+            form.setItemName("itemA");
+            form.setPrice(10000);
+            form.setQuantity(10);
+        } else {
+            form.setItemName(" ");
+            form.setPrice(10);
+            form.setQuantity(10000);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult validate() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        target.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+}
@@ -0,0 +1,73 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.web.validation.compiled.CompiledBinder;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledBinder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 폼 파라미터 바인딩 비용 : @ModelAttribute ItemSaveForm 과 같이 WebDataBinder 로 바인딩한다.
+ * typeMismatch : price=abc 처럼 타입 변환에 실패하면 typeMismatch 오류 코드와 FieldError 를 만든다.
+ * webDataBinder : 요청 파라미터로 PropertyValues 를 만들고 BeanWrapper, ConversionService 로 바인딩 (ServletRequestDataBinder)
+ * compiled : 생성된 바인더(ItemSaveFormCompiledBinder) 로 setter 를 바로 호출
+ * 할당량 비교 : ./gradlew jmh -Pjmh.args="DataBinderBenchmark -prof gc" (gc.alloc.rate.norm, B/op)
+ * ./gradlew jmh -Pjmh.args="DataBinderBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataBinderBenchmark {
+
+    @Param({"valid", "typeMismatch"})
+    String input;
+
+    @Param({"webDataBinder", "compiled"})
+    String binder;
+
+    DefaultFormattingConversionService conversionService;
+    CompiledBinder compiledBinder;
+    Map<String, String[]> parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        conversionService = new DefaultFormattingConversionService();
+        compiledBinder = new ItemSaveFormCompiledBinder();
+        parameters = new HashMap<>();
+        parameters.put("itemName", new String[]{"itemA"});
+        parameters.put("price", new String[]{input.equals("valid") ? "10000" : "abc"});
+        parameters.put("quantity", new String[]{"10"});
+    }
+
+    @Benchmark
+    public BindingResult bind() {
+        WebDataBinder dataBinder = new WebDataBinder(new ItemSaveForm(), "item");
+        dataBinder.setConversionService(conversionService);
+        if (binder.equals("compiled")) {
+            compiledBinder.bind(dataBinder.getTarget(), parameters::get, dataBinder);
+        } else {
+            dataBinder.bind(propertyValues());
+        }
+        return dataBinder.getBindingResult();
+    }
+
+    /**
+     * ServletRequestParameterPropertyValues 와 같이 요청마다 파라미터를 복사한다. (값이 하나이면 String)
+     */
+    private MutablePropertyValues propertyValues() {
+        Map<String, Object> values = new HashMap<>();
+        parameters.forEach((name, value) -> values.put(name, value.length == 1 ? value[0] : value));
+        return new MutablePropertyValues(values);
+    }
+
+}
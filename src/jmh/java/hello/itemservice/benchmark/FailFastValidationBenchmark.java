@@ -0,0 +1,119 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ItemSaveFormValidator;
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.batch.ItemBatchResult;
+import hello.itemservice.web.validation.batch.ItemBatchService;
+import hello.itemservice.web.validation.batch.ItemRowValidator;
+import hello.itemservice.web.validation.compiled.BeanValidationConstraintMessages;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import hello.itemservice.web.validation.compiled.Violation;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잘못된 요청의 검증 비용 : 모든 오류(allErrors) vs 빠른 실패(failFast) vs 첫번째 위반만(firstViolation, FieldError 없음)
+ * validate : 모든 필드에 오류가 있는 ItemSaveForm 하나 (@Validated 와 같은 CompiledValidatorAdapter)
+ * batch : 잘못된 항목 rows 개의 대량 등록 (ItemBatchService, 오류 메시지 생성 포함)
+ *         allErrors 는 validator 의 필드 검증 + totalPriceMin, failFast / firstViolation 은 ItemRowValidator.firstViolation
+ * ./gradlew jmh -Pjmh.args="FailFastValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FailFastValidationBenchmark {
+
+    @Param({"beanValidation", "compiled"})
+    String validator;
+
+    @Param({"allErrors", "failFast", "firstViolation"})
+    String mode;
+
+    @Param({"1000"})
+    int rows;
+
+    LocalValidatorFactoryBean beanValidator;
+    CompiledValidatorAdapter adapter;
+    ItemSaveFormCompiledValidator compiledValidator;
+    ItemBatchService batchService;
+    ItemSaveForm form;
+    List<ItemSaveForm> forms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new ItemSaveFormCompiledValidator(new BeanValidationConstraintMessages(beanValidator));
+        SpringValidatorAdapter failFastValidator = new SpringValidatorAdapter(
+                beanValidator.unwrap(HibernateValidatorFactory.class).usingContext().failFast(true).getValidator());
+        adapter = new CompiledValidatorAdapter(validator.equals("compiled") ? List.of(compiledValidator) : List.of(),
+                beanValidator, failFastValidator);
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        ItemRowValidator itemRowValidator = new ItemRowValidator(new ItemSaveFormValidator(adapter),
+                new DefaultMessageCodesResolver(), compiledValidator);
+        batchService = new ItemBatchService(new ItemRepository(new ItemStreamIngestBenchmark.DiscardingItemStore()),
+                itemRowValidator, messageSource);
+
+        form = invalidForm(0);
+        forms = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            forms.add(invalidForm(i));
+        }
+    }
+
+    /**
+     * 모든 필드 오류 (itemName 공백, price 범위, quantity 최대값) + 글로벌 오류 조건
+     */
+    private static ItemSaveForm invalidForm(int i) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10 + i % 100);
+        form.setQuantity(10000);
+        return form;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public Object validate() {
+        if (mode.equals("firstViolation")) {
+            return compiledValidator.firstViolation(form);
+        }
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        if (mode.equals("failFast")) {
+            adapter.validate(form, bindingResult, ValidationMode.FailFast.class);
+        } else {
+            adapter.validate(form, bindingResult);
+        }
+        return bindingResult;
+    }
+
+    @Benchmark
+    public ItemBatchResult batch() {
+        return batchService.addItems(forms, Locale.KOREA,
+                mode.equals("allErrors") ? ValidationMode.ALL_ERRORS : ValidationMode.FAIL_FAST);
+    }
+
+}
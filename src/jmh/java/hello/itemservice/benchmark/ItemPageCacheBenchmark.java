@@ -0,0 +1,79 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록 화면 반복 요청 : render (item.cache.enabled=false, 매번 렌더링) vs page (렌더링 결과 재사용) vs notModified (If-None-Match -> 304)
+ * ./gradlew jmh -Pjmh.args="ItemPageCacheBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(4)
+public class ItemPageCacheBenchmark {
+
+    @Param({"render", "page", "notModified"})
+    String mode;
+
+    @Param({"100"})
+    int size;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest itemsRequest;
+    int expectedStatus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0", "--spring.output.ansi.enabled=never", "--logging.level.root=warn",
+                        "--item.cache.enabled=" + !mode.equals("render"));
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        for (int i = 0; i < size; i++) {
+            itemRepository.save(new Item("item-" + i, 10000, i));
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        URI uri = URI.create("http://localhost:" + port + "/validation/v4/items?size=" + size);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).header("Accept-Language", "ko");
+        if (mode.equals("notModified")) {
+            String etag = client.send(builder.build(), HttpResponse.BodyHandlers.discarding())
+                    .headers().firstValue("ETag").orElseThrow();
+            builder.header("If-None-Match", etag);
+        }
+        itemsRequest = builder.build();
+        expectedStatus = mode.equals("notModified") ? 304 : 200;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int items() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(itemsRequest, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("status=" + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+}
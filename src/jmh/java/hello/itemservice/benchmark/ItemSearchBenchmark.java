@@ -0,0 +1,65 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.domain.item.store.IndexedItemStore;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.MapItemStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조건 검색 : 전체 조회(scan) vs 보조 인덱스(index, IndexedItemStore)
+ * 조건에 맞는 상품이 적은 검색(운영 조회) 기준으로 첫 페이지(20개) 를 조회한다.
+ * namePrefix : 상품명 접두어 (약 20개), priceBand : 좁은 가격 범위 (약 100개), lowStock : 수량 5 미만 (약 500개)
+ * ./gradlew jmh -Pjmh.args="ItemSearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ItemSearchBenchmark {
+
+    @Param({"scan", "index"})
+    String store;
+
+    @Param({"1000000"})
+    int items;
+
+    ItemStore itemStore;
+    ItemSearchCond namePrefix;
+    ItemSearchCond priceBand;
+    ItemSearchCond lowStock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemStore = "index".equals(store) ? new IndexedItemStore(new MapItemStore(), 10_000) : new MapItemStore();
+        for (int i = 0; i < items; i++) {
+            // 상품명 50,000 종류, 가격 1,000 ~ 1,000,000, 수량 0 ~ 9,999
+            itemStore.save(new Item("item-" + (i % 50_000), 1000 + (int) ((i * 7919L) % 999_001), (i * 31) % 10_000));
+        }
+        namePrefix = new ItemSearchCond("item-4242", null, null, null);
+        priceBand = new ItemSearchCond(null, 500_000, 500_100, null);
+        lowStock = new ItemSearchCond(null, null, null, 5);
+    }
+
+    @Benchmark
+    public List<Item> namePrefix() {
+        return itemStore.search(namePrefix, null, 20);
+    }
+
+    @Benchmark
+    public List<Item> priceBand() {
+        return itemStore.search(priceBand, null, 20);
+    }
+
+    @Benchmark
+    public List<Item> lowStock() {
+        return itemStore.search(lowStock, null, 20);
+    }
+
+}
@@ -0,0 +1,62 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.store.ColumnarItemStore;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.MapItemStore;
+import hello.itemservice.domain.item.store.SnapshotItemStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소별 메모리 사용량 비교 (snapshot vs map vs columnar)
+ * Setup 에서 items 개 만큼 저장한 뒤 GC 후 힙 증가량을 출력하고, findById 처리량을 측정한다.
+ * ./gradlew jmh -Pjmh.args="ItemStoreFootprintBenchmark -p items=10000000 -jvmArgs -Xmx8g"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ItemStoreFootprintBenchmark {
+
+    @Param({"snapshot", "map", "columnar"})
+    String type;
+
+    @Param({"1000000"})
+    int items;
+
+    ItemStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = null;
+        long before = usedHeap();
+        store = "columnar".equals(type) ? new ColumnarItemStore()
+                : "map".equals(type) ? new MapItemStore() : new SnapshotItemStore();
+        for (int i = 0; i < items; i++) {
+            // 실제 카탈로그처럼 상품명은 일부 중복된다.
+            store.save(new Item("item-" + (i % 50_000), 1000 + i % 1_000_000, i % 10_000));
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n[footprint] type=%s items=%d retained=%,d bytes (%.1f bytes/item)%n",
+                type, items, retained, (double) retained / items);
+    }
+
+    @Benchmark
+    public Item findById() {
+        return store.findById((long) ThreadLocalRandom.current().nextInt(items) + 1);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,60 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.MapItemStore;
+import hello.itemservice.domain.item.store.SnapshotItemStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수정 중 전체 조회 : map (findAll 마다 전체 복사) vs snapshot (현재 버전을 복사 없이 반환)
+ * findAll : findAll() 후 목록 화면처럼 전체를 읽는다. update : 동시에 임의의 상품을 수정한다.
+ * ./gradlew jmh -Pjmh.args="ItemStoreReadWriteBenchmark -prof gc"
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ItemStoreReadWriteBenchmark {
+
+    @Param({"map", "snapshot"})
+    String type;
+
+    @Param({"100000"})
+    int items;
+
+    ItemStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = "map".equals(type) ? new MapItemStore() : new SnapshotItemStore();
+        for (int i = 0; i < items; i++) {
+            store.save(new Item("item-" + i, 10000, i));
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public long findAll() {
+        long total = 0;
+        for (Item item : store.findAll()) {
+            total += item.getPrice();
+        }
+        return total;
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void update() {
+        int value = ThreadLocalRandom.current().nextInt(1000, 1_000_000);
+        store.update((long) ThreadLocalRandom.current().nextInt(items) + 1, new Item("item-" + value, value, value));
+    }
+
+}
@@ -0,0 +1,197 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.web.validation.ItemSaveFormValidator;
+import hello.itemservice.web.validation.batch.IngestSummary;
+import hello.itemservice.web.validation.batch.ItemRowValidator;
+import hello.itemservice.web.validation.batch.ItemStreamIngester;
+import hello.itemservice.web.validation.compiled.BeanValidationConstraintMessages;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스트리밍 대량 등록 : records 개의 NDJSON 을 한번에 처리하는 시간과 힙 최대 사용량
+ * 요청 본문은 만들면서 읽고(GeneratedBody), 저장소는 ID 만 발급하므로 힙에 남는 것은 ingest 경로에서 사용하는 메모리뿐이다.
+ * 힙을 작게(-Xmx256m) 잡아도 records 와 관계없이 끝까지 처리된다.
+ * ./gradlew jmh -Pjmh.args="ItemStreamIngestBenchmark -p records=10000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class ItemStreamIngestBenchmark {
+
+    @Param({"10000000"})
+    long records;
+
+    @Param({"1000"})
+    int chunkSize;
+
+    LocalValidatorFactoryBean beanValidator;
+    ItemStreamIngester ingester;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        ItemRowValidator itemRowValidator = new ItemRowValidator(new ItemSaveFormValidator(beanValidator),
+                new DefaultMessageCodesResolver(),
+                new ItemSaveFormCompiledValidator(new BeanValidationConstraintMessages(beanValidator)));
+        ingester = new ItemStreamIngester(new ItemRepository(new DiscardingItemStore()), itemRowValidator,
+                messageSource, chunkSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n[ingest] records=%,d peak heap=%,d bytes (max %,d)%n",
+                records, peak, Runtime.getRuntime().maxMemory());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public IngestSummary ingest() throws IOException {
+        return ingester.ingest(new GeneratedBody(records), OutputStream.nullOutputStream(), Locale.KOREA);
+    }
+
+    /**
+     * records 개의 NDJSON 을 읽는 시점에 만든다. 10 개 중 1 개는 검증 오류(totalPriceMin)
+     */
+    static class GeneratedBody extends InputStream {
+
+        private final long records;
+        private long next;
+        private byte[] line = new byte[0];
+        private int position;
+
+        GeneratedBody(long records) {
+            this.records = records;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return line[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < len && fill()) {
+                int count = Math.min(len - read, line.length - position);
+                System.arraycopy(line, position, b, off + read, count);
+                position += count;
+                read += count;
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        private boolean fill() {
+            if (position < line.length) {
+                return true;
+            }
+            if (next == records) {
+                return false;
+            }
+            int price = next % 10 == 9 ? 1000 : 10000;
+            line = ("{\"itemName\":\"item-" + next + "\",\"price\":" + price + ",\"quantity\":" + (1 + next % 100) + "}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            next++;
+            return true;
+        }
+    }
+
+    /**
+     * ID 만 발급하고 보관하지 않는 저장소
+     */
+    static class DiscardingItemStore implements ItemStore {
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public Item save(Item item) {
+            item.setId(sequence.incrementAndGet());
+            return item;
+        }
+
+        @Override
+        public Item findById(Long id) {
+            return null;
+        }
+
+        @Override
+        public List<Item> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Item> findPage(Long afterId, int limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void update(Long itemId, Item updateParam) {
+        }
+
+        @Override
+        public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+            return false;
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public void restore(Item item) {
+        }
+    }
+
+}
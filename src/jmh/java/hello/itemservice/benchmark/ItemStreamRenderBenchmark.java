@@ -0,0 +1,86 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 상품 화면 : list (목록 화면에 size=전체, 목록과 HTML 을 모두 만든 뒤 전송) vs stream (/validation/v4/items/all, 나누어 전송)
+ * firstByte : 첫 바이트까지의 시간, full : 전체 응답 시간
+ * ./gradlew jmh -Pjmh.args="ItemStreamRenderBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ItemStreamRenderBenchmark {
+
+    @Param({"list", "stream"})
+    String mode;
+
+    @Param({"10000", "40000"})
+    int size;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0", "--spring.output.ansi.enabled=never", "--logging.level.root=warn",
+                        // firstByte 는 첫 바이트만 읽고 연결을 끊으므로 렌더링 중 쓰기 오류가 기록된다.
+                        "--logging.level.org.thymeleaf=off", "--logging.level.org.apache.catalina=off",
+                        "--item.cache.enabled=false");
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        List<Item> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item("item-" + i, 10000, i));
+        }
+        itemRepository.saveAll(items);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String path = mode.equals("stream") ? "/validation/v4/items/all" : "/validation/v4/items?size=" + size;
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Language", "ko").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int firstByte() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            return body.read();
+        }
+    }
+
+    @Benchmark
+    public long full() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            return body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 화면 렌더링 : versioned (v1~v4 별 템플릿, 요청마다 메시지 평가) vs shared (메시지, 경로를 미리 반영한 공유 템플릿)
+ * 렌더링 비용만 비교하도록 화면 캐시는 끈다. (item.cache.enabled=false)
+ * ./gradlew jmh -Pjmh.args="ItemTemplateRenderBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(4)
+public class ItemTemplateRenderBenchmark {
+
+    @Param({"versioned", "shared"})
+    String template;
+
+    @Param({"1000"})
+    int size;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest itemsRequest;
+    HttpRequest editFormRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0", "--spring.output.ansi.enabled=never", "--logging.level.root=warn",
+                        "--item.cache.enabled=false",
+                        "--item.template.shared.enabled=" + template.equals("shared"));
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        Long itemId = null;
+        for (int i = 0; i < size; i++) {
+            itemId = itemRepository.save(new Item("item-" + i, 10000, i)).getId();
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        itemsRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/v4/items?size=" + size))
+                .header("Accept-Language", "ko").build();
+        editFormRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/v4/items/" + itemId + "/edit"))
+                .header("Accept-Language", "ko").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int items() throws IOException, InterruptedException {
+        return send(itemsRequest);
+    }
+
+    @Benchmark
+    public int editForm() throws IOException, InterruptedException {
+        return send(editFormRequest);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("status=" + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+}
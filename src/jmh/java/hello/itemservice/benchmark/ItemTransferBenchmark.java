@@ -0,0 +1,123 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ItemSaveFormValidator;
+import hello.itemservice.web.validation.batch.ItemExporter;
+import hello.itemservice.web.validation.batch.ItemImportResult;
+import hello.itemservice.web.validation.batch.ItemImporter;
+import hello.itemservice.web.validation.batch.ItemRowValidator;
+import hello.itemservice.web.validation.batch.ItemTransferFormat;
+import hello.itemservice.web.validation.compiled.BeanValidationConstraintMessages;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 상품 내보내기, 가져오기 : records 개를 파일로 내보내는 시간, 파일에서 가져오는(검증, 저장) 시간
+ * 저장소는 순회할 상품을 그때 만들고(내보내기), 저장은 ID 만 발급하므로(가져오기) 측정하는 것은 형식 처리, 검증, 파일 입출력이다.
+ * ./gradlew jmh -Pjmh.args="ItemTransferBenchmark -p records=10000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class ItemTransferBenchmark {
+
+    @Param({"10000000"})
+    long records;
+
+    @Param({"CSV", "BINARY"})
+    ItemTransferFormat format;
+
+    // 가져오기 검증, 저장 스레드 수 (0 : CPU 수)
+    @Param({"0"})
+    int parallelism;
+
+    LocalValidatorFactoryBean beanValidator;
+    ItemExporter exporter;
+    ItemImporter importer;
+    Path exportFile;
+    Path importFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        ItemRowValidator itemRowValidator = new ItemRowValidator(new ItemSaveFormValidator(beanValidator),
+                new DefaultMessageCodesResolver(),
+                new ItemSaveFormCompiledValidator(new BeanValidationConstraintMessages(beanValidator)));
+
+        exporter = new ItemExporter(new ItemRepository(new GeneratedItemStore(records)));
+        importer = new ItemImporter(new ItemRepository(new ItemStreamIngestBenchmark.DiscardingItemStore()),
+                itemRowValidator, messageSource, 1000, parallelism);
+
+        exportFile = Files.createTempFile("items-export", "." + format.getExtension());
+        importFile = Files.createTempFile("items-import", "." + format.getExtension());
+        try (FileChannel channel = FileChannel.open(importFile, StandardOpenOption.WRITE)) {
+            exporter.export(format, channel);
+        }
+        System.out.printf("%n[transfer] format=%s records=%,d file=%,d bytes%n", format, records, Files.size(importFile));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        importer.shutdown();
+        beanValidator.close();
+        Files.deleteIfExists(exportFile);
+        Files.deleteIfExists(importFile);
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        try (FileChannel channel = FileChannel.open(exportFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return exporter.export(format, channel);
+        }
+    }
+
+    @Benchmark
+    public ItemImportResult importItems() throws IOException {
+        try (FileChannel channel = FileChannel.open(importFile, StandardOpenOption.READ)) {
+            return importer.importItems(format, channel, Locale.KOREA);
+        }
+    }
+
+    /**
+     * 순회할 때 records 개의 상품을 만드는 저장소 (10 개 중 1 개는 검증 오류 totalPriceMin)
+     */
+    static class GeneratedItemStore extends ItemStreamIngestBenchmark.DiscardingItemStore {
+
+        private final long records;
+
+        GeneratedItemStore(long records) {
+            this.records = records;
+        }
+
+        @Override
+        public Stream<Item> stream() {
+            return LongStream.rangeClosed(1, records).mapToObj(id -> {
+                Item item = new Item("item-" + id, id % 10 == 9 ? 1000 : 10000, (int) (1 + id % 100));
+                item.setId(id);
+                return item;
+            });
+        }
+    }
+
+}
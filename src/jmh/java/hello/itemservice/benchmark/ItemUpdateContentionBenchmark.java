@@ -0,0 +1,67 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.store.ColumnarItemStore;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.MapItemStore;
+import hello.itemservice.domain.item.store.SnapshotItemStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * version 확인 수정(update(itemId, updateParam, expectedVersion)) 경합
+ * 여러 스레드가 적은 수의 상품(hotItems)을 읽고 -> 읽은 version 으로 수정한다. (수정 폼 제출과 같은 흐름)
+ * map, snapshot : 락 없이 compare-and-set, columnar : writeLock 안에서 비교 후 수정
+ * success, conflict : 수정 성공 / 다른 스레드가 먼저 수정해서 실패한 횟수 (충돌 비율 확인)
+ * ./gradlew jmh -Pjmh.args="ItemUpdateContentionBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(8)
+public class ItemUpdateContentionBenchmark {
+
+    @Param({"map", "snapshot", "columnar"})
+    String type;
+
+    @Param({"1", "16"})
+    int hotItems;
+
+    ItemStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = "map".equals(type) ? new MapItemStore()
+                : "snapshot".equals(type) ? new SnapshotItemStore() : new ColumnarItemStore();
+        for (int i = 0; i < hotItems; i++) {
+            store.save(new Item("item-" + i, 10000, 0));
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long success;
+        public long conflict;
+    }
+
+    @Benchmark
+    public boolean readModifyWrite(Counters counters) {
+        long itemId = ThreadLocalRandom.current().nextInt(hotItems) + 1;
+        Item findItem = store.findById(itemId);
+        boolean updated = store.update(itemId, new Item(findItem.getItemName(), findItem.getPrice(),
+                findItem.getQuantity() + 1), findItem.getVersion());
+        if (updated) {
+            counters.success++;
+        } else {
+            counters.conflict++;
+        }
+        return updated;
+    }
+
+}
@@ -0,0 +1,76 @@
+package hello.itemservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 두 JMH 결과(-rf json) 비교 : 이전 커밋의 결과(baseline) 보다 threshold(%) 이상 느려진 벤치마크가 있으면 실패한다.
+ * 처리량(thrpt) 은 높을수록, 나머지 모드(avgt, sample, ss) 는 낮을수록 좋은 결과로 본다.
+ * ./gradlew jmhCompare -Pjmh.baseline=baseline.json [-Pjmh.results=build/reports/jmh/results.json] [-Pjmh.threshold=10]
+ */
+public class JmhResultComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhResultComparator <baseline.json> <results.json> [threshold %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> results = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14.3f %-8s (new)%n", entry.getKey(), afterScore, unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            // 양수이면 느려진 것
+            double change = (afterScore - beforeScore) / beforeScore * 100;
+            if (after.path("mode").asText().equals("thrpt")) {
+                change = -change;
+            }
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f -> %14.3f %-8s %+7.1f%% %s%n",
+                    entry.getKey(), beforeScore, afterScore, unit, change, regression ? "REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 벤치마크 이름과 파라미터를 키로 사용한다. 예) hello.itemservice.benchmark.ValidatorBenchmark.itemValidator{input=valid}
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            results.put(key, result);
+        }
+        return results;
+    }
+
+}
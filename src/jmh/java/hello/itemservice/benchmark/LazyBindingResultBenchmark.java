@@ -0,0 +1,71 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.web.validation.LazyBindingResult;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.ObjectError;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 오류 3개(rejectValue 2개, reject 1개) 기록 후 읽기
+ * eager : BeanPropertyBindingResult (rejectValue 마다 메시지 코드, FieldError 생성)
+ * lazy : LazyBindingResult (읽을 때 생성)
+ * count : hasErrors, 오류 수, 오류 코드만 읽는다. (리다이렉트, API 오류 수, 오류 지표)
+ * render : 모든 오류를 읽는다. (th:errors, JSON 응답)
+ * 할당량 비교 : ./gradlew jmh -Pjmh.args="LazyBindingResultBenchmark -prof gc"
+ * ./gradlew jmh -Pjmh.args="LazyBindingResultBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyBindingResultBenchmark {
+
+    @Param({"eager", "lazy"})
+    String bindingResult;
+
+    @Param({"count", "render"})
+    String read;
+
+    ItemSaveForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(10);
+    }
+
+    @Benchmark
+    public void rejectAndRead(Blackhole blackhole) {
+        BeanPropertyBindingResult errors = bindingResult.equals("lazy")
+                ? new LazyBindingResult(form, "item")
+                : new BeanPropertyBindingResult(form, "item");
+        errors.rejectValue("itemName", "NotBlank");
+        errors.rejectValue("price", "Range", new Object[]{1000, 1000000}, null);
+        errors.reject("totalPriceMin", new Object[]{10000, 100}, null);
+
+        if (read.equals("render")) {
+            for (ObjectError error : errors.getAllErrors()) {
+                blackhole.consume(error.getCodes());
+            }
+            return;
+        }
+        blackhole.consume(errors.hasErrors());
+        blackhole.consume(errors.getErrorCount());
+        if (errors instanceof LazyBindingResult) {
+            ((LazyBindingResult) errors).forEachErrorCode(blackhole::consume);
+        } else {
+            for (ObjectError error : errors.getAllErrors()) {
+                blackhole.consume(error.getCode());
+            }
+        }
+    }
+
+}
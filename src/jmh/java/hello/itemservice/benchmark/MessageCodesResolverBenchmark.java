@@ -0,0 +1,47 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.message.CachingMessageCodesResolver;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 코드 생성 비용 : 검증 오류 1건마다 호출된다.
+ * 객체 오류 : totalPriceMin.item, totalPriceMin
+ * 필드 오류 : required.item.itemName, required.itemName, required.java.lang.String, required
+ * cached : CachingMessageCodesResolver
+ * ./gradlew jmh -Pjmh.args="MessageCodesResolverBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCodesResolverBenchmark {
+
+    @Param({"default", "cached"})
+    String resolver;
+
+    MessageCodesResolver codesResolver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codesResolver = resolver.equals("cached")
+                ? new CachingMessageCodesResolver(new DefaultMessageCodesResolver(), 10000)
+                : new DefaultMessageCodesResolver();
+    }
+
+    @Benchmark
+    public String[] objectError() {
+        return codesResolver.resolveMessageCodes("totalPriceMin", "item");
+    }
+
+    @Benchmark
+    public String[] fieldError() {
+        return codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+    }
+
+}
@@ -0,0 +1,67 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.message.CachingMessageSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 조회 비용 : messages, errors 번들 (spring.messages.basename=messages,errors)
+ * simple : 인자 없는 메시지, arguments : MessageFormat 인자 치환
+ * fieldError : 검증 오류처럼 여러 코드 중 처음 찾은 메시지 사용 (required.item.itemName 이 없는 price 필드는 range 까지 찾는다)
+ * cached : 메시지를 찾은 코드 위치를 캐시 (CachingMessageSource)
+ * ./gradlew jmh -Pjmh.args="MessageSourceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSourceBenchmark {
+
+    @Param({"ko", "en"})
+    String language;
+
+    @Param({"default", "cached"})
+    String source;
+
+    MessageSource messageSource;
+    Locale locale;
+    Object[] rangeArgs = {1000, 1000000};
+    DefaultMessageSourceResolvable fieldError;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 스프링 부트의 MessageSourceAutoConfiguration 과 같은 설정
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        this.messageSource = source.equals("cached") ? new CachingMessageSource(messageSource, 10000, null) : messageSource;
+        locale = new Locale(language);
+
+        String[] codes = new DefaultMessageCodesResolver().resolveMessageCodes("max", "item", "price", Integer.class);
+        fieldError = new DefaultMessageSourceResolvable(codes, new Object[]{9999}, null);
+    }
+
+    @Benchmark
+    public String simple() {
+        return messageSource.getMessage("label.item.itemName", null, locale);
+    }
+
+    @Benchmark
+    public String arguments() {
+        return messageSource.getMessage("range.item.price", rangeArgs, locale);
+    }
+
+    @Benchmark
+    public String fieldError() {
+        return messageSource.getMessage(fieldError, locale);
+    }
+
+}
@@ -0,0 +1,72 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.web.validation.ItemSaveFormValidator;
+import hello.itemservice.web.validation.ParallelCollectionValidator;
+import hello.itemservice.web.validation.form.ItemBatchForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컬렉션 항목 검증 : 호출한 스레드에서 순서대로(sequential) vs ForkJoinPool 에서 나누어(parallel, threshold=256)
+ * 항목 10개 중 1개는 필드 오류 + 글로벌 오류, 나머지는 정상 (ItemSaveFormValidator, Bean Validation)
+ * parallel 도 size 가 threshold 보다 작으면 순서대로 검증한다.
+ * ./gradlew jmh -Pjmh.args="ParallelCollectionValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelCollectionValidationBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    @Param({"sequential", "parallel"})
+    String mode;
+
+    LocalValidatorFactoryBean beanValidator;
+    ItemSaveFormValidator itemSaveFormValidator;
+    ParallelCollectionValidator validator;
+    ItemBatchForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        itemSaveFormValidator = new ItemSaveFormValidator(beanValidator);
+        validator = new ParallelCollectionValidator(mode.equals("parallel") ? 256 : Integer.MAX_VALUE, 0);
+
+        List<ItemSaveForm> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ItemSaveForm item = new ItemSaveForm();
+            item.setItemName("item" + i);
+            item.setPrice(i % 10 == 0 ? 10 : 10000);
+            item.setQuantity(10);
+            items.add(item);
+        }
+        form = new ItemBatchForm();
+        form.setItems(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validator.shutdown();
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult validate() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "itemBatchForm");
+        validator.validate("items", form.getItems(), itemSaveFormValidator, bindingResult);
+        return bindingResult;
+    }
+
+}
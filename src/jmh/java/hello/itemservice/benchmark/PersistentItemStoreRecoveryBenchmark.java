@@ -0,0 +1,72 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.store.ColumnarItemStore;
+import hello.itemservice.domain.item.store.FsyncPolicy;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.MapItemStore;
+import hello.itemservice.domain.item.store.PersistentItemStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재시작 시간 : 로그 재생(log) 또는 스냅샷 읽기(snapshot) 로 items 개를 복구하는 시간
+ * 10M 은 로그 파일이 약 2.5GB 이므로 디스크 여유 공간을 확인하고 실행한다.
+ * ./gradlew jmh -Pjmh.args="PersistentItemStoreRecoveryBenchmark -p items=1000000,10000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class PersistentItemStoreRecoveryBenchmark {
+
+    @Param({"1000000"})
+    int items;
+
+    @Param({"log", "snapshot"})
+    String source;
+
+    @Param({"map", "columnar"})
+    String type;
+
+    Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("item-store-recovery");
+        PersistentItemStore store = open();
+        for (int i = 0; i < items; i++) {
+            store.save(new Item("item-" + i, 1000 + i % 1_000_000, i % 10_000));
+        }
+        if ("snapshot".equals(source)) {
+            store.snapshot();
+        }
+        store.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public ItemStore recover() throws IOException {
+        PersistentItemStore store = open();
+        store.close();
+        return store;
+    }
+
+    private PersistentItemStore open() {
+        ItemStore delegate = "columnar".equals(type) ? new ColumnarItemStore() : new MapItemStore();
+        return new PersistentItemStore(delegate, directory, FsyncPolicy.NEVER, Duration.ofMillis(100), Duration.ZERO);
+    }
+
+}
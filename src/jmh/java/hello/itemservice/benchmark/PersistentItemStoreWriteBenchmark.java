@@ -0,0 +1,53 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.store.FsyncPolicy;
+import hello.itemservice.domain.item.store.MapItemStore;
+import hello.itemservice.domain.item.store.PersistentItemStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fsync 정책별 쓰기 처리량
+ * ALWAYS 는 동시에 기록한 스레드들이 한 번의 fsync 를 공유한다. (group commit)
+ * ./gradlew jmh -Pjmh.args="PersistentItemStoreWriteBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class PersistentItemStoreWriteBenchmark {
+
+    @Param({"ALWAYS", "INTERVAL", "NEVER"})
+    FsyncPolicy fsync;
+
+    Path directory;
+    PersistentItemStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("item-store-write");
+        store = new PersistentItemStore(new MapItemStore(), directory, fsync, Duration.ofMillis(100), Duration.ZERO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Item save() {
+        return store.save(new Item("item", 10000, 10));
+    }
+
+}
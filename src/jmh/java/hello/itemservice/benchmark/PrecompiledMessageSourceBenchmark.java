@@ -0,0 +1,57 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.message.PrecompiledMessageSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인자가 있는 메시지 처리량 : ResourceBundleMessageSource(MessageFormat) vs PrecompiledMessageSource
+ * ResourceBundleMessageSource 는 같은 메시지의 MessageFormat 을 공유하므로 여러 스레드가 동시에 사용하면 동기화로 기다린다.
+ * ./gradlew jmh -Pjmh.args="PrecompiledMessageSourceBenchmark -t 1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PrecompiledMessageSourceBenchmark {
+
+    @Param({"resourceBundle", "precompiled"})
+    String source;
+
+    MessageSource messageSource;
+    Object[] rangeArgs = {1000, 1000000};
+    Object[] totalPriceArgs = {10000, 3000};
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (source.equals("precompiled")) {
+            messageSource = new PrecompiledMessageSource(new String[]{"messages", "errors"}, StandardCharsets.UTF_8,
+                    true, false, List.of(Locale.KOREA));
+        } else {
+            ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+            messageSource.setBasenames("messages", "errors");
+            messageSource.setDefaultEncoding("UTF-8");
+            this.messageSource = messageSource;
+        }
+    }
+
+    @Benchmark
+    public String range() {
+        return messageSource.getMessage("range.item.price", rangeArgs, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String totalPriceMin() {
+        return messageSource.getMessage("totalPriceMin.item", totalPriceArgs, Locale.KOREA);
+    }
+
+}
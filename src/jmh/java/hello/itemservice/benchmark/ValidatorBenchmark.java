@@ -0,0 +1,73 @@
+package hello.itemservice.benchmark;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 비용 : 직접 만든 검증기(ItemValidator) 와 Bean Validation
+ * Item 은 V4 부터 검증 어노테이션이 없으므로 Bean Validation 의 메타데이터 조회 비용만 측정된다.
+ * ./gradlew jmh -Pjmh.args="ValidatorBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    ItemValidator itemValidator;
+    LocalValidatorFactoryBean beanValidator;
+    Item item;
+    ItemSaveForm form;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemValidator = new ItemValidator();
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+
+        boolean valid = input.equals("valid");
+        item = valid ? new Item("itemA", 10000, 10) : new Item(" ", 10, 10000);
+        form = new ItemSaveForm();
+        form.setItemName(item.getItemName());
+        form.setPrice(item.getPrice());
+        form.setQuantity(item.getQuantity());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult itemValidator() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult beanValidationItem() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        beanValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult beanValidationSaveForm() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+}
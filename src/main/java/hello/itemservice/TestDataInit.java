@@ -15,9 +15,13 @@ public class TestDataInit {
 
     /**
      * 테스트용 데이터 추가
+     * 영속 저장소에서 복구한 상품이 있으면 추가하지 않는다.
      */
     @PostConstruct
     public void init() {
+        if (!itemRepository.isEmpty()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
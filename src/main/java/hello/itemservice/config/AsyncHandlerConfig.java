@@ -0,0 +1,101 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.async.OffloadingRequestMappingHandlerAdapter;
+import hello.itemservice.web.validation.ValidationItemApiController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.method.HandlerTypePredicate;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 컨트롤러(ValidationItemController V1~V4, ValidationItemApiController) 비동기 실행 모드
+ * item.async.enabled=true 이면 컨트롤러 메서드를 컨테이너 스레드가 아닌 itemHandlerExecutor 에서 호출한다.
+ * (OffloadingRequestMappingHandlerAdapter)
+ *
+ * 실행기
+ * item.async.virtual-threads=true 이고 가상 스레드를 지원하는 JDK (21 이상) 이면 요청마다 가상 스레드를 사용한다.
+ * 그 외에는 pool-size 개의 스레드와 queue-capacity 크기의 대기열을 사용하고,
+ * 대기열도 가득 차면 컨테이너 스레드에서 직접 호출한다. (기존 방식으로 처리되면서 요청 유입이 자연스럽게 늦춰진다)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "item.async.enabled", havingValue = "true")
+public class AsyncHandlerConfig implements WebMvcConfigurer {
+
+    private final ExecutorService itemHandlerExecutor;
+    private final Duration timeout;
+    private final boolean lazyBindingResult;
+
+    public AsyncHandlerConfig(@Value("${item.async.virtual-threads:true}") boolean virtualThreads,
+                              @Value("${item.async.pool-size:200}") int poolSize,
+                              @Value("${item.async.queue-capacity:1000}") int queueCapacity,
+                              @Value("${item.async.timeout:30s}") Duration timeout,
+                              @Value("${binding.lazy-errors.enabled:true}") boolean lazyBindingResult) {
+        this.itemHandlerExecutor = createExecutor(virtualThreads, poolSize, queueCapacity);
+        this.timeout = timeout;
+        this.lazyBindingResult = lazyBindingResult;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService itemHandlerExecutor() {
+        return itemHandlerExecutor;
+    }
+
+    @Bean
+    public WebMvcRegistrations offloadingHandlerAdapterRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                // hello.itemservice.web.validation 패키지의 컨트롤러
+                OffloadingRequestMappingHandlerAdapter adapter = new OffloadingRequestMappingHandlerAdapter(
+                        HandlerTypePredicate.forBasePackageClass(ValidationItemApiController.class));
+                // WebMvcRegistrations 는 하나만 사용되므로 LazyBindingResult 설정도 여기서 한다. (WebConfig)
+                adapter.setLazyBindingResult(lazyBindingResult);
+                return adapter;
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(itemHandlerExecutor));
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+
+    private static ExecutorService createExecutor(boolean virtualThreads, int poolSize, int queueCapacity) {
+        if (virtualThreads) {
+            try {
+                // Java 11 에서도 컴파일되도록 리플렉션으로 호출한다.
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("item handler executor : virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.info("virtual threads are not supported on Java {}. use bounded thread pool",
+                        System.getProperty("java.version"));
+            }
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("item-handler-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        log.info("item handler executor : thread pool size={}, queueCapacity={}", poolSize, queueCapacity);
+        return executor;
+    }
+
+}
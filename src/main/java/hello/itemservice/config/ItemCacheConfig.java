@@ -0,0 +1,62 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.cache.ItemPageCache;
+import hello.itemservice.web.cache.ItemPageCacheInterceptor;
+import hello.itemservice.web.cache.ItemPageCachingViewResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+/**
+ * 상품 상세, 목록 화면(@CacheableItemPage) HTTP 캐시
+ * item.cache.enabled=true 이면 ETag, Last-Modified 로 변경이 없는 조건부 요청에 304 응답 (ItemPageCacheInterceptor)
+ * item.cache.page.enabled=true 이면 렌더링 결과도 item.cache.page.maximum-size 개 화면까지 보관한다. (ItemPageCache)
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ItemCacheConfig implements WebMvcConfigurer {
+
+    private final ItemRepository itemRepository;
+    private final ObjectProvider<ItemPageCache> pageCache;
+
+    public ItemCacheConfig(ItemRepository itemRepository, ObjectProvider<ItemPageCache> pageCache) {
+        this.itemRepository = itemRepository;
+        this.pageCache = pageCache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "item.cache.page.enabled", havingValue = "true", matchIfMissing = true)
+    public ItemPageCache itemPageCache(@Value("${item.cache.page.maximum-size:1000}") int maximumSize) {
+        return new ItemPageCache(maximumSize);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ItemPageCacheInterceptor(itemRepository, pageCache.getIfAvailable()));
+    }
+
+    /**
+     * 렌더링 결과를 보관하도록 Thymeleaf ViewResolver 를 감싼다.
+     */
+    @Bean
+    public static BeanPostProcessor itemPageCachingViewResolverPostProcessor(ObjectProvider<ItemPageCache> pageCache) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ThymeleafViewResolver)) {
+                    return bean;
+                }
+                ItemPageCache cache = pageCache.getIfAvailable();
+                return cache == null ? bean : new ItemPageCachingViewResolver((ThymeleafViewResolver) bean, cache);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,67 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.store.ColumnarItemStore;
+import hello.itemservice.domain.item.store.FsyncPolicy;
+import hello.itemservice.domain.item.store.IndexedItemStore;
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.MapItemStore;
+import hello.itemservice.domain.item.store.MeteredItemStore;
+import hello.itemservice.domain.item.store.PersistentItemStore;
+import hello.itemservice.domain.item.store.SnapshotItemStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * ItemRepository 저장소 선택
+ * item.store.type=snapshot (기본값) : 변경마다 새 버전을 만들고, 조회는 락, 복사 없이 현재 버전을 읽는다. (SnapshotItemStore)
+ * item.store.type=map : 상품을 ConcurrentSkipListMap 에 보관 (MapItemStore)
+ * item.store.type=columnar : 대량 데이터용 컬럼 저장소 (ColumnarItemStore)
+ * item.store.index.enabled=true : 상품명, 가격, 수량 보조 인덱스로 검색한다. (IndexedItemStore)
+ * item.store.persistence.enabled=true : 위 저장소 앞에서 변경 내용을 파일에 기록하고, 시작할 때 복구한다. (PersistentItemStore)
+ * MeterRegistry 가 있으면 저장소 호출 시간을 기록한다. (MeteredItemStore)
+ */
+@Configuration
+public class ItemStoreConfig {
+
+    @Bean
+    public ItemStore itemStore(@Value("${item.store.type:snapshot}") String type,
+                               @Value("${item.store.persistence.enabled:false}") boolean persistenceEnabled,
+                               @Value("${item.store.persistence.directory:data}") String directory,
+                               @Value("${item.store.persistence.fsync:interval}") FsyncPolicy fsyncPolicy,
+                               @Value("${item.store.persistence.fsync-interval:100ms}") Duration fsyncInterval,
+                               @Value("${item.store.persistence.snapshot-interval:10m}") Duration snapshotInterval,
+                               @Value("${item.store.index.enabled:false}") boolean indexEnabled,
+                               @Value("${item.store.index.max-candidates:10000}") int maxCandidates,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        ItemStore store = memoryStore(type);
+        if (indexEnabled) {
+            // 복구(restore) 할 때도 인덱스에 반영되도록 영속 저장소보다 안쪽에 둔다.
+            store = new IndexedItemStore(store, maxCandidates);
+        }
+        if (persistenceEnabled) {
+            store = new PersistentItemStore(store, Paths.get(directory), fsyncPolicy, fsyncInterval, snapshotInterval);
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return registry == null ? store : new MeteredItemStore(store, registry);
+    }
+
+    private ItemStore memoryStore(String type) {
+        switch (type) {
+            case "snapshot":
+                return new SnapshotItemStore();
+            case "map":
+                return new MapItemStore();
+            case "columnar":
+                return new ColumnarItemStore();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 item.store.type 입니다. type=" + type);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.template.SharedItemTemplateResolver;
+import hello.itemservice.web.template.SharedItemTemplateViewResolver;
+import hello.itemservice.web.template.SharedItemTemplates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.MimeType;
+import org.springframework.util.StringUtils;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 화면 공유 템플릿 (운영 모드)
+ * item.template.shared.enabled=true 이면 v1~v4 상품 화면이 templates/validation/shared 의 템플릿, 조각을 함께 사용하고,
+ * 메시지, 버전별 경로는 시작할 때 item.template.shared.locales 별로 미리 반영해둔다. (SharedItemTemplates)
+ *
+ * thymeleafViewResolver 는 스프링 부트(ThymeleafAutoConfiguration) 와 같은 설정으로 등록하고,
+ * 상품 화면 뷰 이름만 공유 템플릿 이름으로 바꾼다. (SharedItemTemplateViewResolver)
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.template.shared.enabled", havingValue = "true")
+public class ItemTemplateConfig {
+
+    @Bean
+    public SharedItemTemplates sharedItemTemplates(MessageSource messageSource, ResourceLoader resourceLoader,
+                                                   ThymeleafProperties properties,
+                                                   @Value("${item.template.shared.locales:ko,en}") String locales) {
+        SharedItemTemplates templates = new SharedItemTemplates(messageSource, resourceLoader,
+                properties.getPrefix() + SharedItemTemplates.PREFIX,
+                Arrays.stream(StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(locales)))
+                        .map(StringUtils::parseLocale)
+                        .collect(Collectors.toList()));
+        templates.preload();
+        return templates;
+    }
+
+    @Bean
+    public SharedItemTemplateResolver sharedItemTemplateResolver(SharedItemTemplates sharedItemTemplates) {
+        return new SharedItemTemplateResolver(sharedItemTemplates);
+    }
+
+    @Bean
+    public ThymeleafViewResolver thymeleafViewResolver(ThymeleafProperties properties, SpringTemplateEngine templateEngine,
+                                                       SharedItemTemplates sharedItemTemplates) {
+        SharedItemTemplateViewResolver resolver = new SharedItemTemplateViewResolver(sharedItemTemplates);
+        resolver.setTemplateEngine(templateEngine);
+        resolver.setCharacterEncoding(properties.getEncoding().name());
+        resolver.setContentType(appendCharset(properties.getServlet().getContentType(), resolver.getCharacterEncoding()));
+        resolver.setProducePartialOutputWhileProcessing(properties.getServlet().isProducePartialOutputWhileProcessing());
+        resolver.setExcludedViewNames(properties.getExcludedViewNames());
+        resolver.setViewNames(properties.getViewNames());
+        resolver.setOrder(Ordered.LOWEST_PRECEDENCE - 5);
+        resolver.setCache(properties.isCache());
+        return resolver;
+    }
+
+    private static String appendCharset(MimeType type, String charset) {
+        if (type.getCharset() != null) {
+            return type.toString();
+        }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("charset", charset);
+        parameters.putAll(type.getParameters());
+        return new MimeType(type, parameters).toString();
+    }
+
+}
@@ -0,0 +1,93 @@
+package hello.itemservice.config;
+
+import hello.itemservice.message.CachingMessageCodesResolver;
+import hello.itemservice.message.CachingMessageSource;
+import hello.itemservice.message.MeteredMessageSource;
+import hello.itemservice.message.PrecompiledMessageSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * 메시지 소스, 메시지 코드 캐시 설정
+ * messageSource 는 스프링 부트(MessageSourceAutoConfiguration) 와 같은 방식으로 spring.messages.* 설정을 사용해서 만들고,
+ * message.precompiled.enabled=true 이면 메시지를 시작할 때 미리 분석해두는 PrecompiledMessageSource 를 사용한다.
+ * (메시지 파일을 주기적으로 다시 읽는 spring.messages.cache-duration 설정이 있으면 ResourceBundleMessageSource 사용)
+ * message.cache.enabled=true 이면 검증 오류 메시지 캐시(CachingMessageSource) 로 감싼다.
+ * 마지막으로 조회 시간을 기록하는 MeteredMessageSource 로 감싼다. (MetricsConfig 에서 등록)
+ */
+@Configuration
+public class MessageSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean
+    public MessageSource messageSource(MessageSourceProperties properties,
+                                       @Value("${message.precompiled.enabled:true}") boolean precompiled,
+                                       @Value("${message.precompiled.locales:}") String preloadLocales,
+                                       @Value("${message.cache.enabled:true}") boolean cacheEnabled,
+                                       @Value("${message.cache.maximum-size:10000}") int maximumSize) {
+        String[] basenames = StringUtils.hasText(properties.getBasename())
+                ? StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(properties.getBasename()))
+                : new String[0];
+        Duration cacheDuration = properties.getCacheDuration();
+
+        MessageSource messageSource;
+        if (precompiled && cacheDuration == null && !properties.isUseCodeAsDefaultMessage()) {
+            messageSource = new PrecompiledMessageSource(basenames,
+                    properties.getEncoding() != null ? properties.getEncoding() : StandardCharsets.UTF_8,
+                    properties.isFallbackToSystemLocale(), properties.isAlwaysUseMessageFormat(),
+                    Arrays.stream(StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(preloadLocales)))
+                            .map(StringUtils::parseLocale)
+                            .collect(Collectors.toList()));
+        } else {
+            messageSource = resourceBundleMessageSource(properties, basenames);
+        }
+
+        if (cacheEnabled && !properties.isUseCodeAsDefaultMessage()) {
+            messageSource = new CachingMessageSource(messageSource, maximumSize, cacheDuration);
+        }
+        return new MeteredMessageSource(messageSource);
+    }
+
+    private ResourceBundleMessageSource resourceBundleMessageSource(MessageSourceProperties properties, String[] basenames) {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(basenames);
+        if (properties.getEncoding() != null) {
+            messageSource.setDefaultEncoding(properties.getEncoding().name());
+        }
+        messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+        Duration cacheDuration = properties.getCacheDuration();
+        if (cacheDuration != null) {
+            messageSource.setCacheMillis(cacheDuration.toMillis());
+        }
+        messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+        messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+        return messageSource;
+    }
+
+    @Bean
+    public MessageCodesResolver messageCodesResolver(@Value("${message.cache.enabled:true}") boolean cacheEnabled,
+                                                     @Value("${message.cache.maximum-size:10000}") int maximumSize) {
+        DefaultMessageCodesResolver codesResolver = new DefaultMessageCodesResolver();
+        return cacheEnabled ? new CachingMessageCodesResolver(codesResolver, maximumSize) : codesResolver;
+    }
+
+}
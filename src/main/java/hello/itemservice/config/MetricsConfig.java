@@ -0,0 +1,133 @@
+package hello.itemservice.config;
+
+import hello.itemservice.message.CacheStats;
+import hello.itemservice.message.CachingMessageCodesResolver;
+import hello.itemservice.message.CachingMessageSource;
+import hello.itemservice.message.MeteredMessageSource;
+import hello.itemservice.web.metrics.ErrorsRegisteringArgumentResolver;
+import hello.itemservice.web.metrics.ItemMetrics;
+import hello.itemservice.web.metrics.ItemMetricsInterceptor;
+import hello.itemservice.web.validation.ValidationItemApiController;
+import hello.itemservice.web.validation.ValidatingModelAttributeMethodProcessor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.method.HandlerTypePredicate;
+import org.springframework.web.method.annotation.ErrorsMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 상품 컨트롤러(ValidationItemController V1~V4, ValidationItemApiController) 요청 단계별 지표
+ * Actuator 로 노출한다. (/actuator/metrics, /actuator/prometheus)
+ *
+ * item.binding, item.validation, item.render, item.validation.errors : ItemMetrics
+ * item.repository : MeteredItemStore (ItemStoreConfig)
+ * item.message.resolution : MeteredMessageSource (MessageSourceConfig)
+ * item.message.cache.* : 메시지 캐시, 메시지 코드 캐시 통계 (CachingMessageSource, CachingMessageCodesResolver)
+ *
+ * 지표를 끄려면 management.metrics.enable.item=false (MeterFilter 로 등록을 막아서 기록 비용이 거의 없다)
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    // hello.itemservice.web.validation 패키지의 컨트롤러
+    private static final Predicate<Class<?>> ITEM_CONTROLLERS =
+            HandlerTypePredicate.forBasePackageClass(ValidationItemApiController.class);
+
+    private final ItemMetrics itemMetrics;
+
+    public MetricsConfig(ItemMetrics itemMetrics) {
+        this.itemMetrics = itemMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ItemMetricsInterceptor(itemMetrics, ITEM_CONTROLLERS));
+    }
+
+    /**
+     * @ModelAttribute 바인딩 시간 (ValidatingModelAttributeMethodProcessor, WebConfig)
+     */
+    @Bean
+    public ValidatingModelAttributeMethodProcessor.BindingListener modelAttributeBindingMetrics() {
+        return (binder, elapsedNanos) -> itemMetrics.recordBinding(ItemMetrics.currentController(), "modelAttribute", elapsedNanos);
+    }
+
+    /**
+     * BindingResult 파라미터 처리(ErrorsMethodArgumentResolver) 를 ErrorsRegisteringArgumentResolver 로 감싼다.
+     */
+    @Bean
+    public SmartInitializingSingleton meteredArgumentResolvers(ObjectProvider<RequestMappingHandlerAdapter> handlerAdapters) {
+        return () -> handlerAdapters.forEach(adapter -> {
+            List<HandlerMethodArgumentResolver> resolvers = adapter.getArgumentResolvers();
+            if (resolvers == null) {
+                return;
+            }
+            List<HandlerMethodArgumentResolver> metered = new ArrayList<>(resolvers.size());
+            for (HandlerMethodArgumentResolver resolver : resolvers) {
+                metered.add(resolver instanceof ErrorsMethodArgumentResolver ? new ErrorsRegisteringArgumentResolver(resolver) : resolver);
+            }
+            adapter.setArgumentResolvers(metered);
+        });
+    }
+
+    /**
+     * 메시지 조회 시간, 메시지 캐시 통계 등록
+     */
+    @Bean
+    public MeterBinder messageMetrics(MessageSource messageSource, MessageCodesResolver messageCodesResolver) {
+        return registry -> {
+            MessageSource target = messageSource;
+            if (target instanceof MeteredMessageSource) {
+                ((MeteredMessageSource) target).bindTo(registry);
+                target = ((MeteredMessageSource) target).getDelegate();
+            }
+            if (target instanceof CachingMessageSource) {
+                bindCacheStats(registry, "message", (CachingMessageSource) target, ((CachingMessageSource) target)::getStats);
+            }
+            if (messageCodesResolver instanceof CachingMessageCodesResolver) {
+                CachingMessageCodesResolver codesResolver = (CachingMessageCodesResolver) messageCodesResolver;
+                bindCacheStats(registry, "messageCodes", codesResolver, codesResolver::getStats);
+            }
+        };
+    }
+
+    private static <T> void bindCacheStats(MeterRegistry registry, String cache, T target, Supplier<CacheStats> stats) {
+        cacheRequests(registry, cache, "hit", target, t -> stats.get().getHitCount());
+        cacheRequests(registry, cache, "miss", target, t -> stats.get().getMissCount());
+        FunctionCounter.builder("item.message.cache.evictions", target, t -> stats.get().getEvictionCount())
+                .description("message cache evictions")
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("item.message.cache.size", target, t -> stats.get().getSize())
+                .description("message cache size")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static <T> void cacheRequests(MeterRegistry registry, String cache, String result,
+                                          T target, ToDoubleFunction<T> count) {
+        FunctionCounter.builder("item.message.cache.requests", target, count)
+                .description("message cache requests")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+}
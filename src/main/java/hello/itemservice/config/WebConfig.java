@@ -0,0 +1,156 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.metrics.ItemMetrics;
+import hello.itemservice.web.metrics.MeteredValidator;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.LazyBindingRequestMappingHandlerAdapter;
+import hello.itemservice.web.validation.ValidatingModelAttributeMethodProcessor;
+import hello.itemservice.web.validation.ValidationItemControllerV2;
+import hello.itemservice.web.validation.ValidatorRegistry;
+import hello.itemservice.web.validation.compiled.CompiledBinder;
+import hello.itemservice.web.validation.compiled.CompiledBindingModelAttributeMethodProcessor;
+import hello.itemservice.web.validation.compiled.CompiledValidator;
+import hello.itemservice.web.validation.compiled.CompiledValidatorAdapter;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final List<CompiledValidator> compiledValidators;
+    private final LocalValidatorFactoryBean beanValidator;
+    private final boolean compiledValidationEnabled;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ItemMetrics itemMetrics;
+
+    public WebConfig(List<CompiledValidator> compiledValidators, LocalValidatorFactoryBean beanValidator,
+                     @Value("${validation.compiled.enabled:true}") boolean compiledValidationEnabled,
+                     MessageCodesResolver messageCodesResolver, ItemMetrics itemMetrics) {
+        this.compiledValidators = compiledValidators;
+        this.beanValidator = beanValidator;
+        this.compiledValidationEnabled = compiledValidationEnabled;
+        this.messageCodesResolver = messageCodesResolver;
+        this.itemMetrics = itemMetrics;
+    }
+
+    /**
+     * 글로벌 검증기 (@Validated)
+     * validation.compiled.enabled=true 이면 생성된 검증기를 먼저 사용한다. (CompiledValidatorAdapter)
+     * 그 외에는 스프링 부트 기본값과 같은 Bean Validation 검증기를 사용한다.
+     * 빠른 실패 요청(ValidationMode.FAIL_FAST) 은 첫 위반에서 멈추는 Bean Validation 검증기(failFast) 를 함께 사용한다.
+     * 검증 시간을 기록하도록 MeteredValidator 로 감싼다. (item.validation, validator=beanValidation)
+     */
+    @Override
+    public Validator getValidator() {
+        // 같은 ValidatorFactory(메시지 보간, 제약조건 메타데이터) 를 공유하고 failFast 설정만 다르다.
+        SpringValidatorAdapter failFastValidator = new SpringValidatorAdapter(
+                beanValidator.unwrap(HibernateValidatorFactory.class).usingContext().failFast(true).getValidator());
+        Validator validator = new CompiledValidatorAdapter(compiledValidationEnabled ? compiledValidators : List.of(),
+                beanValidator, failFastValidator);
+        return new MeteredValidator(validator, "beanValidation", itemMetrics);
+    }
+
+    /**
+     * @ModelAttribute 검증기 등록 (@InitBinder 대신, 시작할 때 핸들러 메서드 파라미터마다 한번만 결정)
+     * ValidationItemControllerV2 : 글로벌 검증기 + ItemValidator
+     */
+    @Bean
+    public ValidatorRegistry validatorRegistry(@Qualifier("mvcValidator") Validator mvcValidator, ItemValidator itemValidator) {
+        return new ValidatorRegistry(mvcValidator, itemMetrics)
+                .register(ValidationItemControllerV2.class, itemValidator);
+    }
+
+    @Bean
+    public SmartInitializingSingleton validatorRegistryInitializer(ValidatorRegistry validatorRegistry,
+                                                                   ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+        return () -> handlerMappings.forEach(mapping -> validatorRegistry.resolve(mapping.getHandlerMethods().values()));
+    }
+
+    /**
+     * @ModelAttribute 처리(ServletModelAttributeMethodProcessor) 를 ValidatingModelAttributeMethodProcessor 로 교체한다.
+     * 기본 구성은 @ModelAttribute 가 있는 파라미터용(annotationNotRequired=false) 과
+     * 마지막에 애노테이션 없는 객체 파라미터용(annotationNotRequired=true) 두 개가 등록되어 있다.
+     * binding.compiled.enabled=true 이면 생성된 바인더(@GenerateBinder) 로 폼을 바인딩한다. (CompiledBindingModelAttributeMethodProcessor)
+     * BindingListener 빈이 있으면 바인딩 시간을 알린다. (MetricsConfig)
+     */
+    @Bean
+    public SmartInitializingSingleton validatingArgumentResolvers(ObjectProvider<RequestMappingHandlerAdapter> handlerAdapters,
+                                                                  ValidatorRegistry validatorRegistry,
+                                                                  List<CompiledBinder> compiledBinders,
+                                                                  @Value("${binding.compiled.enabled:true}") boolean compiledBindingEnabled,
+                                                                  ObjectProvider<ValidatingModelAttributeMethodProcessor.BindingListener> bindingListener) {
+        return () -> handlerAdapters.forEach(adapter -> {
+            List<HandlerMethodArgumentResolver> resolvers = adapter.getArgumentResolvers();
+            if (resolvers == null) {
+                return;
+            }
+            int last = -1;
+            for (int i = 0; i < resolvers.size(); i++) {
+                if (resolvers.get(i) instanceof ServletModelAttributeMethodProcessor) {
+                    last = i;
+                }
+            }
+            List<HandlerMethodArgumentResolver> replaced = new ArrayList<>(resolvers.size());
+            for (int i = 0; i < resolvers.size(); i++) {
+                HandlerMethodArgumentResolver resolver = resolvers.get(i);
+                if (resolver instanceof ServletModelAttributeMethodProcessor
+                        && !(resolver instanceof ValidatingModelAttributeMethodProcessor)) {
+                    ValidatingModelAttributeMethodProcessor processor = compiledBindingEnabled
+                            ? new CompiledBindingModelAttributeMethodProcessor(i == last, validatorRegistry, compiledBinders)
+                            : new ValidatingModelAttributeMethodProcessor(i == last, validatorRegistry);
+                    processor.setBindingListener(bindingListener.getIfAvailable());
+                    replaced.add(processor);
+                } else {
+                    replaced.add(resolver);
+                }
+            }
+            adapter.setArgumentResolvers(replaced);
+        });
+    }
+
+    /**
+     * 검증 오류의 메시지 코드 생성 (MessageSourceConfig, 기본값은 캐시 사용)
+     */
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver;
+    }
+
+    /**
+     * 검증 오류를 읽을 때 만드는 BindingResult(LazyBindingResult) 사용
+     * item.async.enabled=true 이면 AsyncHandlerConfig 의 어댑터가 같은 설정을 사용한다. (WebMvcRegistrations 는 하나만 사용된다)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "item.async.enabled", havingValue = "false", matchIfMissing = true)
+    public WebMvcRegistrations lazyBindingHandlerAdapterRegistrations(
+            @Value("${binding.lazy-errors.enabled:true}") boolean lazyBindingResult) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                LazyBindingRequestMappingHandlerAdapter adapter = new LazyBindingRequestMappingHandlerAdapter();
+                adapter.setLazyBindingResult(lazyBindingResult);
+                return adapter;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,68 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 저장소에서 꺼낸 상품 (수정 불가)
+ * 여러 요청이 같은 객체를 공유하므로 setter 를 호출하면 UnsupportedOperationException 이 발생한다.
+ * 수정은 ItemRepository.update() 로 새 값을 전달한다.
+ * equals, hashCode 는 Item 과 같다. (같은 값의 Item 과 동등)
+ */
+public final class ImmutableItem extends Item {
+
+    private ImmutableItem(Long id, String itemName, Integer price, Integer quantity, Integer version) {
+        super(itemName, price, quantity);
+        super.setId(id);
+        super.setVersion(version == null ? 0 : version);
+    }
+
+    /**
+     * item 의 값 그대로 (version 이 없으면 0)
+     */
+    public static ImmutableItem copyOf(Item item) {
+        return item instanceof ImmutableItem ? (ImmutableItem) item
+                : new ImmutableItem(item.getId(), item.getItemName(), item.getPrice(), item.getQuantity(), item.getVersion());
+    }
+
+    /**
+     * 수정 : id 상품을 values 의 상품명, 가격, 수량과 version 으로
+     */
+    public static ImmutableItem of(Long id, Item values, int version) {
+        return new ImmutableItem(id, values.getItemName(), values.getPrice(), values.getQuantity(), version);
+    }
+
+    /**
+     * 다음 version 으로 수정
+     */
+    public ImmutableItem update(Item values) {
+        return of(getId(), values, getVersion() + 1);
+    }
+
+    @Override
+    public void setId(Long id) {
+        throw immutable();
+    }
+
+    @Override
+    public void setItemName(String itemName) {
+        throw immutable();
+    }
+
+    @Override
+    public void setPrice(Integer price) {
+        throw immutable();
+    }
+
+    @Override
+    public void setQuantity(Integer quantity) {
+        throw immutable();
+    }
+
+    @Override
+    public void setVersion(Integer version) {
+        throw immutable();
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("저장된 상품은 수정할 수 없습니다. ItemRepository.update() 를 사용하세요.");
+    }
+
+}
@@ -34,6 +34,9 @@ public class Item {
 //    @Max(value = 9999, groups = SaveCheck.class) // 등록시에만 사용
     private Integer quantity;
 
+    // 낙관적 잠금 : 저장할 때 0, 수정할 때마다 1 증가 (ItemRepository.update(itemId, updateParam, expectedVersion))
+    private Integer version;
+
     public Item() {
     }
 
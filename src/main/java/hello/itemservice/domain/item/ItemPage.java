@@ -0,0 +1,25 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * keyset 페이징 결과
+ * size : 실제로 조회한 페이지 크기 (요청한 크기를 1 ~ 최대 페이지 크기로 맞춘 값)
+ * nextAfterId : 다음 페이지를 조회할 afterId, 다음 상품이 없으면 null (ItemRepository.page)
+ */
+@Getter
+public class ItemPage {
+
+    private final List<Item> items;
+    private final int size;
+    private final Long nextAfterId;
+
+    public ItemPage(List<Item> items, int size, Long nextAfterId) {
+        this.items = items;
+        this.size = size;
+        this.nextAfterId = nextAfterId;
+    }
+
+}
@@ -1,41 +1,180 @@
 package hello.itemservice.domain.item;
 
+import hello.itemservice.domain.item.store.ItemStore;
+import hello.itemservice.domain.item.store.SnapshotItemStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    // 수정 시각을 상품별로 기록하는 최근 수정 상품 수 (ItemVersions)
+    private static final int TRACKED_ITEMS = 10_000;
+    // 한 번에 조회할 수 있는 최대 상품 수 (item.page.max-size)
+    static final int DEFAULT_MAX_PAGE_SIZE = 100;
+
+    // 저장 방식은 ItemStore 로 분리 (ItemStoreConfig 참고)
+    // 조회한 상품은 저장소가 공유하는 ImmutableItem 이므로 수정할 수 없다. (update() 사용)
+    // 스프링 빈은 싱글톤이므로 static 으로 공유할 필요가 없다. (테스트에서 new 로 생성한 저장소끼리도 독립적)
+    private final ItemStore store;
+    // HTTP 캐시(ETag, Last-Modified) 용 변경 추적 : 저장소를 직접 수정하지 않고 ItemRepository 를 거쳐야 한다.
+    private final ItemVersions versions = new ItemVersions(TRACKED_ITEMS);
+    private final int maxPageSize;
+
+    public ItemRepository() {
+        this(new SnapshotItemStore());
+    }
+
+    public ItemRepository(ItemStore store) {
+        this(store, DEFAULT_MAX_PAGE_SIZE);
+    }
+
+    @Autowired
+    public ItemRepository(ItemStore store, @Value("${item.page.max-size:" + DEFAULT_MAX_PAGE_SIZE + "}") int maxPageSize) {
+        this.store = store;
+        this.maxPageSize = Math.max(maxPageSize, 1);
+    }
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
-        return item;
+        Item savedItem = store.save(item);
+        versions.modified(savedItem.getId());
+        return savedItem;
+    }
+
+    /**
+     * 여러 상품을 한번에 저장 (대량 등록용), ID 는 목록 순서대로 발급된다.
+     */
+    public List<Item> saveAll(List<Item> items) {
+        List<Item> savedItems = store.saveAll(items);
+        versions.modifiedAll();
+        return savedItems;
     }
 
     public Item findById(Long id) {
-        return store.get(id);
+        return store.findById(id);
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        return store.findAll();
+    }
+
+    /**
+     * keyset 페이징 : afterId 다음 상품부터 ID 순서로 최대 limit 개 조회 (limit 은 1 ~ 최대 페이지 크기)
+     */
+    public List<Item> findPage(Long afterId, int limit) {
+        return store.findPage(afterId, pageSize(limit));
+    }
+
+    /**
+     * 조건 검색 : afterId 다음 상품부터 ID 순서로 최대 limit 개 조회 (limit 은 1 ~ 최대 페이지 크기)
+     * item.store.index.enabled=true 이면 보조 인덱스를 사용한다. (IndexedItemStore)
+     */
+    public List<Item> search(ItemSearchCond cond, Long afterId, int limit) {
+        return store.search(cond, afterId, pageSize(limit));
+    }
+
+    /**
+     * 목록 화면용 keyset 페이징 : 조회한 상품과 다음 페이지의 afterId
+     * 조건이 없으면(null, 값이 없는 조건) 전체 상품을 조회한다.
+     * 페이지 크기보다 1건 더 조회해서 다음 상품이 있을 때만 nextAfterId 를 정한다. (꽉 찬 마지막 페이지에 빈 다음 페이지 링크를 만들지 않는다)
+     */
+    public ItemPage page(ItemSearchCond cond, Long afterId, int size) {
+        int pageSize = pageSize(size);
+        List<Item> items = cond == null || cond.isEmpty()
+                ? store.findPage(afterId, pageSize + 1)
+                : store.search(cond, afterId, pageSize + 1);
+        if (items.size() <= pageSize) {
+            return new ItemPage(items, pageSize, null);
+        }
+        List<Item> pageItems = new ArrayList<>(items.subList(0, pageSize));
+        return new ItemPage(pageItems, pageSize, pageItems.get(pageSize - 1).getId());
+    }
+
+    /**
+     * 상품명이 prefix 로 시작하는 상품
+     */
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        return search(new ItemSearchCond(prefix, null, null, null), null, limit);
+    }
+
+    /**
+     * 가격이 minPrice 이상 maxPrice 이하인 상품
+     */
+    public List<Item> findByPriceBetween(int minPrice, int maxPrice, int limit) {
+        return search(new ItemSearchCond(null, minPrice, maxPrice, null), null, limit);
+    }
+
+    /**
+     * 수량이 quantity 미만인 상품 (재고 부족)
+     */
+    public List<Item> findByQuantityLessThan(int quantity, int limit) {
+        return search(new ItemSearchCond(null, null, null, quantity), null, limit);
+    }
+
+    /**
+     * 전체 상품을 복사 없이 ID 순서로 순회 (대량 export 용)
+     */
+    public Stream<Item> stream() {
+        return store.stream();
     }
 
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        store.update(itemId, updateParam);
+        versions.modified(itemId);
+    }
+
+    /**
+     * 수정 폼을 열 때 읽은 version 이 그대로일 때만 수정한다. (다른 사용자가 먼저 수정했으면 false)
+     */
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        if (!store.update(itemId, updateParam, expectedVersion)) {
+            return false;
+        }
+        versions.modified(itemId);
+        return true;
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), maxPageSize);
+    }
+
+    public boolean isEmpty() {
+        return store.findPage(null, 1).isEmpty();
     }
 
     public void clearStore() {
         store.clear();
+        versions.cleared();
+    }
+
+    /**
+     * 상품 ETag 값 : 상품이 수정될 때만 바뀐다. (따옴표, 표현(Locale) 구분은 호출하는 쪽에서 붙인다)
+     */
+    public String itemTag(Item item) {
+        return versions.itemTag(item);
+    }
+
+    /**
+     * 전체 목록 ETag 값 : 상품을 저장, 수정, 초기화할 때마다 바뀐다.
+     */
+    public String catalogTag() {
+        return versions.catalogTag();
+    }
+
+    /**
+     * 상품의 마지막 수정 시각 (epoch millis), 오래 전에 수정된 상품은 실제보다 늦은 시각일 수 있다.
+     */
+    public long itemLastModified(Long itemId) {
+        return versions.itemLastModified(itemId);
+    }
+
+    public long catalogLastModified() {
+        return versions.catalogLastModified();
     }
 
 }
@@ -0,0 +1,55 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+/**
+ * 상품 검색 조건 (값이 없는 조건은 사용하지 않는다)
+ * namePrefix : 상품명 접두어
+ * minPrice, maxPrice : 가격 범위 (둘 다 포함)
+ * maxQuantity : 수량이 이 값 미만인 상품 (재고 부족)
+ */
+@Data
+public class ItemSearchCond {
+
+    private String namePrefix;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer maxQuantity;
+
+    public ItemSearchCond() {
+    }
+
+    public ItemSearchCond(String namePrefix, Integer minPrice, Integer maxPrice, Integer maxQuantity) {
+        this.namePrefix = namePrefix;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.maxQuantity = maxQuantity;
+    }
+
+    public boolean hasNamePrefix() {
+        return StringUtils.hasLength(namePrefix);
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean isEmpty() {
+        return !hasNamePrefix() && !hasPriceRange() && maxQuantity == null;
+    }
+
+    public boolean matches(Item item) {
+        if (hasNamePrefix() && (item.getItemName() == null || !item.getItemName().startsWith(namePrefix))) {
+            return false;
+        }
+        if (hasPriceRange()) {
+            Integer price = item.getPrice();
+            if (price == null || (minPrice != null && price < minPrice) || (maxPrice != null && price > maxPrice)) {
+                return false;
+            }
+        }
+        return maxQuantity == null || (item.getQuantity() != null && item.getQuantity() < maxQuantity);
+    }
+
+}
@@ -0,0 +1,94 @@
+package hello.itemservice.domain.item;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품별, 전체 목록(카탈로그) 변경 추적 : HTTP 캐시(ETag, Last-Modified) 에 사용한다.
+ *
+ * 상품 태그   : 인스턴스-초기화 횟수-상품 ID-상품 version (version 은 저장소가 수정마다 1 증가)
+ * 카탈로그 태그 : 인스턴스-카탈로그 version (저장, 수정, 초기화마다 1 증가)
+ * 인스턴스 값은 재시작 후 같은 ID, version 이 다른 내용을 가리키는 경우(메모리 저장소)를 구분한다.
+ *
+ * 상품별 수정 시각은 최근 수정된 상품만 trackedItems 개까지 기록한다.
+ * 기록에 없는 상품은 baseline (시작, 대량 저장, 초기화, 기록에서 밀려난 시각 중 가장 최근) 을 사용하므로
+ * 실제 수정 시각보다 늦을 수는 있어도 이르지는 않다. (변경된 상품에 304 를 응답하지 않는다)
+ */
+class ItemVersions {
+
+    private final String instance = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final int trackedItems;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong clearCount = new AtomicLong();
+    private final AtomicLong catalogLastModified = new AtomicLong(System.currentTimeMillis());
+
+    // 접근은 synchronized (recentlyModified)
+    private final LinkedHashMap<Long, Long> recentlyModified = new LinkedHashMap<>();
+    private long baseline = catalogLastModified.get();
+
+    ItemVersions(int trackedItems) {
+        this.trackedItems = trackedItems;
+    }
+
+    String itemTag(Item item) {
+        return instance + "-" + clearCount.get() + "-" + item.getId() + "-" + (item.getVersion() == null ? 0 : item.getVersion());
+    }
+
+    String catalogTag() {
+        return instance + "-" + catalogVersion.get();
+    }
+
+    long itemLastModified(Long itemId) {
+        synchronized (recentlyModified) {
+            Long lastModified = recentlyModified.get(itemId);
+            return lastModified != null ? lastModified : baseline;
+        }
+    }
+
+    long catalogLastModified() {
+        return catalogLastModified.get();
+    }
+
+    /**
+     * 상품 하나를 저장, 수정한 뒤 호출한다.
+     */
+    void modified(Long itemId) {
+        long now = System.currentTimeMillis();
+        synchronized (recentlyModified) {
+            recentlyModified.remove(itemId);
+            recentlyModified.put(itemId, now);
+            if (recentlyModified.size() > trackedItems) {
+                Map.Entry<Long, Long> eldest = recentlyModified.entrySet().iterator().next();
+                recentlyModified.remove(eldest.getKey());
+                baseline = Math.max(baseline, eldest.getValue());
+            }
+        }
+        catalogModified(now);
+    }
+
+    /**
+     * 여러 상품을 한번에 저장한 뒤 호출한다. 상품별로 기록하지 않고 baseline 을 옮긴다.
+     */
+    void modifiedAll() {
+        long now = System.currentTimeMillis();
+        synchronized (recentlyModified) {
+            recentlyModified.clear();
+            baseline = now;
+        }
+        catalogModified(now);
+    }
+
+    void cleared() {
+        clearCount.incrementAndGet();
+        modifiedAll();
+    }
+
+    private void catalogModified(long now) {
+        catalogLastModified.accumulateAndGet(now, Math::max);
+        catalogVersion.incrementAndGet();
+    }
+
+}
@@ -0,0 +1,276 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 컬럼 저장소 : 대량의 상품을 적은 메모리로 보관한다.
+ * Item 객체 대신 price, quantity, version 을 int 배열에, itemName 을 UTF-8 arena 에 보관한다.
+ * 상품명을 수정하면 이전 상품명의 참조를 해제하고, 참조가 없는 바이트가 쌓이면 arena 를 compact 한다.
+ * ID 는 순서대로 발급되므로 배열 index 로 사용한다. (index = id - idOffset - 1)
+ * findById, findAll 을 호출할 때만 Item 을 새로 만들어서 반환한다.
+ */
+public class ColumnarItemStore implements ItemStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // null 여부 (Integer, String 필드는 null 이 가능하다)
+    private static final byte NAME_NULL = 1;
+    private static final byte PRICE_NULL = 1 << 1;
+    private static final byte QUANTITY_NULL = 1 << 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] prices = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] nameRefs = new int[INITIAL_CAPACITY];
+    private int[] versions = new int[INITIAL_CAPACITY];
+    private byte[] nullFlags = new byte[INITIAL_CAPACITY];
+    private final Utf8Arena names = new Utf8Arena();
+
+    private int size;
+    // clear() 이후에도 ID 는 이어서 발급한다.
+    private long idOffset;
+
+    @Override
+    public Item save(Item item) {
+        lock.writeLock().lock();
+        try {
+            if (size == prices.length) {
+                grow();
+            }
+            int index = size++;
+            write(index, item, false);
+            versions[index] = 0;
+            item.setId(idOffset + index + 1);
+            item.setVersion(0);
+            return item;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            while (prices.length - size < items.size()) {
+                grow();
+            }
+            for (Item item : items) {
+                int index = size++;
+                write(index, item, false);
+                versions[index] = 0;
+                item.setId(idOffset + index + 1);
+                item.setVersion(0);
+            }
+            return items;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Item findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int index = indexOf(id);
+            return index < 0 ? null : read(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Item> items = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                items.add(read(index));
+            }
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            // ID 는 index 순서와 같으므로 afterId 다음 index 부터 읽으면 된다.
+            int from = afterId == null ? 0 : (int) Math.min(size, Math.max(0, afterId - idOffset));
+            int to = (int) Math.min(size, (long) from + limit);
+            List<Item> items = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                items.add(read(index));
+            }
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(itemId);
+            if (index >= 0) {
+                write(index, updateParam, true);
+                versions[index]++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 컬럼 배열은 writeLock 으로 보호하므로 version 확인과 수정도 writeLock 안에서 한다.
+     */
+    @Override
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(itemId);
+            if (index < 0 || versions[index] != expectedVersion) {
+                return false;
+            }
+            write(index, updateParam, true);
+            versions[index]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            idOffset += size;
+            size = 0;
+            names.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void restore(Item item) {
+        lock.writeLock().lock();
+        try {
+            if (size == 0) {
+                // clear() 이후 저장된 상품부터 복구하는 경우
+                idOffset = Math.max(idOffset, item.getId() - 1);
+            }
+            long index = item.getId() - idOffset - 1;
+            if (index < 0 || index > size) {
+                // 컬럼 저장소는 ID 를 배열 index 로 사용하므로 중간이 비어있는 ID 는 보관할 수 없다.
+                throw new IllegalStateException("복구할 수 없는 상품 ID 입니다. id=" + item.getId() + ", next=" + (idOffset + size + 1));
+            }
+            boolean existing = index < size;
+            if (!existing) {
+                if (size == prices.length) {
+                    grow();
+                }
+                size++;
+            }
+            write((int) index, item, existing);
+            versions[(int) index] = item.getVersion() == null ? 0 : item.getVersion();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 컬럼 배열과 이름 arena 가 점유하고 있는 바이트 수
+     */
+    public long capacityBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) prices.length * (Integer.BYTES * 4 + 1) + names.capacityBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int indexOf(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        long index = id - idOffset - 1;
+        return index >= 0 && index < size ? (int) index : -1;
+    }
+
+    /**
+     * @param existing 이미 저장된 상품을 덮어쓰는 경우 (이전 상품명의 참조를 해제한다)
+     */
+    private void write(int index, Item item, boolean existing) {
+        // 같은 상품명이면 참조 수가 0 이 되지 않도록 새 상품명을 먼저 intern 한다.
+        int previousRef = existing && (nullFlags[index] & NAME_NULL) == 0 ? nameRefs[index] : -1;
+        byte flags = 0;
+        if (item.getItemName() == null) {
+            flags |= NAME_NULL;
+        } else {
+            nameRefs[index] = names.intern(item.getItemName());
+        }
+        if (item.getPrice() == null) {
+            flags |= PRICE_NULL;
+        } else {
+            prices[index] = item.getPrice();
+        }
+        if (item.getQuantity() == null) {
+            flags |= QUANTITY_NULL;
+        } else {
+            quantities[index] = item.getQuantity();
+        }
+        nullFlags[index] = flags;
+        if (previousRef >= 0) {
+            names.release(previousRef);
+            if (names.needsCompaction()) {
+                compactNames();
+            }
+        }
+    }
+
+    /**
+     * arena 를 compact 하고 상품명 ref 를 새 ref 로 바꾼다. (참조가 없는 바이트가 사용 중인 바이트의 절반을 넘을 때만 호출되므로
+     * 전체 상품을 다시 쓰는 비용은 그동안 수정한 상품 수에 나누어진다)
+     */
+    private void compactNames() {
+        int[] remap = names.compact();
+        for (int i = 0; i < size; i++) {
+            if ((nullFlags[i] & NAME_NULL) == 0) {
+                nameRefs[i] = remap[nameRefs[i]];
+            }
+        }
+    }
+
+    private Item read(int index) {
+        byte flags = nullFlags[index];
+        Item item = new Item(
+                (flags & NAME_NULL) != 0 ? null : names.get(nameRefs[index]),
+                (flags & PRICE_NULL) != 0 ? null : prices[index],
+                (flags & QUANTITY_NULL) != 0 ? null : quantities[index]);
+        item.setId(idOffset + index + 1);
+        item.setVersion(versions[index]);
+        return item;
+    }
+
+    private void grow() {
+        int capacity = prices.length + (prices.length >> 1);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        nameRefs = Arrays.copyOf(nameRefs, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        nullFlags = Arrays.copyOf(nullFlags, capacity);
+    }
+
+}
@@ -0,0 +1,23 @@
+package hello.itemservice.domain.item.store;
+
+/**
+ * PersistentItemStore 의 디스크 반영(fsync) 정책
+ */
+public enum FsyncPolicy {
+
+    /**
+     * 요청마다 디스크에 반영된 후 반환한다. 동시에 들어온 요청은 한 번의 fsync 로 함께 반영된다. (group commit)
+     */
+    ALWAYS,
+
+    /**
+     * 백그라운드에서 fsync-interval 마다 반영한다. 장애시 마지막 interval 동안의 변경은 유실될 수 있다.
+     */
+    INTERVAL,
+
+    /**
+     * 운영체제에 맡긴다. 프로세스가 종료되어도 유실되지 않지만, 서버 장애시에는 유실될 수 있다.
+     */
+    NEVER
+
+}
@@ -0,0 +1,331 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSearchCond;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 보조 인덱스 : 상품명(접두어), 가격(범위), 수량(미만) 으로 검색할 때 전체를 읽지 않는다.
+ * 각 인덱스는 (값, ID) 순서로 정렬된 ConcurrentSkipListSet 이고, 값이 null 인 필드는 인덱스에 넣지 않는다.
+ *
+ * 동기화
+ * 저장, 수정은 writeLock 으로 순서대로 인덱스에 반영하고(이전 값 제거 -> 새 값 추가), 조회는 락 없이 읽는다.
+ * 인덱스로 찾은 상품은 저장소에서 다시 읽어서 조건을 확인하므로, 수정 중인 상품이 잘못 포함되지는 않는다.
+ * (수정 중인 상품이 빠질 수는 있다. stream() 과 같은 weakly consistent)
+ *
+ * 검색 계획
+ * 조건이 있는 인덱스마다 범위에 해당하는 ID 를 최대 maxCandidates 개까지 모아서 가장 적은 인덱스를 사용한다.
+ * 모든 인덱스가 maxCandidates 를 넘으면 (대부분의 상품이 조건에 맞으면) ID 순서로 전체를 읽는 편이 빠르므로
+ * 기존 방식(ItemStore.search) 으로 처리한다.
+ */
+public class IndexedItemStore implements ItemStore {
+
+    private final ItemStore delegate;
+    private final int maxCandidates;
+
+    private final NavigableSet<IndexEntry<String>> nameIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<IndexEntry<Integer>> priceIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<IndexEntry<Integer>> quantityIndex = new ConcurrentSkipListSet<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public IndexedItemStore(ItemStore delegate, int maxCandidates) {
+        this.delegate = delegate;
+        this.maxCandidates = maxCandidates;
+        delegate.stream().forEach(this::index);
+    }
+
+    @Override
+    public Item save(Item item) {
+        writeLock.lock();
+        try {
+            delegate.save(item);
+            index(item);
+            return item;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        writeLock.lock();
+        try {
+            delegate.saveAll(items);
+            for (Item item : items) {
+                index(item);
+            }
+            return items;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<Item> search(ItemSearchCond cond, Long afterId, int limit) {
+        if (cond.isEmpty()) {
+            return delegate.findPage(afterId, limit);
+        }
+        long[] ids = candidates(cond, afterId);
+        if (ids == null) {
+            return delegate.search(cond, afterId, limit);
+        }
+        Arrays.sort(ids);
+        List<Item> result = new ArrayList<>(Math.min(limit, ids.length));
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < ids.length && result.size() < limit; i++) {
+            // 수정 중에는 같은 ID 가 이전 값, 새 값으로 두 번 보일 수 있다.
+            if (ids[i] == previous) {
+                continue;
+            }
+            previous = ids[i];
+            Item item = delegate.findById(ids[i]);
+            if (item != null && cond.matches(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        writeLock.lock();
+        try {
+            Item oldItem = delegate.findById(itemId);
+            if (oldItem == null) {
+                return;
+            }
+            // 저장소는 수정시 새 ImmutableItem 으로 교체하므로 oldItem 의 값은 바뀌지 않는다.
+            IndexEntries oldEntries = new IndexEntries(oldItem);
+            delegate.update(itemId, updateParam);
+            oldEntries.remove();
+            index(delegate.findById(itemId));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 인덱스 반영 순서를 지키기 위해 writeLock 안에서 저장소의 compare-and-set 을 호출한다.
+     */
+    @Override
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        writeLock.lock();
+        try {
+            Item oldItem = delegate.findById(itemId);
+            if (oldItem == null || !delegate.update(itemId, updateParam, expectedVersion)) {
+                return false;
+            }
+            new IndexEntries(oldItem).remove();
+            index(delegate.findById(itemId));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            delegate.clear();
+            nameIndex.clear();
+            priceIndex.clear();
+            quantityIndex.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(Item item) {
+        writeLock.lock();
+        try {
+            Item oldItem = delegate.findById(item.getId());
+            if (oldItem != null) {
+                new IndexEntries(oldItem).remove();
+            }
+            delegate.restore(item);
+            index(item);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 조건이 있는 인덱스 중 후보가 가장 적은 인덱스의 ID 목록 (모두 maxCandidates 를 넘으면 null)
+     */
+    private long[] candidates(ItemSearchCond cond, Long afterId) {
+        long[] best = null;
+        if (cond.hasNamePrefix()) {
+            String prefix = cond.getNamePrefix();
+            best = smaller(best, collect(nameIndex.tailSet(IndexEntry.lowest(prefix), true),
+                    name -> name.startsWith(prefix), afterId, limitFor(best)));
+        }
+        if (cond.hasPriceRange()) {
+            int maxPrice = cond.getMaxPrice() != null ? cond.getMaxPrice() : Integer.MAX_VALUE;
+            int minPrice = cond.getMinPrice() != null ? cond.getMinPrice() : Integer.MIN_VALUE;
+            best = smaller(best, collect(priceIndex.tailSet(IndexEntry.lowest(minPrice), true),
+                    price -> price <= maxPrice, afterId, limitFor(best)));
+        }
+        if (cond.getMaxQuantity() != null) {
+            int maxQuantity = cond.getMaxQuantity();
+            best = smaller(best, collect(quantityIndex, quantity -> quantity < maxQuantity, afterId, limitFor(best)));
+        }
+        return best;
+    }
+
+    private int limitFor(long[] best) {
+        return best == null ? maxCandidates : best.length;
+    }
+
+    private static long[] smaller(long[] best, long[] ids) {
+        return ids != null && (best == null || ids.length < best.length) ? ids : best;
+    }
+
+    /**
+     * 값 순서로 정렬된 range 를 inRange 가 false 가 될 때까지 읽으면서 afterId 보다 큰 ID 를 모은다.
+     * limit 개를 넘으면 중단하고 null 반환
+     */
+    private static <V extends Comparable<V>> long[] collect(Iterable<IndexEntry<V>> range, Predicate<V> inRange,
+                                                            Long afterId, int limit) {
+        long after = afterId == null ? Long.MIN_VALUE : afterId;
+        long[] ids = new long[Math.min(limit, 64)];
+        int size = 0;
+        for (IndexEntry<V> entry : range) {
+            if (!inRange.test(entry.value)) {
+                break;
+            }
+            if (entry.id <= after) {
+                continue;
+            }
+            if (size == limit) {
+                return null;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.min(limit, size * 2));
+            }
+            ids[size++] = entry.id;
+        }
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    private void index(Item item) {
+        if (item != null) {
+            new IndexEntries(item).add();
+        }
+    }
+
+    /**
+     * 상품 하나의 인덱스 항목 (저장 시점의 값)
+     */
+    private class IndexEntries {
+
+        private final IndexEntry<String> name;
+        private final IndexEntry<Integer> price;
+        private final IndexEntry<Integer> quantity;
+
+        IndexEntries(Item item) {
+            long id = item.getId();
+            this.name = item.getItemName() == null ? null : new IndexEntry<>(item.getItemName(), id);
+            this.price = item.getPrice() == null ? null : new IndexEntry<>(item.getPrice(), id);
+            this.quantity = item.getQuantity() == null ? null : new IndexEntry<>(item.getQuantity(), id);
+        }
+
+        void add() {
+            if (name != null) {
+                nameIndex.add(name);
+            }
+            if (price != null) {
+                priceIndex.add(price);
+            }
+            if (quantity != null) {
+                quantityIndex.add(quantity);
+            }
+        }
+
+        void remove() {
+            if (name != null) {
+                nameIndex.remove(name);
+            }
+            if (price != null) {
+                priceIndex.remove(price);
+            }
+            if (quantity != null) {
+                quantityIndex.remove(quantity);
+            }
+        }
+    }
+
+    /**
+     * (값, ID) 순서로 정렬되는 인덱스 항목
+     */
+    private static final class IndexEntry<V extends Comparable<V>> implements Comparable<IndexEntry<V>> {
+
+        private final V value;
+        private final long id;
+
+        IndexEntry(V value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        /**
+         * 같은 값 중 가장 앞의 항목 (범위 검색 시작 위치)
+         */
+        static <V extends Comparable<V>> IndexEntry<V> lowest(V value) {
+            return new IndexEntry<>(value, Long.MIN_VALUE);
+        }
+
+        @Override
+        public int compareTo(IndexEntry<V> o) {
+            int result = value.compareTo(o.value);
+            return result != 0 ? result : Long.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexEntry)) {
+                return false;
+            }
+            IndexEntry<?> that = (IndexEntry<?>) o;
+            return id == that.id && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * value.hashCode() + Long.hashCode(id);
+        }
+    }
+
+}
@@ -0,0 +1,406 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 맵 append-only 로그
+ * 저장, 수정된 상품의 전체 상태를 고정 크기(RECORD_SIZE) 레코드로 이어서 기록한다.
+ * 상품명이 한 레코드에 들어가지 않으면 이어지는 레코드(TYPE_NAME) 에 나누어 기록한다.
+ * 파일은 SEGMENT_SIZE 단위로 나누어 매핑하므로 2GB 를 넘어도 기록할 수 있다.
+ *
+ * 레코드 구조 (big endian)
+ * TYPE_PUT      [0] type  [1] null flags  [2~3] name length  [4~7] price  [8~11] quantity  [12~19] id  [20~23] crc32
+ *               [24~27] version  [28~] name (UTF-8)
+ * TYPE_PUT_LONG TYPE_PUT 과 같고 [28~31] 전체 name length, [32~] name 앞부분 ([2~3] 은 이 레코드에 기록한 길이)
+ * TYPE_NAME     [2~3] name length  [4~7] 앞 TYPE_PUT_LONG 레코드의 crc32  [8~11] 순번(1~)  [20~23] crc32
+ *               [24~] name 의 이어지는 부분
+ * version 이 없던 이전 레코드(TYPE_PUT_LEGACY) 는 [24~] 가 name 이고, 읽을 때 version 은 0 으로 본다.
+ * type 이 0 이거나 crc 가 맞지 않는 레코드를 만나면 그 이전까지만 유효한 로그로 본다. (기록 도중 종료된 경우)
+ * 이어지는 레코드를 모두 기록하지 못한 상품도 버린다. (이전에 기록 도중 종료되고 남은 TYPE_NAME 은 crc32, 순번으로 구분)
+ *
+ * append() 는 호출하는 쪽에서 동기화해야 하고, force() 는 여러 스레드가 동시에 호출해도 된다.
+ */
+class ItemLog implements Closeable {
+
+    static final int RECORD_SIZE = 256;
+    static final int HEADER_SIZE = 28;
+    // 한 레코드에 기록하는 상품명 최대 길이 (넘으면 TYPE_PUT_LONG + TYPE_NAME)
+    static final int MAX_NAME_BYTES = RECORD_SIZE - HEADER_SIZE;
+    private static final int LONG_HEADER_SIZE = 32;
+    private static final int LEGACY_HEADER_SIZE = 24;
+    private static final int NAME_HEADER_SIZE = 24;
+    static final long SEGMENT_SIZE = RECORD_SIZE * 256L * 1024; // 64MB
+
+    static final byte TYPE_PUT_LEGACY = 1;
+    static final byte TYPE_CLEAR = 2;
+    static final byte TYPE_PUT = 3;
+    static final byte TYPE_PUT_LONG = 4;
+    static final byte TYPE_NAME = 5;
+
+    private static final byte NAME_NULL = 1;
+    private static final byte PRICE_NULL = 1 << 1;
+    private static final byte QUANTITY_NULL = 1 << 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    // append 는 기록 락 안에서, force 는 forceLock 안에서(fsync 주기 스레드 포함) 읽으므로 스레드 안전한 목록을 사용한다.
+    // (세그먼트는 64MB 마다 하나씩만 추가된다)
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+
+    // 다음 레코드를 기록할 위치 (append 호출자가 동기화)
+    private long position;
+    // 매핑된 메모리에 기록이 끝난 위치
+    private volatile long writtenPosition;
+
+    // group commit : force() 를 기다리는 스레드들은 먼저 들어간 스레드의 force 결과를 함께 사용한다.
+    private final Object forceLock = new Object();
+    private long forcedPosition;
+
+    private ItemLog(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * 로그 파일을 열고 기존 레코드를 재생한다. 이후 append 는 마지막 유효 레코드 다음부터 기록한다.
+     */
+    static ItemLog open(Path path, Consumer<Item> onPut, Runnable onClear) {
+        try {
+            ItemLog log = new ItemLog(path);
+            log.replay(onPut, onClear);
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("로그 파일을 열 수 없습니다. path=" + path, e);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * 상품의 현재 상태를 기록하고, 기록이 끝난 위치를 반환한다. (force 에 사용)
+     */
+    long append(Item item) {
+        byte[] name = nameBytes(item);
+        int size = recordCount(name) * RECORD_SIZE;
+        // 이어지는 레코드가 있는 상품은 그때만 버퍼를 만든다. (0 으로 초기화되어 있다)
+        ByteBuffer buffer = size == RECORD_SIZE ? record : ByteBuffer.allocate(size);
+        if (buffer == record) {
+            Arrays.fill(record.array(), (byte) 0);
+            record.clear();
+        }
+        encode(item, name, buffer, crc);
+        return write(buffer.array(), size);
+    }
+
+    long appendClear() {
+        Arrays.fill(record.array(), (byte) 0);
+        record.put(0, TYPE_CLEAR);
+        record.putInt(20, checksum(crc, record.array(), 0));
+        return write(record.array(), RECORD_SIZE);
+    }
+
+    /**
+     * position 까지 기록된 내용을 디스크에 반영한다.
+     * 이미 다른 스레드가 그 이후까지 반영했다면 바로 반환한다.
+     */
+    void force(long position) {
+        synchronized (forceLock) {
+            if (forcedPosition >= position) {
+                return;
+            }
+            long target = writtenPosition;
+            int from = (int) (forcedPosition / SEGMENT_SIZE);
+            int to = (int) ((target - 1) / SEGMENT_SIZE);
+            for (int i = from; i <= to; i++) {
+                segments.get(i).force();
+            }
+            forcedPosition = target;
+        }
+    }
+
+    void forceAll() {
+        force(writtenPosition);
+    }
+
+    @Override
+    public void close() throws IOException {
+        forceAll();
+        channel.close();
+    }
+
+    /**
+     * 레코드를 이어서 기록한다. 세그먼트 크기는 RECORD_SIZE 의 배수이므로 레코드는 세그먼트를 넘지 않는다.
+     * writtenPosition 은 상품의 레코드를 모두 기록한 뒤에 변경한다.
+     */
+    private long write(byte[] records, int size) {
+        for (int offset = 0; offset < size; offset += RECORD_SIZE) {
+            MappedByteBuffer segment = segment(position);
+            segment.position((int) (position % SEGMENT_SIZE));
+            segment.put(records, offset, RECORD_SIZE);
+            position += RECORD_SIZE;
+        }
+        writtenPosition = position;
+        return position;
+    }
+
+    private void replay(Consumer<Item> onPut, Runnable onClear) throws IOException {
+        long size = channel.size();
+        byte[] buffer = new byte[RECORD_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        RecordReader reader = new RecordReader();
+        // 마지막으로 완성된 상품(또는 TYPE_CLEAR) 까지의 위치
+        long end = position;
+        while (position + RECORD_SIZE <= size) {
+            MappedByteBuffer segment = segment(position);
+            segment.position((int) (position % SEGMENT_SIZE));
+            segment.get(buffer);
+            byte type = buffer[0];
+            if (type == 0 || !valid(crc, buffer, 0) || !reader.accepts(buffer, 0)) {
+                break;
+            }
+            position += RECORD_SIZE;
+            if (type == TYPE_CLEAR) {
+                onClear.run();
+                end = position;
+            } else {
+                Item item = reader.read(view);
+                if (item != null) {
+                    onPut.accept(item);
+                    end = position;
+                }
+            }
+        }
+        position = end;
+        writtenPosition = position;
+        forcedPosition = position;
+    }
+
+    private MappedByteBuffer segment(long position) {
+        int index = (int) (position / SEGMENT_SIZE);
+        while (segments.size() <= index) {
+            try {
+                // 매핑한 범위만큼 파일 크기가 늘어난다.
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+            } catch (IOException e) {
+                throw new UncheckedIOException("로그 파일을 매핑할 수 없습니다. path=" + path, e);
+            }
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * 레코드 헤더(crc 제외), version, 상품명 바이트의 crc32
+     */
+    static int checksum(CRC32 crc, byte[] record, int offset) {
+        int headerSize = headerSize(record[offset]);
+        int nameLength = Math.max(0, Math.min(getShort(record, offset + 2), RECORD_SIZE - headerSize));
+        crc.reset();
+        crc.update(record, offset, 20);
+        crc.update(record, offset + 24, headerSize - 24 + nameLength);
+        return (int) crc.getValue();
+    }
+
+    static boolean valid(CRC32 crc, byte[] record, int offset) {
+        return getShort(record, offset + 2) <= RECORD_SIZE - headerSize(record[offset])
+                && getInt(record, offset + 20) == checksum(crc, record, offset);
+    }
+
+    private static int headerSize(byte type) {
+        // TYPE_CLEAR 레코드는 이전과 같은 형식 (version 없음)
+        switch (type) {
+            case TYPE_PUT:
+                return HEADER_SIZE;
+            case TYPE_PUT_LONG:
+                return LONG_HEADER_SIZE;
+            case TYPE_NAME:
+                return NAME_HEADER_SIZE;
+            default:
+                return LEGACY_HEADER_SIZE;
+        }
+    }
+
+    private static short getShort(byte[] record, int index) {
+        return (short) ((record[index] << 8) | (record[index + 1] & 0xff));
+    }
+
+    private static int getInt(byte[] record, int index) {
+        return (record[index] << 24) | ((record[index + 1] & 0xff) << 16)
+                | ((record[index + 2] & 0xff) << 8) | (record[index + 3] & 0xff);
+    }
+
+    static byte[] nameBytes(Item item) {
+        return item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 상품 하나를 기록하는 레코드 수 (상품명이 MAX_NAME_BYTES 를 넘으면 이어지는 레코드 포함)
+     */
+    static int recordCount(byte[] name) {
+        if (name == null || name.length <= MAX_NAME_BYTES) {
+            return 1;
+        }
+        int rest = name.length - (RECORD_SIZE - LONG_HEADER_SIZE);
+        int perRecord = RECORD_SIZE - NAME_HEADER_SIZE;
+        return 1 + (rest + perRecord - 1) / perRecord;
+    }
+
+    /**
+     * 레코드 인코딩 : buffer 의 현재 위치부터 recordCount(name) * RECORD_SIZE 만큼 crc 를 포함하여 기록한다.
+     * 상품명 뒤의 남는 공간은 채우지 않으므로 buffer 는 0 으로 초기화되어 있어야 한다.
+     */
+    static void encode(Item item, byte[] name, ByteBuffer buffer, CRC32 crc) {
+        byte flags = 0;
+        if (name == null) {
+            flags |= NAME_NULL;
+        }
+        if (item.getPrice() == null) {
+            flags |= PRICE_NULL;
+        }
+        if (item.getQuantity() == null) {
+            flags |= QUANTITY_NULL;
+        }
+        boolean spill = name != null && name.length > MAX_NAME_BYTES;
+        int length = name == null ? 0 : spill ? RECORD_SIZE - LONG_HEADER_SIZE : name.length;
+        int start = buffer.position();
+        buffer.put(spill ? TYPE_PUT_LONG : TYPE_PUT)
+                .put(flags)
+                .putShort((short) length)
+                .putInt(item.getPrice() == null ? 0 : item.getPrice())
+                .putInt(item.getQuantity() == null ? 0 : item.getQuantity())
+                .putLong(item.getId())
+                .putInt(0)
+                .putInt(item.getVersion() == null ? 0 : item.getVersion());
+        if (spill) {
+            buffer.putInt(name.length);
+        }
+        if (name != null) {
+            buffer.put(name, 0, length);
+        }
+        int headCrc = checksum(crc, buffer.array(), start);
+        buffer.putInt(start + 20, headCrc);
+
+        int recordStart = start + RECORD_SIZE;
+        for (int offset = length, sequence = 1; offset < (name == null ? 0 : name.length); offset += length, sequence++) {
+            length = Math.min(name.length - offset, RECORD_SIZE - NAME_HEADER_SIZE);
+            buffer.position(recordStart);
+            buffer.put(TYPE_NAME)
+                    .put((byte) 0)
+                    .putShort((short) length)
+                    .putInt(headCrc)
+                    .putInt(sequence);
+            buffer.position(recordStart + NAME_HEADER_SIZE);
+            buffer.put(name, offset, length);
+            buffer.putInt(recordStart + 20, checksum(crc, buffer.array(), recordStart));
+            recordStart += RECORD_SIZE;
+        }
+        buffer.position(recordStart);
+    }
+
+    /**
+     * 레코드 디코딩 : buffer 의 현재 위치에 있는 레코드를 읽는다. (위치는 변경하지 않는다)
+     * TYPE_PUT_LONG 은 상품명 없이 읽는다. (RecordReader 가 이어지는 레코드로 채운다)
+     */
+    private static Item decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        byte type = buffer.get(start);
+        byte flags = buffer.get(start + 1);
+        short nameLength = buffer.getShort(start + 2);
+        String name = (flags & NAME_NULL) != 0 || type == TYPE_PUT_LONG ? null
+                : new String(buffer.array(), buffer.arrayOffset() + start + headerSize(type), nameLength, StandardCharsets.UTF_8);
+        Item item = new Item(name,
+                (flags & PRICE_NULL) != 0 ? null : buffer.getInt(start + 4),
+                (flags & QUANTITY_NULL) != 0 ? null : buffer.getInt(start + 8));
+        item.setId(buffer.getLong(start + 12));
+        item.setVersion(type == TYPE_PUT_LEGACY ? 0 : buffer.getInt(start + 24));
+        return item;
+    }
+
+    /**
+     * 레코드를 순서대로 읽어서 상품을 만든다. (로그 재생, 스냅샷 읽기)
+     * TYPE_PUT_LONG 상품은 이어지는 TYPE_NAME 레코드를 모두 읽어야 완성된다.
+     */
+    static class RecordReader {
+
+        private Item pending;
+        private int pendingCrc;
+        private int sequence;
+        private byte[] name;
+        private int nameLength;
+
+        /**
+         * 다음 순서에 올 수 있는 레코드인지 확인한다. (crc 는 valid 로 확인)
+         */
+        boolean accepts(byte[] record, int offset) {
+            byte type = record[offset];
+            if (pending != null) {
+                return type == TYPE_NAME
+                        && getInt(record, offset + 4) == pendingCrc
+                        && getInt(record, offset + 8) == sequence + 1
+                        && getShort(record, offset + 2) > 0
+                        && nameLength + getShort(record, offset + 2) <= name.length;
+            }
+            if (type == TYPE_PUT_LONG) {
+                return getInt(record, offset + 28) > getShort(record, offset + 2);
+            }
+            return type == TYPE_PUT || type == TYPE_PUT_LEGACY || type == TYPE_CLEAR;
+        }
+
+        /**
+         * buffer 의 현재 위치에 있는 레코드를 읽는다. (위치는 변경하지 않는다, TYPE_CLEAR 제외)
+         * @return 완성된 상품, 이어지는 레코드가 남았으면 null
+         */
+        Item read(ByteBuffer buffer) {
+            int start = buffer.position();
+            byte type = buffer.get(start);
+            short length = buffer.getShort(start + 2);
+            if (type == TYPE_NAME) {
+                System.arraycopy(buffer.array(), buffer.arrayOffset() + start + NAME_HEADER_SIZE, name, nameLength, length);
+                nameLength += length;
+                sequence++;
+                if (nameLength < name.length) {
+                    return null;
+                }
+                Item item = pending;
+                item.setItemName(new String(name, StandardCharsets.UTF_8));
+                pending = null;
+                name = null;
+                return item;
+            }
+            Item item = decode(buffer);
+            if (type != TYPE_PUT_LONG) {
+                return item;
+            }
+            pending = item;
+            pendingCrc = buffer.getInt(start + 20);
+            sequence = 0;
+            name = new byte[buffer.getInt(start + 28)];
+            nameLength = length;
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + start + LONG_HEADER_SIZE, name, 0, length);
+            return null;
+        }
+
+        boolean isPending() {
+            return pending != null;
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 스냅샷 파일 : 특정 시점의 전체 상품을 ItemLog 와 같은 레코드 형식으로 저장한다.
+ * 헤더의 generation 은 스냅샷을 만들기 시작한 시점의 로그 세대이다.
+ * 복구할 때는 스냅샷을 읽은 뒤 generation 이상의 로그를 재생한다.
+ */
+class ItemSnapshot {
+
+    private static final int MAGIC = 0x49544d53; // "ITMS"
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORDS_PER_CHUNK = 256;
+
+    private ItemSnapshot() {
+    }
+
+    /**
+     * 임시 파일에 기록하고 fsync 한 뒤 교체하므로, 중간에 종료되어도 이전 스냅샷은 그대로 남는다.
+     */
+    static void write(Path path, long generation, Iterator<Item> items) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(1).putLong(generation);
+            header.flip();
+            writeFully(channel, header);
+
+            CRC32 crc = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocate(ItemLog.RECORD_SIZE * RECORDS_PER_CHUNK);
+            while (items.hasNext()) {
+                Item item = items.next();
+                byte[] name = ItemLog.nameBytes(item);
+                int size = ItemLog.recordCount(name) * ItemLog.RECORD_SIZE;
+                if (chunk.remaining() < size) {
+                    flush(channel, chunk);
+                }
+                // 한 chunk 보다 큰 상품(긴 상품명) 은 따로 기록한다.
+                ByteBuffer target = size <= chunk.remaining() ? chunk : ByteBuffer.allocate(size);
+                ItemLog.encode(item, name, target, crc);
+                if (target != chunk) {
+                    target.flip();
+                    writeFully(channel, target);
+                }
+            }
+            flush(channel, chunk);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 저장할 수 없습니다. path=" + path, e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 교체할 수 없습니다. path=" + path, e);
+        }
+    }
+
+    /**
+     * 스냅샷의 상품을 읽어서 onItem 으로 전달하고 generation 을 반환한다. 스냅샷이 없으면 0 을 반환한다.
+     */
+    static long read(Path path, Consumer<Item> onItem) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IllegalStateException("스냅샷 파일 형식이 아닙니다. path=" + path);
+            }
+            header.getInt(); // version
+            long generation = header.getLong();
+
+            CRC32 crc = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocate(ItemLog.RECORD_SIZE * RECORDS_PER_CHUNK);
+            // 긴 상품명의 이어지는 레코드는 다음 chunk 에 있을 수 있다.
+            ItemLog.RecordReader reader = new ItemLog.RecordReader();
+            while (true) {
+                chunk.clear();
+                readFully(channel, chunk);
+                chunk.flip();
+                if (!chunk.hasRemaining()) {
+                    if (reader.isPending()) {
+                        throw new IllegalStateException("스냅샷 파일이 손상되었습니다. path=" + path);
+                    }
+                    return generation;
+                }
+                for (int start = 0; start + ItemLog.RECORD_SIZE <= chunk.limit(); start += ItemLog.RECORD_SIZE) {
+                    if (!ItemLog.valid(crc, chunk.array(), start) || !reader.accepts(chunk.array(), start)) {
+                        // 스냅샷은 fsync 후 교체하므로 정상적인 경우에는 발생하지 않는다.
+                        throw new IllegalStateException("스냅샷 파일이 손상되었습니다. path=" + path);
+                    }
+                    chunk.position(start);
+                    Item item = reader.read(chunk);
+                    if (item != null) {
+                        onItem.accept(item);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. path=" + path, e);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer chunk) throws IOException {
+        chunk.flip();
+        writeFully(channel, chunk);
+        Arrays.fill(chunk.array(), (byte) 0);
+        chunk.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // 버퍼가 가득 차거나 파일 끝까지 읽는다.
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSearchCond;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ItemRepository 의 저장소 구현
+ * item.store.type 프로퍼티로 선택한다. (snapshot, map, columnar)
+ * 다른 저장소를 감싸는 구현 (IndexedItemStore, PersistentItemStore, MeteredItemStore) 은 모든 메서드를 위임해야 한다.
+ */
+public interface ItemStore {
+
+    /**
+     * stream() 기본 구현이 한번에 읽어오는 개수
+     */
+    int STREAM_CHUNK_SIZE = 1024;
+
+    /**
+     * ID 를 발급하고 저장한다. 발급된 ID 와 version(0) 은 item 에도 설정된다.
+     */
+    Item save(Item item);
+
+    /**
+     * 여러 상품을 한번에 저장한다. ID 는 목록 순서대로 발급된다.
+     * 기본 구현은 save() 를 반복하고, 저장소별로 락, 로그 기록을 한번에 처리하도록 재정의한다.
+     */
+    default List<Item> saveAll(List<Item> items) {
+        for (Item item : items) {
+            save(item);
+        }
+        return items;
+    }
+
+    Item findById(Long id);
+
+    List<Item> findAll();
+
+    /**
+     * keyset 페이징 : afterId 보다 큰 ID 를 ID 순서로 최대 limit 개 조회한다.
+     * afterId 가 null 이면 처음부터 조회한다.
+     */
+    List<Item> findPage(Long afterId, int limit);
+
+    /**
+     * 조건에 맞는 상품을 afterId 다음부터 ID 순서로 최대 limit 개 조회한다. (keyset 페이징)
+     * 기본 구현은 findPage() 로 나누어 읽으면서 조건을 확인한다. (전체 조회, 보조 인덱스는 IndexedItemStore)
+     */
+    default List<Item> search(ItemSearchCond cond, Long afterId, int limit) {
+        List<Item> result = new ArrayList<>(Math.min(limit, STREAM_CHUNK_SIZE));
+        Long cursor = afterId;
+        while (result.size() < limit) {
+            List<Item> chunk = findPage(cursor, STREAM_CHUNK_SIZE);
+            for (Item item : chunk) {
+                if (cond.matches(item)) {
+                    result.add(item);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+            if (chunk.size() < STREAM_CHUNK_SIZE) {
+                break;
+            }
+            cursor = chunk.get(chunk.size() - 1).getId();
+        }
+        return result;
+    }
+
+    /**
+     * 전체 상품을 ID 순서로 순회한다. 전체를 복사하지 않고 필요한 만큼만 읽는다.
+     * 순회 중 저장, 수정된 상품은 반영될 수도 있고 아닐 수도 있다. (weakly consistent)
+     */
+    default Stream<Item> stream() {
+        Iterator<Item> iterator = new Iterator<>() {
+            private List<Item> chunk = findPage(null, STREAM_CHUNK_SIZE);
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (index < chunk.size()) {
+                    return true;
+                }
+                if (chunk.size() < STREAM_CHUNK_SIZE) {
+                    return false;
+                }
+                chunk = findPage(chunk.get(chunk.size() - 1).getId(), STREAM_CHUNK_SIZE);
+                index = 0;
+                return !chunk.isEmpty();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(index++);
+            }
+        };
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
+    /**
+     * 수정 (version 확인 없이 덮어쓰고 version 을 1 올린다)
+     */
+    void update(Long itemId, Item updateParam);
+
+    /**
+     * 낙관적 잠금 수정 : 저장된 상품의 version 이 expectedVersion 과 같을 때만 수정하고 version 을 1 올린다.
+     * 다른 요청이 먼저 수정했거나(version 불일치) 상품이 없으면 수정하지 않고 false 를 반환한다.
+     */
+    boolean update(Long itemId, Item updateParam, int expectedVersion);
+
+    void clear();
+
+    /**
+     * 복구용 : 저장되어 있던 ID, version 그대로 저장한다. (같은 ID 가 있으면 교체)
+     * 이후 save() 로 발급되는 ID 는 복구한 ID 보다 커야 한다.
+     */
+    void restore(Item item);
+
+}
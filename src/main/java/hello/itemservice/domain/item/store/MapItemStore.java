@@ -0,0 +1,110 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.ImmutableItem;
+import hello.itemservice.domain.item.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Map 저장소 : 저장한 값을 ImmutableItem 으로 복사해서 ConcurrentSkipListMap 에 보관한다.
+ * findAll() 은 전체를 복사한다. (복사 없는 조회는 SnapshotItemStore)
+ */
+public class MapItemStore implements ItemStore {
+
+    // 동시 요청 처리
+    // HashMap + long sequence 는 동시에 여러 요청이 들어오면 ID 중복, 저장 누락, resize 중 map 손상이 발생할 수 있다.
+    // ConcurrentSkipListMap : 락 없이(CAS) 동작하므로 코어 수에 맞게 확장되고, ID 순서로 정렬되어 keyset 페이징이 가능하다.
+    // AtomicLong : CAS 로 ID 를 원자적으로 발급한다.
+    private final ConcurrentNavigableMap<Long, Item> store = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Item save(Item item) {
+        item.setId(sequence.incrementAndGet());
+        item.setVersion(0);
+        store.put(item.getId(), ImmutableItem.copyOf(item));
+        return item;
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        // ID 를 한번에 발급한다. (CAS 1번)
+        long firstId = sequence.getAndAdd(items.size()) + 1;
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            item.setId(firstId + i);
+            item.setVersion(0);
+            store.put(item.getId(), ImmutableItem.copyOf(item));
+        }
+        return items;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        Map<Long, Item> tail = afterId == null ? store : store.tailMap(afterId, false);
+        List<Item> items = new ArrayList<>(Math.min(limit, STREAM_CHUNK_SIZE));
+        for (Item item : tail.values()) {
+            if (items.size() == limit) {
+                break;
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        // skip list 의 values() 는 weakly consistent 하므로 복사 없이 그대로 순회한다.
+        return store.values().stream();
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        // 기존 객체를 필드 단위로 수정하면 다른 스레드가 일부만 수정된 상태를 볼 수 있다.
+        // computeIfPresent 는 해당 key 에 대해 원자적으로 실행되므로, 새 Item 으로 통째로 교체한다.
+        store.computeIfPresent(itemId, (id, findItem) -> ((ImmutableItem) findItem).update(updateParam));
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        // compare-and-set : 읽은 객체 그대로일 때만 교체한다. (락 없음)
+        // 교체에 실패하면 다른 요청이 먼저 수정한 것이므로 version 을 다시 확인한다.
+        while (true) {
+            Item findItem = store.get(itemId);
+            if (findItem == null || findItem.getVersion() != expectedVersion) {
+                return false;
+            }
+            if (store.replace(itemId, findItem, ((ImmutableItem) findItem).update(updateParam))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public void restore(Item item) {
+        store.put(item.getId(), ImmutableItem.copyOf(item));
+        sequence.accumulateAndGet(item.getId(), Math::max);
+    }
+
+}
@@ -0,0 +1,115 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSearchCond;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 저장소 호출 시간 기록 (item.repository{operation})
+ * stream() 은 호출이 아니라 순회하면서 읽으므로, restore(), clear() 는 요청 처리 중에 호출되지 않으므로 기록하지 않는다.
+ */
+public class MeteredItemStore implements ItemStore, Closeable {
+
+    private final ItemStore delegate;
+    private final Timer save;
+    private final Timer saveAll;
+    private final Timer findById;
+    private final Timer findAll;
+    private final Timer findPage;
+    private final Timer search;
+    private final Timer update;
+    private final Timer compareAndUpdate;
+
+    public MeteredItemStore(ItemStore delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.save = timer(registry, "save");
+        this.saveAll = timer(registry, "saveAll");
+        this.findById = timer(registry, "findById");
+        this.findAll = timer(registry, "findAll");
+        this.findPage = timer(registry, "findPage");
+        this.search = timer(registry, "search");
+        this.update = timer(registry, "update");
+        this.compareAndUpdate = timer(registry, "compareAndUpdate");
+    }
+
+    public ItemStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Item save(Item item) {
+        return save.record(() -> delegate.save(item));
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        return saveAll.record(() -> delegate.saveAll(items));
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return findById.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return findAll.record(delegate::findAll);
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        return findPage.record(() -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public List<Item> search(ItemSearchCond cond, Long afterId, int limit) {
+        return search.record(() -> delegate.search(cond, afterId, limit));
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        update.record(() -> delegate.update(itemId, updateParam));
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        return compareAndUpdate.record(() -> delegate.update(itemId, updateParam, expectedVersion));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public void restore(Item item) {
+        delegate.restore(item);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("item.repository")
+                .description("item store operation time")
+                .tag("store", "item")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,304 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSearchCond;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 영속 저장소 : 메모리 저장소(delegate) 앞에서 변경 내용을 ItemLog 에 기록한다.
+ * 조회는 메모리 저장소에서 처리하고, 시작할 때 스냅샷과 로그를 재생하여 메모리 저장소를 복구한다.
+ *
+ * 파일 구성 (directory)
+ * items.snapshot : 마지막 스냅샷
+ * items-{generation}.log : 스냅샷 이후의 변경 로그. 스냅샷을 만들 때마다 새 세대의 로그로 교체한다.
+ */
+@Slf4j
+public class PersistentItemStore implements ItemStore, Closeable {
+
+    private static final Pattern LOG_FILE = Pattern.compile("items-(\\d+)\\.log");
+
+    private final ItemStore delegate;
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final ScheduledExecutorService scheduler;
+
+    // 메모리 저장소 변경과 로그 기록 순서를 맞추기 위한 락 (fsync 는 락 밖에서 group commit 으로 처리)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile ItemLog itemLog;
+    private long generation;
+
+    /**
+     * @param fsyncInterval    FsyncPolicy.INTERVAL 일 때 fsync 주기
+     * @param snapshotInterval 스냅샷 주기 (0 이면 자동으로 만들지 않는다)
+     */
+    public PersistentItemStore(ItemStore delegate, Path directory, FsyncPolicy fsyncPolicy,
+                               Duration fsyncInterval, Duration snapshotInterval) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        recover();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-store-persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long millis = fsyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(() -> itemLog.forceAll(), millis, millis, TimeUnit.MILLISECONDS);
+        }
+        if (!snapshotInterval.isZero()) {
+            long millis = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Item save(Item item) {
+        ItemLog current;
+        long position;
+        writeLock.lock();
+        try {
+            delegate.save(item);
+            current = itemLog;
+            position = current.append(item);
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(current, position);
+        return item;
+    }
+
+    /**
+     * 전체를 기록한 뒤 한 번만 fsync 한다. (FsyncPolicy.ALWAYS)
+     */
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        ItemLog current;
+        long position;
+        writeLock.lock();
+        try {
+            delegate.saveAll(items);
+            current = itemLog;
+            position = -1;
+            for (Item item : items) {
+                position = current.append(item);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (position >= 0) {
+            awaitDurable(current, position);
+        }
+        return items;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<Item> search(ItemSearchCond cond, Long afterId, int limit) {
+        return delegate.search(cond, afterId, limit);
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        ItemLog current;
+        long position;
+        writeLock.lock();
+        try {
+            delegate.update(itemId, updateParam);
+            Item updatedItem = delegate.findById(itemId);
+            if (updatedItem == null) {
+                return;
+            }
+            current = itemLog;
+            position = current.append(updatedItem);
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(current, position);
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        ItemLog current;
+        long position;
+        writeLock.lock();
+        try {
+            if (!delegate.update(itemId, updateParam, expectedVersion)) {
+                return false;
+            }
+            current = itemLog;
+            position = current.append(delegate.findById(itemId));
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(current, position);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        ItemLog current;
+        long position;
+        writeLock.lock();
+        try {
+            delegate.clear();
+            current = itemLog;
+            position = current.appendClear();
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(current, position);
+    }
+
+    @Override
+    public void restore(Item item) {
+        delegate.restore(item);
+    }
+
+    /**
+     * 스냅샷 생성
+     * 1. 새 세대의 로그로 교체한다. (이후 변경은 새 로그에 기록)
+     * 2. 메모리 저장소 전체를 스냅샷으로 저장한다. 저장 중 변경된 상품이 스냅샷에 포함되어도
+     *    새 로그에 전체 상태가 기록되어 있으므로 복구 결과는 같다.
+     * 3. 이전 세대의 로그를 삭제한다.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            long snapshotGeneration;
+            writeLock.lock();
+            try {
+                ItemLog previous = itemLog;
+                snapshotGeneration = generation + 1;
+                itemLog = ItemLog.open(logPath(snapshotGeneration), delegate::restore, delegate::clear);
+                generation = snapshotGeneration;
+                previous.close();
+            } finally {
+                writeLock.unlock();
+            }
+
+            try (Stream<Item> items = delegate.stream()) {
+                ItemSnapshot.write(snapshotPath(), snapshotGeneration, items.iterator());
+            }
+            for (Path path : logFiles()) {
+                if (generationOf(path) < snapshotGeneration) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            log.info("item snapshot saved. generation={}", snapshotGeneration);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 만들 수 없습니다. directory=" + directory, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        writeLock.lock();
+        try {
+            itemLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void awaitDurable(ItemLog current, long position) {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            current.force(position);
+        }
+    }
+
+    /**
+     * 스냅샷을 읽은 뒤, 스냅샷 세대 이상의 로그를 세대 순서대로 재생한다.
+     * 마지막 로그는 열어둔 채로 이어서 기록한다.
+     */
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            long started = System.nanoTime();
+            long snapshotGeneration = ItemSnapshot.read(snapshotPath(), delegate::restore);
+
+            List<Path> logs = logFiles().stream()
+                    .filter(path -> generationOf(path) >= snapshotGeneration)
+                    .collect(Collectors.toList());
+            for (int i = 0; i < logs.size() - 1; i++) {
+                ItemLog.open(logs.get(i), delegate::restore, delegate::clear).close();
+            }
+            generation = logs.isEmpty() ? Math.max(snapshotGeneration, 1) : generationOf(logs.get(logs.size() - 1));
+            itemLog = ItemLog.open(logPath(generation), delegate::restore, delegate::clear);
+            log.info("item store recovered. directory={}, generation={}, elapsed={}ms",
+                    directory, generation, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new UncheckedIOException("저장소를 복구할 수 없습니다. directory=" + directory, e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("item snapshot failed", e);
+        }
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> LOG_FILE.matcher(path.getFileName().toString()).matches())
+                    .sorted((a, b) -> Long.compare(generationOf(a), generationOf(b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long generationOf(Path path) {
+        Matcher matcher = LOG_FILE.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private Path logPath(long generation) {
+        return directory.resolve("items-" + generation + ".log");
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve("items.snapshot");
+    }
+
+}
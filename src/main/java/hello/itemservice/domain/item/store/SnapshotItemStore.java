@@ -0,0 +1,357 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.ImmutableItem;
+import hello.itemservice.domain.item.Item;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 스냅샷 저장소 : 변경할 때마다 새 버전(Snapshot) 을 만들어 교체하고, 조회는 현재 버전을 그대로 읽는다.
+ *
+ * 구조
+ * ID 순서로 상품을 담는 persistent vector (32 갈래 trie, 상품 ID - 1 이 위치)
+ * 변경시 루트부터 해당 위치까지의 노드(최대 log32(n) 개, 100만 개 기준 4개) 만 복사하고 나머지 노드는 이전 버전과 공유한다.
+ *
+ * 조회
+ * volatile 필드에서 현재 버전을 읽는 것(O(1)) 외에는 락, 복사가 없다.
+ * findAll() 은 복사 없이 스냅샷을 감싼 읽기 전용 목록을 반환하고, 반환한 뒤에 저장, 수정된 내용은 보이지 않는다.
+ * 저장된 상품은 ImmutableItem 이므로 수정 중인 상품(일부 필드만 바뀐 상태) 이 보이지 않는다.
+ *
+ * 변경
+ * 저장, 수정은 writeLock 으로 순서대로 새 버전을 만든다. (요청당 노드 몇 개만 복사하므로 락 구간이 짧다)
+ * 대량 저장(saveAll) 도 다른 변경과 경쟁해서 다시 만들지 않고 한 번에 만든다.
+ * 낙관적 잠금 수정(update(itemId, updateParam, expectedVersion)) 은 락 안에서 version 을 확인하고 교체한다.
+ */
+public class SnapshotItemStore implements ItemStore {
+
+    private volatile Snapshot current = Snapshot.EMPTY;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * 현재 버전 (이후 변경의 영향을 받지 않는다)
+     */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    public Item save(Item item) {
+        writeLock.lock();
+        try {
+            item.setId(current.lastId + 1);
+            item.setVersion(0);
+            current = current.with(ImmutableItem.copyOf(item));
+            return item;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        writeLock.lock();
+        try {
+            Snapshot snapshot = current;
+            for (Item item : items) {
+                item.setId(snapshot.lastId + 1);
+                item.setVersion(0);
+                snapshot = snapshot.with(ImmutableItem.copyOf(item));
+            }
+            // 목록 전체가 한번에 보인다.
+            current = snapshot;
+            return items;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return id == null ? null : current.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return current.items();
+    }
+
+    @Override
+    public List<Item> findPage(Long afterId, int limit) {
+        Snapshot snapshot = current;
+        List<Item> items = new ArrayList<>(Math.min(limit, STREAM_CHUNK_SIZE));
+        snapshot.forEachAfter(afterId == null ? 0 : afterId, item -> items.size() < limit, items::add);
+        return items;
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return current.stream();
+    }
+
+    @Override
+    public void update(Long itemId, Item updateParam) {
+        writeLock.lock();
+        try {
+            ImmutableItem findItem = current.get(itemId);
+            if (findItem != null) {
+                current = current.with(findItem.update(updateParam));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam, int expectedVersion) {
+        writeLock.lock();
+        try {
+            ImmutableItem findItem = current.get(itemId);
+            if (findItem == null || findItem.getVersion() != expectedVersion) {
+                return false;
+            }
+            current = current.with(findItem.update(updateParam));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            current = Snapshot.EMPTY.withLastId(current.lastId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(Item item) {
+        writeLock.lock();
+        try {
+            current = current.with(ImmutableItem.copyOf(item));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 저장소의 한 버전 (변경되지 않는다)
+     */
+    public static final class Snapshot {
+
+        private static final int BITS = 5;
+        private static final int WIDTH = 1 << BITS;
+        private static final int MASK = WIDTH - 1;
+
+        static final Snapshot EMPTY = new Snapshot(new Object[WIDTH], 0, 0, 0, 0);
+
+        // 내부 노드 : Object[WIDTH] (하위 노드), 말단 노드 : Object[WIDTH] (ImmutableItem), 비어있는 구간은 null
+        private final Object[] root;
+        private final int shift;
+        // 사용 중인 위치 수 (마지막 상품 ID), 저장된 상품 수
+        private final int length;
+        private final int count;
+        // 마지막으로 발급한 ID (clear() 후에도 이어서 발급한다)
+        private final long lastId;
+
+        private Snapshot(Object[] root, int shift, int length, int count, long lastId) {
+            this.root = root;
+            this.shift = shift;
+            this.length = length;
+            this.count = count;
+            this.lastId = lastId;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public ImmutableItem get(long id) {
+            if (id < 1 || id > length) {
+                return null;
+            }
+            Object[] leaf = leaf((int) (id - 1));
+            return leaf == null ? null : (ImmutableItem) leaf[(int) (id - 1) & MASK];
+        }
+
+        /**
+         * ID 순서의 읽기 전용 목록 (복사하지 않는다, clear() 후에 저장해서 비어있는 구간이 있으면 복사)
+         */
+        public List<Item> items() {
+            if (count == length) {
+                return new SnapshotList(this);
+            }
+            List<Item> items = new ArrayList<>(count);
+            forEachAfter(0, item -> true, items::add);
+            return Collections.unmodifiableList(items);
+        }
+
+        public Stream<Item> stream() {
+            int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL
+                    | Spliterator.IMMUTABLE | Spliterator.SIZED;
+            return StreamSupport.stream(Spliterators.spliterator(new SnapshotIterator(this), count, characteristics), false);
+        }
+
+        Snapshot withLastId(long lastId) {
+            return new Snapshot(root, shift, length, count, lastId);
+        }
+
+        Snapshot with(ImmutableItem item) {
+            long id = item.getId();
+            if (id < 1 || id > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("지원하지 않는 상품 ID 입니다. id=" + id);
+            }
+            int index = (int) (id - 1);
+            Object[] newRoot = root;
+            int newShift = shift;
+            // 위치가 현재 trie 범위를 벗어나면 높이를 늘린다. (기존 루트는 새 루트의 첫번째 하위 노드)
+            while (newShift < 30 && (index >>> (newShift + BITS)) != 0) {
+                Object[] grown = new Object[WIDTH];
+                grown[0] = newRoot;
+                newRoot = grown;
+                newShift += BITS;
+            }
+            boolean added = get(id) == null;
+            return new Snapshot(set(newRoot, newShift, index, item), newShift,
+                    Math.max(length, index + 1), added ? count + 1 : count, Math.max(lastId, id));
+        }
+
+        private static Object[] set(Object[] node, int level, int index, Object item) {
+            Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+            int slot = (index >>> level) & MASK;
+            copy[slot] = level == 0 ? item : set((Object[]) copy[slot], level - BITS, index, item);
+            return copy;
+        }
+
+        private Object[] leaf(int index) {
+            Object[] node = root;
+            for (int level = shift; level > 0 && node != null; level -= BITS) {
+                node = (Object[]) node[(index >>> level) & MASK];
+            }
+            return node;
+        }
+
+        /**
+         * afterId 다음 상품부터 ID 순서로 action 실행 (condition 이 false 가 되면 중단)
+         * 말단 노드 단위로 읽고, 비어있는 말단 노드는 건너뛴다.
+         */
+        void forEachAfter(long afterId, Predicate<Item> condition, Consumer<Item> action) {
+            long index = Math.max(afterId, 0);
+            while (index < length) {
+                Object[] leaf = leaf((int) index);
+                int end = (int) Math.min(length, (index | MASK) + 1);
+                if (leaf != null) {
+                    for (int i = (int) index; i < end; i++) {
+                        Item item = (Item) leaf[i & MASK];
+                        if (item == null) {
+                            continue;
+                        }
+                        if (!condition.test(item)) {
+                            return;
+                        }
+                        action.accept(item);
+                    }
+                }
+                index = end;
+            }
+        }
+    }
+
+    /**
+     * 비어있는 구간이 없는 스냅샷의 목록 (get(i) 는 ID i + 1 의 상품)
+     */
+    private static final class SnapshotList extends AbstractList<Item> implements RandomAccess {
+
+        private final Snapshot snapshot;
+
+        SnapshotList(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public Item get(int index) {
+            if (index < 0 || index >= snapshot.count) {
+                throw new IndexOutOfBoundsException("index=" + index + ", size=" + snapshot.count);
+            }
+            return snapshot.get(index + 1L);
+        }
+
+        @Override
+        public int size() {
+            return snapshot.count;
+        }
+
+        @Override
+        public Iterator<Item> iterator() {
+            // 위치마다 루트부터 찾지 않고 말단 노드 단위로 읽는다.
+            return new SnapshotIterator(snapshot);
+        }
+
+        @Override
+        public Stream<Item> stream() {
+            return snapshot.stream();
+        }
+    }
+
+    /**
+     * 말단 노드 단위로 읽는 순회
+     */
+    private static final class SnapshotIterator implements Iterator<Item> {
+
+        private final Snapshot snapshot;
+        private int index;
+        private Object[] leaf;
+        private Item next;
+
+        SnapshotIterator(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Item item = next;
+            advance();
+            return item;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && index < snapshot.length) {
+                if ((index & Snapshot.MASK) == 0 || leaf == null) {
+                    leaf = snapshot.leaf(index);
+                }
+                if (leaf == null) {
+                    index = (index | Snapshot.MASK) + 1;
+                    continue;
+                }
+                next = (Item) leaf[index & Snapshot.MASK];
+                index++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package hello.itemservice.domain.item.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 문자열을 UTF-8 바이트로 하나의 byte[] 에 이어 붙여 보관하는 intern 테이블
+ * 같은 문자열은 한 번만 저장하고, 같은 참조 번호(ref) 를 돌려준다.
+ * ref 마다 참조 수를 세고(intern 에서 증가, release 에서 감소), 참조가 없는 문자열의 바이트가 쌓이면
+ * compact() 로 살아있는 문자열만 남긴다. (ref 가 바뀌므로 호출하는 쪽에서 반환된 매핑으로 ref 를 바꿔야 한다)
+ * 배열은 MAX_ARRAY_SIZE 까지만 늘리고, 넘으면 IllegalStateException 을 던진다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+class Utf8Arena {
+
+    private static final int EMPTY = -1;
+    // 일부 JVM 은 배열 헤더 때문에 Integer.MAX_VALUE 크기의 배열을 만들 수 없다.
+    static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_SLOTS = 1 << 30;
+    // 참조가 없는 바이트가 이 크기 이상이고 사용 중인 바이트의 절반을 넘으면 compact 한다.
+    private static final int COMPACT_MIN_DEAD_BYTES = 64 * 1024;
+
+    private byte[] bytes = new byte[1024];
+    private int used;
+    // 참조가 없는 문자열의 바이트 수
+    private long deadBytes;
+
+    // ref -> (offset, length, 참조 수)
+    private int[] offsets = new int[64];
+    private int[] lengths = new int[64];
+    private int[] refCounts = new int[64];
+    private int count;
+
+    // open addressing 해시 테이블 : slot -> ref
+    private int[] slots = newSlots(128);
+
+    /**
+     * 문자열을 저장하고 ref 를 반환한다. 이미 있는 문자열이면 기존 ref 를 반환한다.
+     */
+    int intern(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded, 0, encoded.length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != EMPTY) {
+            int ref = slots[slot];
+            if (Arrays.equals(bytes, offsets[ref], offsets[ref] + lengths[ref], encoded, 0, encoded.length)) {
+                if (refCounts[ref]++ == 0) {
+                    deadBytes -= lengths[ref];
+                }
+                return ref;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int ref = append(encoded);
+        slots[slot] = ref;
+        if (count * 2 > slots.length) {
+            if (slots.length == MAX_SLOTS) {
+                throw new IllegalStateException("문자열 arena 의 문자열 수가 최대값을 넘었습니다. count=" + count);
+            }
+            rehash(slots.length * 2);
+        }
+        return ref;
+    }
+
+    /**
+     * ref 참조 하나를 해제한다. 참조가 없어진 문자열은 compact() 할 때 제거된다.
+     */
+    void release(int ref) {
+        if (--refCounts[ref] == 0) {
+            deadBytes += lengths[ref];
+        }
+    }
+
+    /**
+     * 참조가 없는 바이트가 충분히 쌓여서 compact() 할 만한지
+     */
+    boolean needsCompaction() {
+        return deadBytes >= COMPACT_MIN_DEAD_BYTES && deadBytes * 2 > used;
+    }
+
+    /**
+     * 참조가 있는 문자열만 새 배열로 옮긴다.
+     * @return 이전 ref -> 새 ref (참조가 없던 ref 는 EMPTY)
+     */
+    int[] compact() {
+        int[] remap = new int[count];
+        long liveBytes = used - deadBytes;
+        byte[] compactBytes = new byte[(int) Math.min(MAX_ARRAY_SIZE, Math.max(1024, liveBytes + (liveBytes >> 1)))];
+        int compactUsed = 0;
+        int live = 0;
+        for (int ref = 0; ref < count; ref++) {
+            if (refCounts[ref] == 0) {
+                remap[ref] = EMPTY;
+                continue;
+            }
+            System.arraycopy(bytes, offsets[ref], compactBytes, compactUsed, lengths[ref]);
+            offsets[live] = compactUsed;
+            lengths[live] = lengths[ref];
+            refCounts[live] = refCounts[ref];
+            compactUsed += lengths[ref];
+            remap[ref] = live++;
+        }
+        bytes = compactBytes;
+        used = compactUsed;
+        deadBytes = 0;
+        count = live;
+        int capacity = Math.max(64, live + (live >> 1));
+        offsets = Arrays.copyOf(offsets, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        refCounts = Arrays.copyOf(refCounts, capacity);
+        int slotCount = 128;
+        while (slotCount < MAX_SLOTS && (long) live * 2 >= slotCount) {
+            slotCount <<= 1;
+        }
+        rehash(slotCount);
+        return remap;
+    }
+
+    String get(int ref) {
+        return new String(bytes, offsets[ref], lengths[ref], StandardCharsets.UTF_8);
+    }
+
+    void clear() {
+        used = 0;
+        deadBytes = 0;
+        count = 0;
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * 현재 점유하고 있는 바이트 수 (배열 용량 기준)
+     */
+    long capacityBytes() {
+        return bytes.length + (long) offsets.length * Integer.BYTES * 3 + (long) slots.length * Integer.BYTES;
+    }
+
+    private int append(byte[] encoded) {
+        if ((long) used + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, grownCapacity(bytes.length, (long) used + encoded.length, "bytes"));
+        }
+        if (count == offsets.length) {
+            int capacity = grownCapacity(offsets.length, count + 1L, "refs");
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            refCounts = Arrays.copyOf(refCounts, capacity);
+        }
+        System.arraycopy(encoded, 0, bytes, used, encoded.length);
+        offsets[count] = used;
+        lengths[count] = encoded.length;
+        refCounts[count] = 1;
+        used += encoded.length;
+        return count++;
+    }
+
+    /**
+     * 두 배로 늘리되 MAX_ARRAY_SIZE 를 넘지 않는다. (int 오버플로 방지)
+     */
+    private static int grownCapacity(int current, long required, String name) {
+        if (required > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("문자열 arena 가 최대 크기를 넘었습니다. " + name + "=" + required + ", max=" + MAX_ARRAY_SIZE);
+        }
+        return (int) Math.min(MAX_ARRAY_SIZE, Math.max(current * 2L, required));
+    }
+
+    private void rehash(int size) {
+        slots = newSlots(size);
+        int mask = size - 1;
+        for (int ref = 0; ref < count; ref++) {
+            int slot = hash(bytes, offsets[ref], offsets[ref] + lengths[ref]) & mask;
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = ref;
+        }
+    }
+
+    private static int[] newSlots(int size) {
+        int[] slots = new int[size];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int hash(byte[] data, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + data[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+}
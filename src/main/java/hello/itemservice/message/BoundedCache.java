@@ -0,0 +1,95 @@
+package hello.itemservice.message;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 크기 제한이 있는 캐시 : maximumSize 를 넘으면 먼저 들어온 항목부터 제거한다. (FIFO)
+ * 조회는 ConcurrentHashMap 한 번으로 끝나고, 새 항목을 추가할 때만 제거 순서를 기록한다.
+ * 동시에 추가, clear() 하는 경우 크기가 잠시 maximumSize 를 넘을 수 있다.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize 는 0 보다 커야 합니다. maximumSize=" + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * 캐시된 값을 반환하고, 없으면 loader 로 만들어서 보관한다. loader 가 null 을 반환하면 보관하지 않는다.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        V previous = putIfAbsent(key, value);
+        return previous != null ? previous : value;
+    }
+
+    /**
+     * 캐시된 값 (없으면 null)
+     */
+    public V getIfPresent(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 값을 보관한다. 이미 있으면 보관하지 않고 기존 값을 반환한다. (조회 통계는 바뀌지 않는다)
+     */
+    public V putIfAbsent(K key, V value) {
+        V previous = entries.putIfAbsent(key, value);
+        if (previous != null) {
+            return previous;
+        }
+        insertionOrder.add(key);
+        while (entries.size() > maximumSize) {
+            K eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            if (entries.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+        return null;
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+}
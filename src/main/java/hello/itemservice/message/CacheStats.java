@@ -0,0 +1,21 @@
+package hello.itemservice.message;
+
+import lombok.Data;
+
+/**
+ * 캐시 통계 (조회 시점의 값)
+ */
+@Data
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+
+    public double hitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+}
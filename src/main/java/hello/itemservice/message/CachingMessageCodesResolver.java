@@ -0,0 +1,83 @@
+package hello.itemservice.message;
+
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Objects;
+
+/**
+ * 메시지 코드 캐시 : 같은 (errorCode, objectName, field, fieldType) 의 코드 배열은 한 번만 만든다.
+ * 예) required, item, itemName, String -> [required.item.itemName, required.itemName, required.java.lang.String, required]
+ * 반환한 배열은 여러 오류(FieldError)가 함께 사용하므로 변경하면 안 된다. (스프링은 코드 배열을 변경하지 않는다)
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final BoundedCache<Key, String[]> cache;
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, int maximumSize) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(maximumSize);
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        return cache.get(new Key(errorCode, objectName, null, null),
+                key -> delegate.resolveMessageCodes(errorCode, objectName));
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        return cache.get(new Key(errorCode, objectName, field, fieldType),
+                key -> delegate.resolveMessageCodes(errorCode, objectName, field, fieldType));
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        Key(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            int hash = Objects.hashCode(errorCode);
+            hash = 31 * hash + Objects.hashCode(objectName);
+            hash = 31 * hash + Objects.hashCode(field);
+            this.hash = 31 * hash + Objects.hashCode(fieldType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash
+                    && Objects.equals(errorCode, key.errorCode)
+                    && Objects.equals(objectName, key.objectName)
+                    && Objects.equals(field, key.field)
+                    && fieldType == key.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package hello.itemservice.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 검증 오류 메시지 캐시
+ * 오류 메시지는 코드 배열(required.item.itemName -> ... -> required) 을 순서대로 찾아서 처음 찾은 메시지를 사용한다.
+ * (코드 배열, Locale) 별로 몇 번째 코드에서 메시지를 찾았는지 기억해두고, 다음부터는 그 코드만 조회한다.
+ * 인자가 매번 다를 수 있으므로 완성된 메시지가 아니라 코드 위치만 캐시한다.
+ *
+ * 메시지 파일이 다시 로딩되면 결과가 달라질 수 있으므로
+ * cacheDuration (spring.messages.cache-duration) 마다 캐시를 비우고, clearCache() 로 직접 비울 수도 있다.
+ * 메시지 코드를 기본 메시지로 사용하는 설정(use-code-as-default-message)에서는 사용할 수 없다.
+ */
+public class CachingMessageSource implements MessageSource {
+
+    // 어떤 코드에서도 메시지를 찾지 못한 경우 (기본 메시지 사용)
+    private static final Integer DEFAULT_MESSAGE = -1;
+
+    private final MessageSource delegate;
+    private final BoundedCache<Key, Integer> resolvedCodes;
+    private final long cacheMillis;
+    private volatile long expiresAt;
+
+    /**
+     * @param cacheDuration 메시지 파일을 다시 읽는 주기 (null 이면 캐시를 비우지 않는다)
+     */
+    public CachingMessageSource(MessageSource delegate, int maximumSize, Duration cacheDuration) {
+        this.delegate = delegate;
+        this.resolvedCodes = new BoundedCache<>(maximumSize);
+        this.cacheMillis = cacheDuration == null ? -1 : cacheDuration.toMillis();
+        this.expiresAt = cacheMillis < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + cacheMillis;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        return delegate.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        return delegate.getMessage(code, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes == null || codes.length < 2) {
+            return delegate.getMessage(resolvable, locale);
+        }
+        expireIfNeeded();
+
+        Key key = new Key(codes, locale);
+        int index = resolvedCodes.get(key, k -> findCode(codes, locale));
+        if (index == DEFAULT_MESSAGE) {
+            return delegate.getMessage(resolvable, locale);
+        }
+        try {
+            return delegate.getMessage(codes[index], resolvable.getArguments(), locale);
+        } catch (NoSuchMessageException e) {
+            // 캐시를 비우기 전에 메시지 파일이 바뀐 경우
+            resolvedCodes.remove(key);
+            return delegate.getMessage(resolvable, locale);
+        }
+    }
+
+    public CacheStats getStats() {
+        return resolvedCodes.stats();
+    }
+
+    /**
+     * 캐시를 비운다. ReloadableResourceBundleMessageSource, PrecompiledMessageSource 는 메시지 파일도 다시 읽는다.
+     */
+    public void clearCache() {
+        if (delegate instanceof ReloadableResourceBundleMessageSource) {
+            ((ReloadableResourceBundleMessageSource) delegate).clearCache();
+        } else if (delegate instanceof PrecompiledMessageSource) {
+            ((PrecompiledMessageSource) delegate).reload();
+        }
+        resolvedCodes.clear();
+    }
+
+    private void expireIfNeeded() {
+        long now = System.currentTimeMillis();
+        if (now >= expiresAt) {
+            expiresAt = now + cacheMillis;
+            resolvedCodes.clear();
+        }
+    }
+
+    private Integer findCode(String[] codes, Locale locale) {
+        for (int i = 0; i < codes.length; i++) {
+            // 기본 메시지로 null 을 넘기면 예외 대신 null 을 반환한다.
+            if (delegate.getMessage(codes[i], null, null, locale) != null) {
+                return i;
+            }
+        }
+        return DEFAULT_MESSAGE;
+    }
+
+    private static final class Key {
+
+        private final String[] codes;
+        private final Locale locale;
+        private final int hash;
+
+        Key(String[] codes, Locale locale) {
+            this.codes = codes;
+            this.locale = locale;
+            this.hash = 31 * Arrays.hashCode(codes) + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash
+                    && Objects.equals(locale, key.locale)
+                    && (codes == key.codes || Arrays.equals(codes, key.codes));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
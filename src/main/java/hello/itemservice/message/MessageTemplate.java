@@ -0,0 +1,207 @@
+package hello.itemservice.message;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미리 분석한 메시지 템플릿 (불변, 스레드 안전)
+ * "가격은 {0} ~ {1} 까지 허용합니다." -> literals ["가격은 ", " ~ ", " 까지 허용합니다."], arguments [0, 1]
+ *
+ * 인자 형식은 형식 지정이 없는 MessageFormat 의 {n} 과 같다.
+ * 숫자는 NumberFormat.getInstance(locale), 날짜는 DateFormat SHORT 형식, null 은 "null", 없는 인자는 "{n}" 으로 출력한다.
+ * {0,number,#} 처럼 형식을 지정한 템플릿은 MessageFormat 으로 처리한다.
+ */
+final class MessageTemplate {
+
+    private static final Map<Locale, NumberStyle> NUMBER_STYLES = new ConcurrentHashMap<>();
+
+    private final String message;
+    private final String[] literals;
+    private final int[] arguments;
+    // 직접 처리할 수 없는 템플릿 (형식 지정, 잘못된 형식)
+    private final boolean complex;
+
+    private MessageTemplate(String message, String[] literals, int[] arguments, boolean complex) {
+        this.message = message;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.complex = complex;
+    }
+
+    /**
+     * MessageFormat 과 같은 규칙으로 분석한다. '' 는 ' 로, '...' 안의 문자는 그대로 출력한다.
+     */
+    static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < message.length() && message.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (quoted || c != '{') {
+                literal.append(c);
+            } else {
+                int end = message.indexOf('}', i);
+                int argument = end < 0 ? -1 : argumentIndex(message, i + 1, end);
+                if (argument < 0) {
+                    return new MessageTemplate(message, null, null, true);
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                arguments.add(argument);
+                i = end;
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(message, literals.toArray(new String[0]),
+                arguments.stream().mapToInt(Integer::intValue).toArray(), false);
+    }
+
+    /**
+     * 인자 없이 사용할 때는 MessageFormat 규칙을 적용하지 않은 원본 메시지를 사용한다. (스프링 MessageSource 와 동일)
+     */
+    String getMessage() {
+        return message;
+    }
+
+    /**
+     * buffer 에 이어서 출력한다. MessageSourceResolvable 인자는 호출하는 쪽에서 미리 메시지로 변환해야 한다.
+     */
+    void render(Object[] args, Locale locale, StringBuilder buffer) {
+        if (complex) {
+            buffer.append(new MessageFormat(message, locale).format(args));
+            return;
+        }
+        buffer.append(literals[0]);
+        for (int i = 0; i < arguments.length; i++) {
+            appendArgument(args, arguments[i], locale, buffer);
+            buffer.append(literals[i + 1]);
+        }
+    }
+
+    private static void appendArgument(Object[] args, int index, Locale locale, StringBuilder buffer) {
+        if (args == null || index >= args.length) {
+            buffer.append('{').append(index).append('}');
+            return;
+        }
+        Object arg = args[index];
+        if (arg == null) {
+            buffer.append("null");
+        } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+            numberStyle(locale).append(((Number) arg).longValue(), arg, buffer);
+        } else if (arg instanceof Number) {
+            buffer.append(NumberFormat.getInstance(locale).format(arg));
+        } else if (arg instanceof Date) {
+            buffer.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(arg));
+        } else if (arg instanceof String) {
+            buffer.append((String) arg);
+        } else {
+            buffer.append(arg);
+        }
+    }
+
+    private static int argumentIndex(String message, int from, int to) {
+        if (from == to || to - from > 9) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    private static NumberStyle numberStyle(Locale locale) {
+        NumberStyle style = NUMBER_STYLES.get(locale);
+        if (style == null) {
+            style = NUMBER_STYLES.computeIfAbsent(locale, NumberStyle::new);
+        }
+        return style;
+    }
+
+    /**
+     * 정수 출력 : NumberFormat.getInstance(locale) 과 같은 결과를 문자열을 만들지 않고 buffer 에 출력한다.
+     * 단순한 형식(접두사, 접미사 없음)이 아닌 Locale 은 NumberFormat 을 사용한다.
+     */
+    private static final class NumberStyle {
+
+        private final NumberFormat prototype;
+        private final boolean simple;
+        private final boolean grouping;
+        private final int groupingSize;
+        private final char groupingSeparator;
+        private final char zeroDigit;
+        private final char minusSign;
+
+        NumberStyle(Locale locale) {
+            this.prototype = NumberFormat.getInstance(locale);
+            if (prototype instanceof DecimalFormat) {
+                DecimalFormat format = (DecimalFormat) prototype;
+                DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+                this.grouping = format.isGroupingUsed() && format.getGroupingSize() > 0;
+                this.groupingSize = format.getGroupingSize();
+                this.groupingSeparator = symbols.getGroupingSeparator();
+                this.zeroDigit = symbols.getZeroDigit();
+                this.minusSign = symbols.getMinusSign();
+                this.simple = format.getPositivePrefix().isEmpty() && format.getPositiveSuffix().isEmpty()
+                        && format.getNegativeSuffix().isEmpty()
+                        && format.getNegativePrefix().equals(String.valueOf(minusSign));
+            } else {
+                this.simple = false;
+                this.grouping = false;
+                this.groupingSize = 0;
+                this.groupingSeparator = 0;
+                this.zeroDigit = '0';
+                this.minusSign = '-';
+            }
+        }
+
+        void append(long value, Object arg, StringBuilder buffer) {
+            if (!simple) {
+                buffer.append(((NumberFormat) prototype.clone()).format(arg));
+                return;
+            }
+            int start = buffer.length();
+            // 음수로 계산하면 Long.MIN_VALUE 도 처리할 수 있다.
+            long remaining = value < 0 ? value : -value;
+            int digits = 0;
+            do {
+                if (grouping && digits > 0 && digits % groupingSize == 0) {
+                    buffer.append(groupingSeparator);
+                }
+                buffer.append((char) (zeroDigit - (remaining % 10)));
+                remaining /= 10;
+                digits++;
+            } while (remaining != 0);
+            if (value < 0) {
+                buffer.append(minusSign);
+            }
+            for (int i = start, j = buffer.length() - 1; i < j; i++, j--) {
+                char c = buffer.charAt(i);
+                buffer.setCharAt(i, buffer.charAt(j));
+                buffer.setCharAt(j, c);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package hello.itemservice.message;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 조회 시간 기록 (item.message.resolution)
+ * 메시지 소스는 MeterRegistry 보다 먼저 만들어지므로(AbstractApplicationContext.initMessageSource)
+ * 나중에 bindTo() 로 등록하고, 그 전에는 기록하지 않는다.
+ */
+public class MeteredMessageSource implements MessageSource {
+
+    private final MessageSource delegate;
+    private volatile Timer timer;
+
+    public MeteredMessageSource(MessageSource delegate) {
+        this.delegate = delegate;
+    }
+
+    public MessageSource getDelegate() {
+        return delegate;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        this.timer = Timer.builder("item.message.resolution")
+                .description("message resolution time")
+                .register(registry);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getMessage(code, args, defaultMessage, locale);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getMessage(code, args, locale);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getMessage(resolvable, locale);
+        } finally {
+            record(start);
+        }
+    }
+
+    private void record(long start) {
+        Timer timer = this.timer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,305 @@
+package hello.itemservice.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메시지를 미리 분석해두는 MessageSource
+ * ResourceBundleMessageSource 는 인자가 있는 메시지를 사용할 때마다 MessageFormat 으로 처리하고,
+ * MessageFormat 은 스레드 안전하지 않아서 같은 메시지를 동시에 사용하면 동기화로 기다린다.
+ * 여기서는 메시지 파일을 읽을 때 모든 메시지를 MessageTemplate 으로 분석하고, 스레드별 버퍼에 출력한다.
+ *
+ * 메시지 파일을 찾는 순서는 ResourceBundleMessageSource 와 같다.
+ * basename 순서대로, 요청 Locale 의 후보(ko_KR -> ko -> 기본 파일)에서 찾고,
+ * 요청 Locale 의 파일이 하나도 없으면 시스템 Locale 의 파일을 사용한다. (fallbackToSystemLocale)
+ * 시작할 때 시스템 Locale 과 preloadLocales 의 메시지 파일을 읽고, 그 외 Locale 은 처음 사용할 때 한 번 읽는다.
+ * 메시지 파일을 다시 읽으려면 reload() 를 호출한다.
+ */
+@Slf4j
+public class PrecompiledMessageSource implements MessageSource {
+
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+    private static final Map<String, MessageTemplate> MISSING = Collections.emptyMap();
+    private static final int MAX_BUFFER_CAPACITY = 4096;
+
+    private final String[] basenames;
+    private final Charset encoding;
+    private final boolean fallbackToSystemLocale;
+    private final boolean alwaysUseMessageFormat;
+    private final List<Locale> preloadLocales;
+    private final ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+    private volatile Catalog catalog;
+
+    public PrecompiledMessageSource(String[] basenames, Charset encoding, boolean fallbackToSystemLocale,
+                                    boolean alwaysUseMessageFormat, List<Locale> preloadLocales) {
+        this.basenames = basenames.clone();
+        this.encoding = encoding;
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+        this.alwaysUseMessageFormat = alwaysUseMessageFormat;
+        this.preloadLocales = new ArrayList<>(preloadLocales);
+        reload();
+    }
+
+    /**
+     * 메시지 파일을 다시 읽는다. 읽는 동안에는 이전 메시지를 그대로 사용한다.
+     */
+    public void reload() {
+        Catalog catalog = new Catalog(Locale.getDefault());
+        catalog.templates(Locale.getDefault());
+        for (Locale locale : preloadLocales) {
+            catalog.templates(locale);
+        }
+        this.catalog = catalog;
+        log.info("messages precompiled. basenames={}, bundles={}", String.join(",", basenames), catalog.bundleCount());
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        String message = resolve(code, args, locale);
+        if (message != null || defaultMessage == null) {
+            return message;
+        }
+        return renderDefaultMessage(defaultMessage, args, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        String message = resolve(code, args, locale);
+        if (message == null) {
+            throw new NoSuchMessageException(code, locale);
+        }
+        return message;
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (String code : codes) {
+                String message = resolve(code, resolvable.getArguments(), locale);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+        // AbstractMessageSource.getDefaultMessage(MessageSourceResolvable, Locale) 와 동일
+        String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage != null) {
+            if (resolvable instanceof DefaultMessageSourceResolvable
+                    && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage()) {
+                return defaultMessage;
+            }
+            if (codes != null && codes.length > 0 && defaultMessage.equals(codes[0])) {
+                return defaultMessage;
+            }
+            return renderDefaultMessage(defaultMessage, resolvable.getArguments(), locale);
+        }
+        throw new NoSuchMessageException(codes != null && codes.length > 0 ? codes[codes.length - 1] : "", locale);
+    }
+
+    private String resolve(String code, Object[] args, Locale locale) {
+        if (code == null) {
+            return null;
+        }
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        MessageTemplate template = find(code, locale);
+        if (template == null) {
+            return null;
+        }
+        if (!alwaysUseMessageFormat && (args == null || args.length == 0)) {
+            return template.getMessage();
+        }
+        return render(template, resolveArguments(args, locale), locale);
+    }
+
+    private MessageTemplate find(String code, Locale locale) {
+        Catalog catalog = this.catalog;
+        if (!catalog.systemLocale.equals(Locale.getDefault())) {
+            // 시스템 Locale 이 바뀌면 fallback 파일이 달라진다.
+            catalog = new Catalog(Locale.getDefault());
+            this.catalog = catalog;
+        }
+        for (Map<String, MessageTemplate> bundle : catalog.templates(locale)) {
+            MessageTemplate template = bundle.get(code);
+            if (template != null) {
+                return template;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * MessageSourceSupport.renderDefaultMessage 와 동일 : 인자가 없으면 그대로, 형식이 잘못되었으면 그대로 반환한다.
+     */
+    private String renderDefaultMessage(String defaultMessage, Object[] args, Locale locale) {
+        if (!alwaysUseMessageFormat && (args == null || args.length == 0)) {
+            return defaultMessage;
+        }
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        try {
+            return render(MessageTemplate.compile(defaultMessage), resolveArguments(args, locale), locale);
+        } catch (IllegalArgumentException e) {
+            return defaultMessage;
+        }
+    }
+
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        if (args == null) {
+            return new Object[0];
+        }
+        Object[] resolved = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage((MessageSourceResolvable) args[i], locale);
+            }
+        }
+        return resolved;
+    }
+
+    private String render(MessageTemplate template, Object[] args, Locale locale) {
+        Buffer buffer = buffers.get();
+        if (buffer.inUse) {
+            // 인자의 toString() 에서 다시 메시지를 출력하는 경우
+            StringBuilder builder = new StringBuilder();
+            template.render(args, locale, builder);
+            return builder.toString();
+        }
+        buffer.inUse = true;
+        try {
+            StringBuilder builder = buffer.builder;
+            builder.setLength(0);
+            template.render(args, locale, builder);
+            String message = builder.toString();
+            if (builder.capacity() > MAX_BUFFER_CAPACITY) {
+                buffer.builder = new StringBuilder(256);
+            }
+            return message;
+        } finally {
+            buffer.inUse = false;
+        }
+    }
+
+    private static final class Buffer {
+        StringBuilder builder = new StringBuilder(256);
+        boolean inUse;
+    }
+
+    /**
+     * 분석한 메시지 파일과 Locale 별 검색 순서
+     */
+    private final class Catalog {
+
+        private final Locale systemLocale;
+        // 번들 이름(messages_en) -> 메시지, 파일이 없으면 MISSING
+        private final Map<String, Map<String, MessageTemplate>> bundles = new ConcurrentHashMap<>();
+        private final Map<Locale, List<Map<String, MessageTemplate>>> searchOrders = new ConcurrentHashMap<>();
+
+        Catalog(Locale systemLocale) {
+            this.systemLocale = systemLocale;
+        }
+
+        List<Map<String, MessageTemplate>> templates(Locale locale) {
+            List<Map<String, MessageTemplate>> searchOrder = searchOrders.get(locale);
+            if (searchOrder == null) {
+                searchOrder = searchOrders.computeIfAbsent(locale, this::searchOrder);
+            }
+            return searchOrder;
+        }
+
+        int bundleCount() {
+            return (int) bundles.values().stream().filter(bundle -> bundle != MISSING).count();
+        }
+
+        private List<Map<String, MessageTemplate>> searchOrder(Locale locale) {
+            List<Map<String, MessageTemplate>> searchOrder = new ArrayList<>();
+            for (String basename : basenames) {
+                List<Map<String, MessageTemplate>> found = candidates(basename, locale);
+                if (found.isEmpty() && fallbackToSystemLocale && !locale.equals(systemLocale)) {
+                    found = candidates(basename, systemLocale);
+                }
+                searchOrder.addAll(found);
+                Map<String, MessageTemplate> base = bundle(basename);
+                if (base != MISSING) {
+                    searchOrder.add(base);
+                }
+            }
+            return Collections.unmodifiableList(searchOrder);
+        }
+
+        /**
+         * Locale 후보 중 파일이 있는 번들 (기본 파일 제외)
+         */
+        private List<Map<String, MessageTemplate>> candidates(String basename, Locale locale) {
+            List<Map<String, MessageTemplate>> found = new ArrayList<>();
+            for (Locale candidate : CONTROL.getCandidateLocales(basename, locale)) {
+                if (candidate.equals(Locale.ROOT)) {
+                    continue;
+                }
+                Map<String, MessageTemplate> bundle = bundle(CONTROL.toBundleName(basename, candidate));
+                if (bundle != MISSING) {
+                    found.add(bundle);
+                }
+            }
+            return found;
+        }
+
+        private Map<String, MessageTemplate> bundle(String bundleName) {
+            return bundles.computeIfAbsent(bundleName, this::load);
+        }
+
+        private Map<String, MessageTemplate> load(String bundleName) {
+            String resourceName = CONTROL.toResourceName(bundleName, "properties");
+            URL url = classLoader.getResource(resourceName);
+            if (url == null) {
+                return MISSING;
+            }
+            Properties properties = new Properties();
+            try {
+                URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                try (InputStream in = connection.getInputStream(); Reader reader = new InputStreamReader(in, encoding)) {
+                    properties.load(reader);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("메시지 파일을 읽을 수 없습니다. resource=" + resourceName, e);
+            }
+            Map<String, MessageTemplate> templates = new HashMap<>(properties.size() * 2);
+            for (String key : properties.stringPropertyNames()) {
+                templates.put(key, MessageTemplate.compile(properties.getProperty(key)));
+            }
+            return Collections.unmodifiableMap(templates);
+        }
+    }
+
+}
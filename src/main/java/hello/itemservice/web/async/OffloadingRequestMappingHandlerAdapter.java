@@ -0,0 +1,81 @@
+package hello.itemservice.web.async;
+
+import hello.itemservice.web.validation.LazyBindingRequestMappingHandlerAdapter;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
+
+/**
+ * 컨트롤러 메서드를 컨테이너(Tomcat) 스레드가 아닌 비동기 실행기에서 호출한다.
+ *
+ * 요청 바인딩, 검증(@Validated) 까지는 컨테이너 스레드에서 처리하고, 메서드 호출만 Callable 로 감싸서 반환한다.
+ * 반환된 Callable 은 스프링 MVC 비동기 처리(CallableMethodReturnValueHandler) 로 실행기에서 호출되고,
+ * 결과는 다시 디스패치되어 원래 반환 타입(뷰 이름, @ResponseBody 등) 그대로 처리된다.
+ * 따라서 컨트롤러 코드는 바꾸지 않아도 되고, 저장소에서 대기하는 동안 컨테이너 스레드를 점유하지 않는다.
+ *
+ * handlerTypes 에 해당하는 컨트롤러만 적용하고, 이미 비동기 타입을 반환하는 메서드는 그대로 둔다.
+ * 바인딩 결과는 LazyBindingRequestMappingHandlerAdapter 와 같다. (LazyBindingResult)
+ */
+public class OffloadingRequestMappingHandlerAdapter extends LazyBindingRequestMappingHandlerAdapter {
+
+    private final Predicate<Class<?>> handlerTypes;
+
+    public OffloadingRequestMappingHandlerAdapter(Predicate<Class<?>> handlerTypes) {
+        this.handlerTypes = handlerTypes;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (!handlerTypes.test(handlerMethod.getBeanType()) || isAsyncReturnType(handlerMethod)) {
+            return super.createInvocableHandlerMethod(handlerMethod);
+        }
+        return new OffloadingInvocableHandlerMethod(handlerMethod);
+    }
+
+    private static boolean isAsyncReturnType(HandlerMethod handlerMethod) {
+        Class<?> returnType = handlerMethod.getReturnType().getParameterType();
+        return Callable.class.isAssignableFrom(returnType)
+                || WebAsyncTask.class.isAssignableFrom(returnType)
+                || DeferredResult.class.isAssignableFrom(returnType)
+                || CompletionStage.class.isAssignableFrom(returnType)
+                || ListenableFuture.class.isAssignableFrom(returnType);
+    }
+
+    private static class OffloadingInvocableHandlerMethod extends ServletInvocableHandlerMethod {
+
+        OffloadingInvocableHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        /**
+         * 실행기 스레드에서도 RequestContextHolder, LocaleContextHolder 를 사용할 수 있도록 옮겨서 호출한다.
+         */
+        @Override
+        protected Object doInvoke(Object... args) {
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+            Callable<Object> callable = () -> {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    return super.doInvoke(args);
+                } finally {
+                    LocaleContextHolder.resetLocaleContext();
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+            return callable;
+        }
+    }
+
+}
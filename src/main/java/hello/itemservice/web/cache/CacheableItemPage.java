@@ -0,0 +1,16 @@
+package hello.itemservice.web.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 상품 상세, 목록 화면 GET 핸들러 : ETag, Last-Modified 로 변경이 없으면 304 응답 (ItemPageCacheInterceptor)
+ * 경로 변수 itemId 가 있으면 상품 하나, 없으면 전체 목록(카탈로그) 변경 여부로 판단한다.
+ * 화면은 URL(쿼리 포함), Locale, 판단 대상 상품(목록) 으로만 결정되어야 한다.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheableItemPage {
+}
@@ -0,0 +1,64 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.message.BoundedCache;
+import hello.itemservice.message.CacheStats;
+import lombok.Value;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 렌더링된 상품 화면 캐시 : 화면(URL, 쿼리, Locale) 별로 마지막 렌더링 결과와 그 때의 ETag 를 보관한다.
+ * 상품을 저장, 수정하면 ETag 가 바뀌므로 이전 결과는 사용하지 않고 다음 렌더링 결과로 교체된다.
+ * 보관하는 화면 수는 maximumSize 로 제한한다. (BoundedCache, 먼저 들어온 화면부터 제거)
+ */
+public class ItemPageCache {
+
+    private final BoundedCache<String, CachedPage> pages;
+
+    public ItemPageCache(int maximumSize) {
+        this.pages = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * etag 로 렌더링한 결과가 있으면 응답에 쓰고 true 를 반환한다.
+     */
+    public boolean write(String key, String etag, HttpServletResponse response) throws IOException {
+        CachedPage page = pages.getIfPresent(key);
+        if (page == null) {
+            return false;
+        }
+        if (!page.getEtag().equals(etag)) {
+            pages.remove(key);
+            return false;
+        }
+        if (page.getContentType() != null) {
+            response.setContentType(page.getContentType());
+        }
+        response.setContentLength(page.getBody().length);
+        response.getOutputStream().write(page.getBody());
+        return true;
+    }
+
+    public void put(String key, String etag, byte[] body, String contentType) {
+        CachedPage page = new CachedPage(etag, body, contentType);
+        // 이전 ETag 로 렌더링한 결과가 남아 있으면 교체
+        CachedPage previous = pages.putIfAbsent(key, page);
+        if (previous != null && !previous.getEtag().equals(etag)) {
+            pages.remove(key);
+            pages.putIfAbsent(key, page);
+        }
+    }
+
+    public CacheStats getStats() {
+        return pages.stats();
+    }
+
+    @Value
+    static class CachedPage {
+        String etag;
+        byte[] body;
+        String contentType;
+    }
+
+}
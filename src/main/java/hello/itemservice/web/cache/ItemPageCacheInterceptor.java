@@ -0,0 +1,99 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * @CacheableItemPage 핸들러의 조건부 요청 처리
+ *
+ * 1. 상품(itemId) 또는 전체 목록의 ETag, Last-Modified 를 응답 헤더에 넣고,
+ *    요청의 If-None-Match, If-Modified-Since 와 같으면 핸들러를 호출하지 않고 304 응답 (ServletWebRequest.checkNotModified)
+ * 2. 변경이 없어도 조건부 요청이 아니면 ItemPageCache 에 렌더링 결과가 있는지 확인해서 그대로 응답
+ * 3. 없으면 핸들러를 호출하고, 렌더링 결과는 ItemPageCachingViewResolver 가 보관한다.
+ *
+ * ETag 는 화면 언어마다 다르므로 Locale 을 붙이고 Vary: Accept-Language 를 응답한다.
+ * ETag 는 핸들러가 상품을 조회하기 전에 계산하므로, 그 사이 수정되면 다음 요청에서 한번 더 렌더링될 뿐 오래된 화면을 응답하지는 않는다.
+ */
+public class ItemPageCacheInterceptor implements HandlerInterceptor {
+
+    static final String PAGE_KEY_ATTRIBUTE = ItemPageCacheInterceptor.class.getName() + ".PAGE_KEY";
+    static final String ETAG_ATTRIBUTE = ItemPageCacheInterceptor.class.getName() + ".ETAG";
+
+    private final ItemRepository itemRepository;
+    private final ItemPageCache pageCache;
+
+    /**
+     * @param pageCache null 이면 렌더링 결과는 보관하지 않고 304 응답만 처리한다.
+     */
+    public ItemPageCacheInterceptor(ItemRepository itemRepository, ItemPageCache pageCache) {
+        this.itemRepository = itemRepository;
+        this.pageCache = pageCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // 비동기 실행 모드의 재디스패치(ASYNC) 는 처음 요청에서 이미 확인했다.
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod)
+                || !((HandlerMethod) handler).hasMethodAnnotation(CacheableItemPage.class)) {
+            return true;
+        }
+
+        String tag;
+        long lastModified;
+        @SuppressWarnings("unchecked")
+        Map<String, String> uriVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String itemId = uriVariables == null ? null : uriVariables.get("itemId");
+        if (itemId != null) {
+            Item item = findItem(itemId);
+            if (item == null) {
+                return true;
+            }
+            tag = itemRepository.itemTag(item);
+            lastModified = itemRepository.itemLastModified(item.getId());
+        } else {
+            tag = itemRepository.catalogTag();
+            lastModified = itemRepository.catalogLastModified();
+        }
+
+        String language = RequestContextUtils.getLocale(request).toLanguageTag();
+        String etag = "\"" + tag + "-" + language + "\"";
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return false;
+        }
+        if (pageCache == null) {
+            return true;
+        }
+
+        String query = request.getQueryString();
+        String key = request.getRequestURI() + (query == null ? "" : "?" + query) + " " + language;
+        if (pageCache.write(key, etag, response)) {
+            return false;
+        }
+        request.setAttribute(PAGE_KEY_ATTRIBUTE, key);
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    private Item findItem(String itemId) {
+        try {
+            return itemRepository.findById(Long.valueOf(itemId));
+        } catch (NumberFormatException e) {
+            // 핸들러에서 타입 변환 오류로 처리된다.
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package hello.itemservice.web.cache;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 뷰 렌더링 결과를 ItemPageCache 에 보관하도록 ViewResolver 를 감싼다. (ItemCacheConfig 에서 Thymeleaf ViewResolver 를 감싼다)
+ * ItemPageCacheInterceptor 가 캐시 대상으로 표시한 요청만 보관하고, 그 외 요청은 그대로 렌더링한다.
+ */
+public class ItemPageCachingViewResolver implements ViewResolver, Ordered {
+
+    private final ViewResolver delegate;
+    private final ItemPageCache pageCache;
+
+    public ItemPageCachingViewResolver(ViewResolver delegate, ItemPageCache pageCache) {
+        this.delegate = delegate;
+        this.pageCache = pageCache;
+    }
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) throws Exception {
+        View view = delegate.resolveViewName(viewName, locale);
+        return view == null ? null : new CachingView(view);
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate instanceof Ordered ? ((Ordered) delegate).getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+
+    public ViewResolver getDelegate() {
+        return delegate;
+    }
+
+    private class CachingView implements View {
+
+        private final View view;
+
+        CachingView(View view) {
+            this.view = view;
+        }
+
+        @Override
+        public String getContentType() {
+            return view.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            String key = (String) request.getAttribute(ItemPageCacheInterceptor.PAGE_KEY_ATTRIBUTE);
+            if (key == null) {
+                view.render(model, request, response);
+                return;
+            }
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            view.render(model, request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                String etag = (String) request.getAttribute(ItemPageCacheInterceptor.ETAG_ATTRIBUTE);
+                pageCache.put(key, etag, wrapper.getContentAsByteArray(), wrapper.getContentType());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+}
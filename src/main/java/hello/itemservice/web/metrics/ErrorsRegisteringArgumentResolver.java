@@ -0,0 +1,40 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.Errors;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * BindingResult(Errors) 파라미터 처리 (ErrorsMethodArgumentResolver) 를 감싸서,
+ * 컨트롤러가 받은 BindingResult 를 ItemMetricsInterceptor 에 등록한다.
+ */
+public class ErrorsRegisteringArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final HandlerMethodArgumentResolver delegate;
+
+    public ErrorsRegisteringArgumentResolver(HandlerMethodArgumentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        Object errors = delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (errors instanceof Errors && request != null) {
+            ItemMetricsInterceptor.registerErrors(request, (Errors) errors);
+        }
+        return errors;
+    }
+
+}
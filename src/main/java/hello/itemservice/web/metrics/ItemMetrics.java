@@ -0,0 +1,177 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.validation.LazyBindingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 컨트롤러 요청 단계별 지표 (Micrometer)
+ *
+ * item.binding{controller, source}       : 요청 파라미터 바인딩(modelAttribute), 요청 본문 변환(requestBody) 시간
+ * item.validation{controller, validator} : 검증기별 실행 시간 (beanValidation, ItemValidator ...)
+ * item.render{controller}                : 뷰(Thymeleaf) 렌더링 시간
+ * item.validation.errors{controller, code} : 오류 코드별 검증 오류 수 (required, range, max, totalPriceMin, concurrentModification, typeMismatch, other)
+ * (저장소 : item.repository, 메시지 : item.message.resolution 은 MeteredItemStore, MeteredMessageSource 에서 기록)
+ *
+ * 요청마다 Meter 를 찾지 않도록 컨트롤러별로 만들어둔 Meter 를 재사용한다. (컨트롤러 수만큼만 만들어진다)
+ */
+@Component
+public class ItemMetrics {
+
+    public static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, ControllerMeters> meters = new ConcurrentHashMap<>();
+    private final ControllerMeters noController;
+
+    public ItemMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.noController = new ControllerMeters(NONE);
+    }
+
+    public void recordBinding(Class<?> controller, String source, long nanos) {
+        ControllerMeters controllerMeters = meters(controller);
+        Timer timer = "requestBody".equals(source) ? controllerMeters.requestBodyBinding : controllerMeters.modelAttributeBinding;
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordValidation(Class<?> controller, String validator, long nanos) {
+        meters(controller).validation(validator).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRender(Class<?> controller, long nanos) {
+        meters(controller).render.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countErrors(Class<?> controller, Errors errors) {
+        if (!errors.hasErrors()) {
+            return;
+        }
+        ControllerMeters controllerMeters = meters(controller);
+        if (errors instanceof LazyBindingResult) {
+            // 오류 코드만 필요하므로 아직 만들지 않은 오류(FieldError, 메시지 코드) 는 만들지 않는다.
+            ((LazyBindingResult) errors).forEachErrorCode(code -> controllerMeters.errors(errorCode(code)).increment());
+            return;
+        }
+        for (ObjectError error : errors.getAllErrors()) {
+            controllerMeters.errors(errorCode(error.getCode())).increment();
+        }
+    }
+
+    public void countError(Class<?> controller, String code) {
+        meters(controller).errors(errorCode(code)).increment();
+    }
+
+    /**
+     * 오류 코드 분류 : 직접 만든 코드(required, range, max) 와 Bean Validation 코드(NotBlank, Range, Max) 를 같이 센다.
+     * 태그 값이 늘어나지 않도록 그 외의 코드는 other 로 센다.
+     */
+    static String errorCode(String code) {
+        if (code == null) {
+            return "other";
+        }
+        switch (code) {
+            case "required":
+            case "NotBlank":
+            case "NotNull":
+            case "NotEmpty":
+                return "required";
+            case "range":
+            case "Range":
+                return "range";
+            case "max":
+            case "Max":
+                return "max";
+            case "totalPriceMin":
+                return "totalPriceMin";
+            case "concurrentModification":
+                return "concurrentModification";
+            case "typeMismatch":
+                return "typeMismatch";
+            default:
+                return "other";
+        }
+    }
+
+    /**
+     * 현재 요청을 처리하는 컨트롤러 (요청 밖이면 null)
+     * 비동기 실행 모드에서는 컨테이너 스레드의 요청 처리가 끝난 뒤에도 호출되므로
+     * RequestAttributes 가 아니라 요청 객체에서 직접 읽는다.
+     */
+    public static Class<?> currentController() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        Object handler = ((ServletRequestAttributes) attributes).getRequest()
+                .getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod ? ((HandlerMethod) handler).getBeanType() : null;
+    }
+
+    private ControllerMeters meters(Class<?> controller) {
+        if (controller == null) {
+            return noController;
+        }
+        ControllerMeters controllerMeters = meters.get(controller);
+        return controllerMeters != null ? controllerMeters
+                : meters.computeIfAbsent(controller, type -> new ControllerMeters(type.getSimpleName()));
+    }
+
+    private class ControllerMeters {
+
+        private final String controller;
+        private final Timer modelAttributeBinding;
+        private final Timer requestBodyBinding;
+        private final Timer render;
+        private final Map<String, Timer> validations = new ConcurrentHashMap<>();
+        private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+        ControllerMeters(String controller) {
+            this.controller = controller;
+            this.modelAttributeBinding = bindingTimer("modelAttribute");
+            this.requestBodyBinding = bindingTimer("requestBody");
+            this.render = Timer.builder("item.render")
+                    .description("view rendering time")
+                    .tag("controller", controller)
+                    .register(registry);
+        }
+
+        Timer validation(String validator) {
+            return validations.computeIfAbsent(validator, name -> Timer.builder("item.validation")
+                    .description("validator execution time")
+                    .tag("controller", controller)
+                    .tag("validator", name)
+                    .register(registry));
+        }
+
+        Counter errors(String code) {
+            return errors.computeIfAbsent(code, name -> Counter.builder("item.validation.errors")
+                    .description("validation errors by code")
+                    .tag("controller", controller)
+                    .tag("code", name)
+                    .register(registry));
+        }
+
+        private Timer bindingTimer(String source) {
+            return Timer.builder("item.binding")
+                    .description("request binding time")
+                    .tag("controller", controller)
+                    .tag("source", source)
+                    .register(registry);
+        }
+    }
+
+}
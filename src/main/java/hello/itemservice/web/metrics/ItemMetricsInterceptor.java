@@ -0,0 +1,95 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.Errors;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 뷰 렌더링 시간(item.render) 과 요청의 검증 오류 수(item.validation.errors) 기록
+ *
+ * 렌더링 : 컨트롤러 호출 후(postHandle) 부터 응답 완료(afterCompletion) 까지
+ * 검증 오류 : 컨트롤러가 받은 BindingResult (ErrorsArgumentResolver 에서 등록) 를 응답 완료 시점에 센다.
+ * 컨트롤러에서 추가한 오류(rejectValue, reject) 까지 포함된다.
+ * handlerTypes 에 해당하는 컨트롤러 요청만 기록한다.
+ */
+public class ItemMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String RENDER_START_ATTRIBUTE = ItemMetricsInterceptor.class.getName() + ".RENDER_START";
+    private static final String ERRORS_ATTRIBUTE = ItemMetricsInterceptor.class.getName() + ".ERRORS";
+
+    // V1 은 BindingResult 대신 Map<String, String> errors (필드 -> 메시지) 를 사용하므로 필드로 오류 코드를 구분한다.
+    private static final Map<String, String> V1_ERROR_CODES = Map.of(
+            "itemName", "required", "price", "range", "quantity", "max", "globalError", "totalPriceMin");
+
+    private final ItemMetrics itemMetrics;
+    private final Predicate<Class<?>> handlerTypes;
+
+    public ItemMetricsInterceptor(ItemMetrics itemMetrics, Predicate<Class<?>> handlerTypes) {
+        this.itemMetrics = itemMetrics;
+        this.handlerTypes = handlerTypes;
+    }
+
+    /**
+     * 응답 완료 시점에 오류를 셀 BindingResult 등록
+     */
+    @SuppressWarnings("unchecked")
+    static void registerErrors(HttpServletRequest request, Errors errors) {
+        List<Errors> registered = (List<Errors>) request.getAttribute(ERRORS_ATTRIBUTE);
+        if (registered == null) {
+            registered = new ArrayList<>(1);
+            request.setAttribute(ERRORS_ATTRIBUTE, registered);
+        }
+        registered.add(errors);
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        Class<?> controller = controller(handler);
+        if (controller == null || modelAndView == null || modelAndView.wasCleared()) {
+            return;
+        }
+        Object v1Errors = modelAndView.getModel().get("errors");
+        if (v1Errors instanceof Map) {
+            for (Object field : ((Map<?, ?>) v1Errors).keySet()) {
+                itemMetrics.countError(controller, V1_ERROR_CODES.get(field));
+            }
+        }
+        request.setAttribute(RENDER_START_ATTRIBUTE, System.nanoTime());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Class<?> controller = controller(handler);
+        if (controller == null) {
+            return;
+        }
+        Object renderStart = request.getAttribute(RENDER_START_ATTRIBUTE);
+        if (renderStart != null) {
+            itemMetrics.recordRender(controller, System.nanoTime() - (Long) renderStart);
+        }
+        List<Errors> registered = (List<Errors>) request.getAttribute(ERRORS_ATTRIBUTE);
+        if (registered != null) {
+            for (Errors errors : registered) {
+                itemMetrics.countErrors(controller, errors);
+            }
+        }
+    }
+
+    private Class<?> controller(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        Class<?> controller = ((HandlerMethod) handler).getBeanType();
+        return handlerTypes.test(controller) ? controller : null;
+    }
+
+}
@@ -0,0 +1,52 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * @RequestBody 변환 시간 기록 (item.binding, source=requestBody)
+ * HttpMessageConverter 가 요청 본문을 읽기 전(beforeBodyRead) 부터 객체를 만든 후(afterBodyRead) 까지
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class MeteredRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String START_ATTRIBUTE = MeteredRequestBodyAdvice.class.getName() + ".START";
+
+    private final ItemMetrics itemMetrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(START_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        Object start = attributes.getAttribute(START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (start != null) {
+            attributes.removeAttribute(START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            itemMetrics.recordBinding(parameter.getContainingClass(), "requestBody", System.nanoTime() - (Long) start);
+        }
+        return body;
+    }
+
+}
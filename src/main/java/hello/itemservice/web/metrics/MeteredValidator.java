@@ -0,0 +1,64 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+
+/**
+ * 검증기 실행 시간 기록 (item.validation)
+ * 글로벌 검증기(Bean Validation) 는 WebConfig 에서, 컨트롤러에 등록한 검증기(ItemValidator 등) 는 ValidatorRegistry 에서 감싼다.
+ */
+public class MeteredValidator implements SmartValidator {
+
+    private final Validator delegate;
+    private final String name;
+    private final ItemMetrics itemMetrics;
+
+    public MeteredValidator(Validator delegate, String name, ItemMetrics itemMetrics) {
+        this.delegate = delegate;
+        this.name = name;
+        this.itemMetrics = itemMetrics;
+    }
+
+    public Validator getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            itemMetrics.recordValidation(ItemMetrics.currentController(), name, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (!(delegate instanceof SmartValidator)) {
+            validate(target, errors);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ((SmartValidator) delegate).validate(target, errors, validationHints);
+        } finally {
+            itemMetrics.recordValidation(ItemMetrics.currentController(), name, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors, Object... validationHints) {
+        if (!(delegate instanceof SmartValidator)) {
+            throw new IllegalArgumentException("Cannot validate individual value for " + targetType);
+        }
+        ((SmartValidator) delegate).validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+}
@@ -0,0 +1,73 @@
+package hello.itemservice.web.stream;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 템플릿(th:each) 에서 순회하면서 chunkSize 개마다 응답을 내보내는 Iterable
+ *
+ * th:each 는 Iterable 을 목록으로 복사하지 않고 순회하므로, 저장소를 나누어 읽는 Iterator (ItemRepository.stream()) 와 함께 쓰면
+ * 전체 목록, 전체 HTML 을 메모리에 만들지 않는다. 순회를 시작할 때(표 앞부분) 와 chunkSize 개마다 flush 하므로
+ * 첫 바이트까지의 시간, 힙 사용량이 상품 수와 관계없이 일정하다.
+ * 한번만 순회할 수 있다.
+ */
+public class ChunkedFlushingIterable<T> implements Iterable<T> {
+
+    private final Iterator<T> iterator;
+    private final Flushable output;
+    private final int chunkSize;
+    private boolean iterated;
+
+    /**
+     * @param output    응답 (HttpServletResponse::flushBuffer)
+     * @param chunkSize flush 사이의 항목 수 (최소 1)
+     */
+    public ChunkedFlushingIterable(Iterator<T> iterator, Flushable output, int chunkSize) {
+        this.iterator = iterator;
+        this.output = output;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("한번만 순회할 수 있습니다.");
+        }
+        iterated = true;
+        flush();
+        return new Iterator<>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                // 이전 항목까지 chunkSize 개가 쌓였으면 다음 항목을 쓰기 전에 내보낸다.
+                if (count > 0 && count % chunkSize == 0) {
+                    flush();
+                }
+                count++;
+                return iterator.next();
+            }
+        };
+    }
+
+    private void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 등 : 렌더링을 중단한다.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
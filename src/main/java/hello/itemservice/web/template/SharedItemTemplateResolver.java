@@ -0,0 +1,46 @@
+package hello.itemservice.web.template;
+
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.util.Map;
+
+/**
+ * 미리 반영한 공유 템플릿(validation/shared/{name}@{version}@{language}) 을 찾는 Thymeleaf 템플릿 리졸버
+ * 그 외 이름은 null 을 반환해서 다음 리졸버(classpath:/templates/) 가 처리한다.
+ * 템플릿 내용은 바뀌지 않으므로 Thymeleaf 템플릿 캐시에서 계속 사용한다. (파싱은 템플릿마다 한번)
+ */
+public class SharedItemTemplateResolver implements ITemplateResolver {
+
+    private final SharedItemTemplates templates;
+
+    public SharedItemTemplateResolver(SharedItemTemplates templates) {
+        this.templates = templates;
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public Integer getOrder() {
+        // 기본 템플릿 리졸버는 이름이 맞지 않아도 null 을 반환하지 않으므로 먼저 확인한다.
+        return 0;
+    }
+
+    @Override
+    public TemplateResolution resolveTemplate(IEngineConfiguration configuration, String ownerTemplate, String template,
+                                              Map<String, Object> templateResolutionAttributes) {
+        String text = templates.template(template);
+        if (text == null) {
+            return null;
+        }
+        return new TemplateResolution(new StringTemplateResource(text), TemplateMode.HTML, AlwaysValidCacheEntryValidity.INSTANCE);
+    }
+
+}
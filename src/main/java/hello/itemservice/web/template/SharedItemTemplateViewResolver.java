@@ -0,0 +1,34 @@
+package hello.itemservice.web.template;
+
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 화면 뷰 이름(validation/v1/items ...) 을 요청 Locale 의 공유 템플릿 이름으로 바꿔서 렌더링한다.
+ * 뷰는 (뷰 이름, Locale) 별로 캐시되므로 이름을 바꾸는 비용은 처음 한번뿐이다.
+ * 그 외 뷰 이름은 ThymeleafViewResolver 와 같다.
+ */
+public class SharedItemTemplateViewResolver extends ThymeleafViewResolver {
+
+    private static final Pattern ITEM_VIEW = Pattern.compile("validation/(v[1-4])/(items|item|addForm|editForm)");
+
+    private final SharedItemTemplates templates;
+
+    public SharedItemTemplateViewResolver(SharedItemTemplates templates) {
+        this.templates = templates;
+    }
+
+    @Override
+    protected View loadView(String viewName, Locale locale) throws Exception {
+        Matcher matcher = ITEM_VIEW.matcher(viewName);
+        if (!matcher.matches()) {
+            return super.loadView(viewName, locale);
+        }
+        return super.loadView(templates.templateName(matcher.group(2), matcher.group(1), locale), locale);
+    }
+
+}
@@ -0,0 +1,191 @@
+package hello.itemservice.web.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * v1~v4 가 함께 사용하는 상품 화면 템플릿 (templates/validation/shared)
+ *
+ * 공유 템플릿에서 요청마다 같은 결과가 나오는 부분을 Locale, 버전별로 미리 반영한 템플릿을 만든다.
+ * - 메시지 : th:text="#{...}" 는 태그 내용으로, th:placeholder="#{...}" 같은 속성은 일반 속성으로 바꾼다.
+ * - 경로 : @version@ 을 v1~v4 로 바꾼다. (th:onclick 에서는 문자열 변수를 사용할 수 없으므로 미리 반영)
+ * - 조각 : ~{validation/shared/fragments :: ...} 참조도 같은 Locale, 버전의 템플릿을 가리키도록 바꾼다.
+ * 그래서 요청마다 평가하는 것은 상품 목록, 입력 값, 검증 오류 같은 동적인 부분뿐이다.
+ *
+ * 미리 반영한 템플릿 이름 : validation/shared/{name}@{version}@{language} (SharedItemTemplateResolver 가 찾는다)
+ * 템플릿은 지원하는 언어(item.template.shared.locales) 별로만 만든다. 그 외 언어는 첫번째 언어(기본) 의 템플릿을 사용한다.
+ * (Accept-Language 로 보내는 언어마다 템플릿이 늘어나지 않도록)
+ * 메시지는 처음 만들 때 한번만 읽으므로 메시지 파일을 다시 읽어도(spring.messages.cache-duration) 반영되지 않는다.
+ */
+@Slf4j
+public class SharedItemTemplates {
+
+    public static final String PREFIX = "validation/shared/";
+    public static final List<String> NAMES = List.of("items", "item", "addForm", "editForm", "fragments");
+    public static final List<String> VERSIONS = List.of("v1", "v2", "v3", "v4");
+
+    private static final String VERSION_TOKEN = "@version@";
+    private static final Pattern TEXT_MESSAGE = Pattern.compile(
+            "<(\\w+)([^<>]*?)\\s+th:text=\"#\\{([\\w.]+)}\"([^<>]*)>[^<]*</\\1>");
+    private static final Pattern TAG_WITH_MESSAGE = Pattern.compile("<\\w+[^<>]*#\\{[^<>]*>");
+    private static final Pattern ATTRIBUTE_MESSAGE = Pattern.compile("\\s+th:(\\w+)=\"#\\{([\\w.]+)}\"");
+    private static final Pattern FRAGMENT_REFERENCE = Pattern.compile("~\\{" + Pattern.quote(PREFIX) + "(\\w+)\\s*::");
+
+    private final MessageSource messageSource;
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    // 지원하는 언어 (첫번째가 기본 언어)
+    private final Set<String> languages = new LinkedHashSet<>();
+    private final String defaultLanguage;
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param location 공유 템플릿 위치 (예: classpath:/templates/validation/shared/)
+     * @param locales  템플릿을 만드는 Locale (첫번째가 기본)
+     */
+    public SharedItemTemplates(MessageSource messageSource, ResourceLoader resourceLoader, String location,
+                               Collection<Locale> locales) {
+        if (locales.isEmpty()) {
+            throw new IllegalArgumentException("locales 가 비어있습니다.");
+        }
+        this.messageSource = messageSource;
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        for (Locale locale : locales) {
+            languages.add(language(locale));
+        }
+        this.defaultLanguage = languages.iterator().next();
+    }
+
+    /**
+     * 시작할 때 지원하는 언어의 모든 템플릿을 미리 만든다.
+     */
+    public void preload() {
+        for (String language : languages) {
+            for (String version : VERSIONS) {
+                for (String name : NAMES) {
+                    template(PREFIX + name + "@" + version + "@" + language);
+                }
+            }
+        }
+        log.info("shared item templates preloaded. languages={}, templates={}", languages, templates.size());
+    }
+
+    /**
+     * 요청 Locale 의 템플릿 이름 (지원하지 않는 언어는 기본 언어)
+     */
+    public String templateName(String name, String version, Locale locale) {
+        String language = language(locale);
+        return PREFIX + name + "@" + version + "@" + (languages.contains(language) ? language : defaultLanguage);
+    }
+
+    /**
+     * 미리 반영한 템플릿 (공유 템플릿 이름이 아니거나 지원하지 않는 언어이면 null)
+     */
+    public String template(String templateName) {
+        if (!templateName.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = templateName.substring(PREFIX.length()).split("@");
+        if (parts.length != 3 || !NAMES.contains(parts[0]) || !VERSIONS.contains(parts[1]) || !languages.contains(parts[2])) {
+            return null;
+        }
+        return templates.computeIfAbsent(templateName,
+                key -> render(source(parts[0]), parts[1], Locale.forLanguageTag(parts[2])));
+    }
+
+    private String render(String source, String version, Locale locale) {
+        String template = source.replace(VERSION_TOKEN, version);
+        template = replaceAttributeMessages(template, locale);
+        template = replaceTextMessages(template, locale);
+        return FRAGMENT_REFERENCE.matcher(template).replaceAll(
+                Matcher.quoteReplacement("~{" + PREFIX) + "$1" + Matcher.quoteReplacement("@" + version + "@" + language(locale) + " ::"));
+    }
+
+    /**
+     * <h2 th:text="#{page.items}">상품 목록</h2> -> <h2>Item List</h2>
+     */
+    private String replaceTextMessages(String template, Locale locale) {
+        Matcher matcher = TEXT_MESSAGE.matcher(template);
+        StringBuilder result = new StringBuilder(template.length());
+        int last = 0;
+        while (matcher.find()) {
+            String message = message(matcher.group(3), locale);
+            if (message == null) {
+                continue;
+            }
+            result.append(template, last, matcher.start())
+                    .append('<').append(matcher.group(1)).append(matcher.group(2)).append(matcher.group(4)).append('>')
+                    .append(message)
+                    .append("</").append(matcher.group(1)).append('>');
+            last = matcher.end();
+        }
+        return result.append(template, last, template.length()).toString();
+    }
+
+    /**
+     * <input th:placeholder="#{label.search.minPrice}" placeholder="최소 가격"> -> <input placeholder="Min Price">
+     */
+    private String replaceAttributeMessages(String template, Locale locale) {
+        Matcher tags = TAG_WITH_MESSAGE.matcher(template);
+        StringBuilder result = new StringBuilder(template.length());
+        int last = 0;
+        while (tags.find()) {
+            String tag = tags.group();
+            Matcher attributes = ATTRIBUTE_MESSAGE.matcher(tag);
+            while (attributes.find()) {
+                String attribute = attributes.group(1);
+                String message = attribute.equals("text") ? null : message(attributes.group(2), locale);
+                if (message != null) {
+                    tag = tag.replace(attributes.group(), "")
+                            .replaceFirst("(\\s)" + attribute + "=\"[^\"]*\"", "")
+                            .replaceFirst("\\s*(/?>)$", Matcher.quoteReplacement(" " + attribute + "=\"" + message + "\"") + "$1");
+                }
+            }
+            result.append(template, last, tags.start()).append(tag);
+            last = tags.end();
+        }
+        return result.append(template, last, template.length()).toString();
+    }
+
+    private String message(String code, Locale locale) {
+        String message = messageSource.getMessage(code, null, null, locale);
+        return message == null ? null : HtmlUtils.htmlEscape(message, StandardCharsets.UTF_8.name());
+    }
+
+    private String source(String name) {
+        return sources.computeIfAbsent(name, key -> {
+            Resource resource = resourceLoader.getResource(location + key + ".html");
+            try (InputStream in = resource.getInputStream()) {
+                return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("공유 템플릿을 읽을 수 없습니다. " + resource, e);
+            }
+        });
+    }
+
+    private static String language(Locale locale) {
+        // Accept-Language 의 지역, 변형마다 템플릿이 늘어나지 않도록 언어만 구분한다. (메시지 파일도 언어별)
+        return locale.getLanguage().isEmpty() ? "und" : locale.getLanguage();
+    }
+
+}
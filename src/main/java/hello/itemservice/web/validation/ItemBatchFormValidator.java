@@ -0,0 +1,33 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemBatchForm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * 여러 상품 등록 검증 : items 의 각 항목을 상품 등록(ItemSaveFormValidator) 과 같은 규칙으로 검증한다.
+ * 항목이 많으면 나누어 병렬로 검증한다. (ParallelCollectionValidator, 오류는 items[12].price 와 같은 경로)
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBatchFormValidator implements Validator {
+
+    private final ItemSaveFormValidator itemSaveFormValidator;
+    private final ParallelCollectionValidator parallelCollectionValidator;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return ItemBatchForm.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        ItemBatchForm form = (ItemBatchForm) target;
+        if (form.getItems() != null) {
+            parallelCollectionValidator.validate("items", form.getItems(), itemSaveFormValidator, errors);
+        }
+    }
+
+}
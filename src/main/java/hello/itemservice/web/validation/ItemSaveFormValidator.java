@@ -0,0 +1,46 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * 상품 등록 검증 : V4 addItem 과 같은 규칙
+ * 필드 검증은 @Validated 와 같은 글로벌 검증기(mvcValidator, Bean Validation), 글로벌 에러(totalPriceMin) 는 직접 검증한다.
+ * 컨트롤러 밖(대량 등록 등)에서 ItemSaveForm 을 검증할 때 사용한다.
+ * 빠른 실패(ValidationMode.FAIL_FAST) 요청이면 필드 에러가 있을 때 글로벌 에러는 검사하지 않는다.
+ */
+@Component
+public class ItemSaveFormValidator implements Validator {
+
+    private final Validator fieldValidator;
+
+    public ItemSaveFormValidator(@Qualifier("mvcValidator") Validator fieldValidator) {
+        this.fieldValidator = fieldValidator;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return ItemSaveForm.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        fieldValidator.validate(target, errors);
+        if (errors.hasErrors() && ValidationMode.current() == ValidationMode.FAIL_FAST) {
+            return;
+        }
+
+        // 특정 필드가 아닌 전체 에러
+        ItemSaveForm form = (ItemSaveForm) target;
+        if (form.getPrice() != null && form.getQuantity() != null) {
+            int resultPrice = form.getPrice() * form.getQuantity();
+            if (resultPrice < 10000) {
+                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.lang.Nullable;
+import org.springframework.validation.AbstractPropertyBindingResult;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.List;
+
+/**
+ * BindingResult 를 LazyBindingResult 로 만드는 바인더 팩토리 (@ModelAttribute, @RequestBody 검증 모두)
+ * 바인더 설정(WebBindingInitializer, @InitBinder) 은 ServletRequestDataBinderFactory 와 같다.
+ */
+public class LazyBindingDataBinderFactory extends ServletRequestDataBinderFactory {
+
+    public LazyBindingDataBinderFactory(@Nullable List<InvocableHandlerMethod> binderMethods,
+                                        @Nullable WebBindingInitializer initializer) {
+        super(binderMethods, initializer);
+    }
+
+    @Override
+    protected ServletRequestDataBinder createBinderInstance(@Nullable Object target, String objectName,
+                                                            NativeWebRequest request) {
+        return new LazyBindingDataBinder(target, objectName);
+    }
+
+    static class LazyBindingDataBinder extends ExtendedServletRequestDataBinder {
+
+        // DataBinder 는 MessageCodesResolver 를 꺼낼 수 없으므로 따로 보관한다.
+        @Nullable
+        private MessageCodesResolver messageCodesResolver;
+
+        LazyBindingDataBinder(@Nullable Object target, String objectName) {
+            super(target, objectName);
+        }
+
+        @Override
+        public void setMessageCodesResolver(@Nullable MessageCodesResolver messageCodesResolver) {
+            super.setMessageCodesResolver(messageCodesResolver);
+            this.messageCodesResolver = messageCodesResolver;
+        }
+
+        /**
+         * DataBinder.createBeanPropertyBindingResult 와 같은 설정
+         */
+        @Override
+        protected AbstractPropertyBindingResult createBeanPropertyBindingResult() {
+            LazyBindingResult result = new LazyBindingResult(getTarget(), getObjectName(),
+                    isAutoGrowNestedPaths(), getAutoGrowCollectionLimit());
+            if (getConversionService() != null) {
+                result.initConversion(getConversionService());
+            }
+            if (messageCodesResolver != null) {
+                result.setMessageCodesResolver(messageCodesResolver);
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+/**
+ * 검증 오류를 읽을 때 만드는 BindingResult(LazyBindingResult) 를 사용하는 핸들러 어댑터
+ * lazyBindingResult=false 이면 RequestMappingHandlerAdapter 와 같다. (BeanPropertyBindingResult)
+ */
+public class LazyBindingRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private boolean lazyBindingResult = true;
+
+    public void setLazyBindingResult(boolean lazyBindingResult) {
+        this.lazyBindingResult = lazyBindingResult;
+    }
+
+    @Override
+    protected InitBinderDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) throws Exception {
+        if (!lazyBindingResult) {
+            return super.createDataBinderFactory(binderMethods);
+        }
+        return new LazyBindingDataBinderFactory(binderMethods, getWebBindingInitializer());
+    }
+
+}
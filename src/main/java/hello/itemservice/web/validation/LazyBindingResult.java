@@ -0,0 +1,312 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * rejectValue, reject 로 추가한 오류를 (필드, 오류 코드, 인자, 거부된 값, 기본 메시지) 로만 기록해두고,
+ * 메시지 코드(Range.item.price, Range.price ...) 와 FieldError, ObjectError 는 오류를 읽을 때 만든다.
+ *
+ * - 오류 수, 유무(hasErrors, getErrorCount, hasFieldErrors ...) 는 오류를 만들지 않고 센다.
+ * - 필드 하나의 오류(getFieldError(field), getFieldErrors(field), th:errors, th:field) 는 그 필드의 오류만 만든다.
+ * - 전체 오류(getAllErrors, toString, JSON 응답) 는 모두 만든다.
+ * 만들어진 오류는 BeanPropertyBindingResult 로 바로 추가한 것과 같다. (순서, 메시지 코드, 거부된 값)
+ * 거부된 값, 필드 경로(nestedPath) 는 rejectValue 를 호출한 시점의 값을 기록한다.
+ *
+ * addError 로 직접 추가하는 오류(타입 변환 실패, Bean Validation) 는 기록해둔 오류를 먼저 만들어서 순서를 유지한다.
+ */
+public class LazyBindingResult extends BeanPropertyBindingResult {
+
+    // 아직 만들지 않은 오류 (항상 이미 만든 오류 다음 순서), 오류가 없으면 null
+    @Nullable
+    private transient List<Rejection> pending;
+
+    public LazyBindingResult(@Nullable Object target, String objectName) {
+        super(target, objectName);
+    }
+
+    public LazyBindingResult(@Nullable Object target, String objectName,
+                             boolean autoGrowNestedPaths, int autoGrowCollectionLimit) {
+        super(target, objectName, autoGrowNestedPaths, autoGrowCollectionLimit);
+    }
+
+    @Override
+    public void reject(String errorCode, @Nullable Object[] errorArgs, @Nullable String defaultMessage) {
+        record(new Rejection(null, errorCode, errorArgs, null, defaultMessage));
+    }
+
+    @Override
+    public void rejectValue(@Nullable String field, String errorCode, @Nullable Object[] errorArgs,
+                            @Nullable String defaultMessage) {
+        // AbstractBindingResult.rejectValue 와 같은 규칙
+        if (!StringUtils.hasLength(getNestedPath()) && !StringUtils.hasLength(field)) {
+            reject(errorCode, errorArgs, defaultMessage);
+            return;
+        }
+        String fixedField = fixedField(field);
+        record(new Rejection(fixedField, errorCode, errorArgs, getActualFieldValue(fixedField), defaultMessage));
+    }
+
+    @Override
+    public void addError(ObjectError error) {
+        flush();
+        super.addError(error);
+    }
+
+    @Override
+    public void addAllErrors(Errors errors) {
+        flush();
+        super.addAllErrors(errors);
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return pending != null || super.hasErrors();
+    }
+
+    @Override
+    public int getErrorCount() {
+        return super.getErrorCount() + (pending == null ? 0 : pending.size());
+    }
+
+    @Override
+    public List<ObjectError> getAllErrors() {
+        flush();
+        return super.getAllErrors();
+    }
+
+    @Override
+    public List<ObjectError> getGlobalErrors() {
+        flush();
+        return super.getGlobalErrors();
+    }
+
+    @Override
+    public int getGlobalErrorCount() {
+        int count = super.getGlobalErrors().size();
+        if (pending != null) {
+            for (Rejection rejection : pending) {
+                if (rejection.field == null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Nullable
+    public ObjectError getGlobalError() {
+        ObjectError error = super.getGlobalError();
+        if (error != null || pending == null) {
+            return error;
+        }
+        for (Rejection rejection : pending) {
+            if (rejection.field == null) {
+                return error(rejection);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<FieldError> getFieldErrors() {
+        flush();
+        return super.getFieldErrors();
+    }
+
+    @Override
+    public int getFieldErrorCount() {
+        int count = super.getFieldErrors().size();
+        if (pending != null) {
+            for (Rejection rejection : pending) {
+                if (rejection.field != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Nullable
+    public FieldError getFieldError() {
+        FieldError error = super.getFieldError();
+        if (error != null || pending == null) {
+            return error;
+        }
+        for (Rejection rejection : pending) {
+            if (rejection.field != null) {
+                return (FieldError) error(rejection);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<FieldError> getFieldErrors(String field) {
+        List<FieldError> errors = super.getFieldErrors(field);
+        if (pending == null) {
+            return errors;
+        }
+        String fixedField = fixedField(field);
+        List<FieldError> result = null;
+        for (Rejection rejection : pending) {
+            if (rejection.matches(fixedField)) {
+                if (result == null) {
+                    result = new ArrayList<>(errors);
+                }
+                result.add((FieldError) error(rejection));
+            }
+        }
+        return result == null ? errors : Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public int getFieldErrorCount(String field) {
+        int count = super.getFieldErrors(field).size();
+        if (pending != null) {
+            String fixedField = fixedField(field);
+            for (Rejection rejection : pending) {
+                if (rejection.matches(fixedField)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Nullable
+    public FieldError getFieldError(String field) {
+        FieldError error = super.getFieldError(field);
+        if (error != null || pending == null) {
+            return error;
+        }
+        String fixedField = fixedField(field);
+        for (Rejection rejection : pending) {
+            if (rejection.matches(fixedField)) {
+                return (FieldError) error(rejection);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 오류마다 오류 코드(NotBlank, totalPriceMin ...) 로 호출한다. 메시지 코드와 오류 객체를 만들지 않는다. (오류 지표)
+     */
+    public void forEachErrorCode(Consumer<String> action) {
+        for (ObjectError error : super.getAllErrors()) {
+            action.accept(error.getCode());
+        }
+        if (pending != null) {
+            for (Rejection rejection : pending) {
+                action.accept(rejection.code);
+            }
+        }
+    }
+
+    private void record(Rejection rejection) {
+        if (pending == null) {
+            pending = new ArrayList<>(4);
+        }
+        pending.add(rejection);
+    }
+
+    /**
+     * 기록해둔 오류를 순서대로 만들어서 추가한다.
+     */
+    private void flush() {
+        if (pending == null) {
+            return;
+        }
+        List<Rejection> rejections = pending;
+        pending = null;
+        for (Rejection rejection : rejections) {
+            super.addError(error(rejection));
+        }
+    }
+
+    private ObjectError error(Rejection rejection) {
+        if (rejection.error == null) {
+            rejection.error = createError(rejection);
+        }
+        return rejection.error;
+    }
+
+    /**
+     * AbstractBindingResult.reject, rejectValue 가 만드는 오류와 같다.
+     * 필드 경로는 기록한 시점에 이미 정해졌으므로 지금의 nestedPath 를 다시 붙이지 않는다.
+     */
+    private ObjectError createError(Rejection rejection) {
+        if (rejection.field == null) {
+            return new ObjectError(getObjectName(), resolveMessageCodes(rejection.code), rejection.args, rejection.defaultMessage);
+        }
+        Class<?> fieldType = getTarget() != null
+                ? getPropertyAccessor().getPropertyType(rejection.field)
+                : (rejection.rejectedValue != null ? rejection.rejectedValue.getClass() : null);
+        String[] codes = getMessageCodesResolver().resolveMessageCodes(rejection.code, getObjectName(), rejection.field, fieldType);
+        return new FieldError(getObjectName(), rejection.field, rejection.rejectedValue, false,
+                codes, rejection.args, rejection.defaultMessage);
+    }
+
+    // 직렬화(세션, flash attribute) 할 때는 모든 오류를 만들어서 저장한다.
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        flush();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * rejectValue, reject 로 기록한 오류 (field 가 null 이면 글로벌 오류)
+     */
+    private static class Rejection {
+
+        @Nullable
+        final String field;
+        final String code;
+        @Nullable
+        final Object[] args;
+        @Nullable
+        final Object rejectedValue;
+        @Nullable
+        final String defaultMessage;
+        @Nullable
+        ObjectError error;
+
+        Rejection(@Nullable String field, String code, @Nullable Object[] args,
+                  @Nullable Object rejectedValue, @Nullable String defaultMessage) {
+            this.field = field;
+            this.code = code;
+            this.args = args;
+            this.rejectedValue = rejectedValue;
+            this.defaultMessage = defaultMessage;
+        }
+
+        /**
+         * AbstractErrors.isMatchingFieldError 와 같은 규칙 (price, items*)
+         */
+        boolean matches(String fixedField) {
+            if (field == null) {
+                return false;
+            }
+            if (fixedField.equals(field)) {
+                return true;
+            }
+            int endIndex = fixedField.length() - 1;
+            return endIndex >= 0 && fixedField.charAt(endIndex) == '*'
+                    && (endIndex == 0 || fixedField.regionMatches(0, field, 0, endIndex));
+        }
+    }
+
+}
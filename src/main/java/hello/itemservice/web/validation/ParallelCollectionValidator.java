@@ -0,0 +1,191 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.AbstractBindingResult;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.Validator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 컬렉션 속성(items ...) 의 항목 검증 : 항목이 threshold 개 이상이면 ForkJoinPool 에서 나누어 검증한다.
+ *
+ * 항목마다 별도의 BindingResult 에 검증하고, 끝나면 항목 순서대로 bindingResult 에 합친다. (스레드와 관계없이 같은 순서)
+ * 필드 경로는 @Valid 로 중첩 검증한 것과 같다. (items[12].price, 메시지 코드 Range.itemBatchForm.items[12].price ...)
+ * 항목의 글로벌 에러(totalPriceMin) 는 항목 경로의 필드 에러가 된다. (items[12]), null 항목은 required
+ *
+ * 작업 스레드에서도 요청 헤더(ValidationMode), 지표(ItemMetrics.currentController), 메시지 Locale 을 사용할 수 있도록
+ * 호출한 스레드의 RequestAttributes, LocaleContext 를 넘긴다.
+ */
+@Component
+public class ParallelCollectionValidator {
+
+    // 작업 하나가 검증하는 최소 항목 수
+    private static final int MIN_LEAF_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * @param threshold 이 개수보다 적으면 호출한 스레드에서 순서대로 검증한다.
+     * @param parallelism 검증 스레드 수 (0 이하이면 CPU 수)
+     */
+    public ParallelCollectionValidator(@Value("${item.validation.parallel.threshold:256}") int threshold,
+                                       @Value("${item.validation.parallel.parallelism:0}") int parallelism) {
+        this.threshold = Math.max(threshold, 1);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @param errors bindingResult (대상 객체의 property 값이 elements)
+     */
+    public void validate(String property, List<?> elements, Validator elementValidator, Errors errors) {
+        if (!(errors instanceof BindingResult)) {
+            throw new IllegalArgumentException("BindingResult 가 필요합니다. errors=" + errors.getClass().getName());
+        }
+        BindingResult bindingResult = (BindingResult) errors;
+        int size = elements.size();
+        BindingResult[] results = new BindingResult[size];
+        ElementTask task = new ElementTask(property, elements, elementValidator, bindingResult, results, 0, size,
+                Math.max(MIN_LEAF_SIZE, size / (pool.getParallelism() * 4)));
+        if (size < threshold) {
+            task.validateRange();
+        } else {
+            pool.invoke(task);
+        }
+        for (BindingResult result : results) {
+            if (result != null) {
+                for (ObjectError error : result.getAllErrors()) {
+                    bindingResult.addError(error);
+                }
+            }
+        }
+    }
+
+    private static class ElementTask extends RecursiveAction {
+
+        private final String property;
+        private final List<?> elements;
+        private final Validator elementValidator;
+        private final BindingResult parent;
+        private final BindingResult[] results;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final RequestAttributes requestAttributes;
+        private final LocaleContext localeContext;
+
+        ElementTask(String property, List<?> elements, Validator elementValidator, BindingResult parent,
+                    BindingResult[] results, int from, int to, int leafSize) {
+            this(property, elements, elementValidator, parent, results, from, to, leafSize,
+                    RequestContextHolder.getRequestAttributes(), LocaleContextHolder.getLocaleContext());
+        }
+
+        private ElementTask(String property, List<?> elements, Validator elementValidator, BindingResult parent,
+                            BindingResult[] results, int from, int to, int leafSize,
+                            RequestAttributes requestAttributes, LocaleContext localeContext) {
+            this.property = property;
+            this.elements = elements;
+            this.elementValidator = elementValidator;
+            this.parent = parent;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.requestAttributes = requestAttributes;
+            this.localeContext = localeContext;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+                LocaleContext previousLocale = LocaleContextHolder.getLocaleContext();
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    validateRange();
+                } finally {
+                    RequestContextHolder.setRequestAttributes(previousAttributes);
+                    LocaleContextHolder.setLocaleContext(previousLocale);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(split(from, middle), split(middle, to));
+        }
+
+        private ElementTask split(int from, int to) {
+            return new ElementTask(property, elements, elementValidator, parent, results, from, to, leafSize,
+                    requestAttributes, localeContext);
+        }
+
+        void validateRange() {
+            MessageCodesResolver codesResolver = parent instanceof AbstractBindingResult
+                    ? ((AbstractBindingResult) parent).getMessageCodesResolver()
+                    : new DefaultMessageCodesResolver();
+            for (int i = from; i < to; i++) {
+                results[i] = validate(i, codesResolver);
+            }
+        }
+
+        /**
+         * @return 오류가 없으면 null
+         */
+        private BindingResult validate(int index, MessageCodesResolver codesResolver) {
+            BeanPropertyBindingResult result = new BeanPropertyBindingResult(parent.getTarget(), parent.getObjectName());
+            result.setMessageCodesResolver(codesResolver);
+            result.setNestedPath(property + "[" + index + "]");
+            Object element = elements.get(index);
+            if (element == null) {
+                result.rejectValue("", "required");
+                return result;
+            }
+            elementValidator.validate(element, result);
+            if (!result.hasErrors()) {
+                return null;
+            }
+            if (result.hasGlobalErrors()) {
+                return withElementPath(result, element);
+            }
+            return result;
+        }
+
+        /**
+         * 항목의 글로벌 에러를 항목 경로(items[12]) 의 필드 에러로 바꾼다.
+         */
+        private BindingResult withElementPath(BeanPropertyBindingResult result, Object element) {
+            BeanPropertyBindingResult converted = new BeanPropertyBindingResult(parent.getTarget(), parent.getObjectName());
+            String path = result.getNestedPath().substring(0, result.getNestedPath().length() - 1);
+            for (ObjectError error : result.getAllErrors()) {
+                if (error instanceof FieldError) {
+                    converted.addError(error);
+                } else {
+                    converted.addError(new FieldError(error.getObjectName(), path, element, false,
+                            result.resolveMessageCodes(error.getCode(), ""), error.getArguments(), error.getDefaultMessage()));
+                }
+            }
+            return converted;
+        }
+    }
+
+}
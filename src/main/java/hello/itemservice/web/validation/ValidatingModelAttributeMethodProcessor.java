@@ -0,0 +1,74 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+
+/**
+ * @ModelAttribute 검증을 시작할 때 결정해둔 검증기, 검증 hint 로 한다. (ValidatorRegistry)
+ * 바인더에 추가된 검증기(@InitBinder 의 addValidators, WebBindingInitializer) 중 ValidatorRegistry 에 등록하지 않은 검증기도
+ * 같은 검증 hint 로 실행한다. (DataBinder 가 추가할 때 supports() 를 확인한다)
+ * WebConfig 에서 기본 ServletModelAttributeMethodProcessor 를 교체한다.
+ *
+ * BindingListener 를 설정하면 바인딩 시간을 알린다. (MetricsConfig : item.binding, source=modelAttribute)
+ */
+public class ValidatingModelAttributeMethodProcessor extends ServletModelAttributeMethodProcessor {
+
+    private final ValidatorRegistry validatorRegistry;
+    private BindingListener bindingListener;
+
+    public ValidatingModelAttributeMethodProcessor(boolean annotationNotRequired, ValidatorRegistry validatorRegistry) {
+        super(annotationNotRequired);
+        this.validatorRegistry = validatorRegistry;
+    }
+
+    public void setBindingListener(BindingListener bindingListener) {
+        this.bindingListener = bindingListener;
+    }
+
+    @Override
+    protected final void bindRequestParameters(WebDataBinder binder, NativeWebRequest request) {
+        if (bindingListener == null) {
+            doBindRequestParameters(binder, request);
+            return;
+        }
+        long start = System.nanoTime();
+        doBindRequestParameters(binder, request);
+        bindingListener.bound(binder, System.nanoTime() - start);
+    }
+
+    /**
+     * 요청 파라미터 바인딩 (기본값은 ServletRequestDataBinder)
+     */
+    protected void doBindRequestParameters(WebDataBinder binder, NativeWebRequest request) {
+        super.bindRequestParameters(binder, request);
+    }
+
+    @Override
+    protected void validateIfApplicable(WebDataBinder binder, MethodParameter parameter) {
+        ValidatorRegistry.Binding binding = validatorRegistry.binding(parameter);
+        if (!binding.isValidated()) {
+            return;
+        }
+        Object target = binder.getTarget();
+        BindingResult bindingResult = binder.getBindingResult();
+        binding.validate(target, bindingResult);
+        for (Validator validator : binder.getValidators()) {
+            if (!validatorRegistry.isRegistered(validator)) {
+                binding.validate(validator, target, bindingResult);
+            }
+        }
+    }
+
+    /**
+     * @ModelAttribute 바인딩을 마칠 때마다 호출된다. (검증 전)
+     */
+    public interface BindingListener {
+
+        void bound(WebDataBinder binder, long elapsedNanos);
+    }
+
+}
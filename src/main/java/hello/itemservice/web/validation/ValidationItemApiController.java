@@ -1,19 +1,45 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.web.validation.batch.ItemBatchResult;
+import hello.itemservice.web.validation.batch.ItemBatchService;
+import hello.itemservice.web.validation.batch.ItemExporter;
+import hello.itemservice.web.validation.batch.ItemImportResult;
+import hello.itemservice.web.validation.batch.ItemImporter;
+import hello.itemservice.web.validation.batch.ItemStreamIngester;
+import hello.itemservice.web.validation.batch.ItemTransferFormat;
+import hello.itemservice.web.validation.form.ItemBatchForm;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Locale;
+
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private final ItemBatchService itemBatchService;
+    private final ItemBatchFormValidator itemBatchFormValidator;
+    private final ItemStreamIngester itemStreamIngester;
+    private final ItemImporter itemImporter;
+    private final ItemExporter itemExporter;
+
     // Bean Validation - HttpMessageConverter
     // @Valid, @Validated 는 HttpMessageConverter (@RequestBody) 에도 적용 가능
 
@@ -41,6 +67,68 @@ public class ValidationItemApiController {
         // -> return bindingResult.getAllErrors(); 는 ObjectError 와 FieldError 를 반환하므로 전체가 response 메시지로 클라이언트에 전달된다.
 
     }
+    /**
+     * 대량 등록 : [{"itemName":"itemA","price":10000,"quantity":10}, ...]
+     * 항목마다 addItem 과 같은 규칙(Bean Validation + totalPriceMin) 으로 검증하고, 통과한 항목만 한번에 저장한다.
+     * 검증에 실패한 항목이 있어도 나머지는 저장하고, 실패한 항목은 index 별 오류로 응답한다.
+     * X-Validation-Mode: fail-fast 요청이면 항목마다 첫번째 위반의 필드, 오류 코드만 응답한다. (ValidationMode)
+     */
+    @PostMapping("/batch")
+    public ItemBatchResult addItems(@RequestBody List<ItemSaveForm> forms, Locale locale) {
+        return itemBatchService.addItems(forms, locale, ValidationMode.current());
+    }
+
+    /**
+     * 여러 상품 등록 (폼) : {"items":[{...}, ...]}
+     * 항목마다 addItem 과 같은 규칙으로 검증하고(ItemBatchFormValidator, 항목이 많으면 병렬), 모두 통과해야 저장한다.
+     * 실패하면 items[12].price 와 같은 경로의 오류를 응답한다.
+     */
+    @PostMapping("/batch/form")
+    public Object addItemsForm(@RequestBody @Validated ItemBatchForm form, BindingResult bindingResult) {
+        if (!bindingResult.hasErrors()) {
+            itemBatchFormValidator.validate(form, bindingResult);
+        }
+        if (bindingResult.hasErrors()) {
+            log.info("Validation errors = {}", bindingResult.getErrorCount());
+            return bindingResult.getAllErrors();
+        }
+        return itemBatchService.saveAll(form.getItems());
+    }
+
+    /**
+     * 스트리밍 대량 등록 : Content-Type: application/x-ndjson
+     * 요청 본문을 한 건씩 읽으면서 검증, 저장하고 항목별 결과를 NDJSON 으로 바로 응답한다. (ItemStreamIngester)
+     * 요청 전체를 List<ItemSaveForm> 으로 만들지 않으므로 요청 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    public void addItemsStream(HttpServletRequest request, HttpServletResponse response, Locale locale) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        itemStreamIngester.ingest(request.getInputStream(), response.getOutputStream(), locale, ValidationMode.current());
+    }
+
+    /**
+     * 전체 상품 내보내기 (관리자용) : format=CSV 또는 BINARY (ItemTransferFormat)
+     * 저장소를 순회하면서 바로 응답에 쓴다. (ItemExporter)
+     */
+    @GetMapping("/export")
+    public void exportItems(@RequestParam(defaultValue = "CSV") ItemTransferFormat format, HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items." + format.getExtension() + "\"");
+        itemExporter.export(format, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * 상품 가져오기 (관리자용) : 요청 본문이 format 형식의 파일 (내보내기 결과 그대로 사용 가능)
+     * 항목마다 addItem 과 같은 규칙으로 검증하고, 묶음 단위로 나누어 병렬로 저장한다. (ItemImporter)
+     */
+    @PostMapping("/import")
+    public ItemImportResult importItems(@RequestParam(defaultValue = "CSV") ItemTransferFormat format,
+                                       HttpServletRequest request, Locale locale) throws IOException {
+        return itemImporter.importItems(format, Channels.newChannel(request.getInputStream()), locale);
+    }
+
     /* 참고 */
     // @ModelAttribute : HTTP 요청 파라미터 (URL 쿼리스트링, POST Form) 에 사용
     // -> 필드단위로 세밀하게 바인딩 적용. 특정 필드가 바인딩 되지 않아도 나머지 필드는 정상 바인딩, Validator 검증 적용 가능
@@ -1,7 +1,9 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.cache.CacheableItemPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Controller
@@ -20,13 +21,19 @@ public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
 
+    @CacheableItemPage
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long afterId,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        // keyset 페이징 : 전체를 복사하지 않고 afterId 다음 상품부터 size 개만 조회
+        ItemPage page = itemRepository.page(null, afterId, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("size", page.getSize());
+        model.addAttribute("nextAfterId", page.getNextAfterId());
         return "validation/v1/items";
     }
 
+    @CacheableItemPage
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
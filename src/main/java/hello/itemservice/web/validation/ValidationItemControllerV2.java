@@ -1,7 +1,9 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.cache.CacheableItemPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -12,12 +14,10 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.validation.ValidationUtils;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -29,18 +29,19 @@ public class ValidationItemControllerV2 {
     private final ItemRepository itemRepository;
     private final ItemValidator itemValidator;
 
-    @InitBinder
-    public void init(WebDataBinder dataBinder) {
-        log.info("init binder {}", dataBinder);
-        dataBinder.addValidators(itemValidator);
-    }
+    @CacheableItemPage
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long afterId,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        // keyset 페이징 : 전체를 복사하지 않고 afterId 다음 상품부터 size 개만 조회
+        ItemPage page = itemRepository.page(null, afterId, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("size", page.getSize());
+        model.addAttribute("nextAfterId", page.getNextAfterId());
         return "validation/v2/items";
     }
 
+    @CacheableItemPage
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
@@ -392,16 +393,17 @@ public class ValidationItemControllerV2 {
         // Validator 인터페이스를 사용해서 검증하면 스프링이 제공하는 추가적인 도움을 받을 수 있다.
 
         // validation check
-        // Validator 인터페이스 사용방법 2 : @InitBinder 를 이용하여 WebDataBinder 에 검증기를 등록 후 사용하는 방법 (선언한 해당 컨트롤러에만 영향)
+        // Validator 인터페이스 사용방법 2 : 검증기를 등록 후 사용하는 방법 (선언한 해당 컨트롤러에만 영향)
+        // 이 컨트롤러는 @InitBinder(요청마다 호출) 대신 시작할 때 ValidatorRegistry 에 ItemValidator 를 등록한다. (WebConfig)
         // 검증하고자 하는 Model 에 @Validated 를 정의해준다.
 
         /* @Validated 어노테이션 */
-        // @Validated 이 붙으면 WebDataBinder 에 등록한 검증기를 찾아서 실행
+        // @Validated 이 붙으면 등록한 검증기(글로벌 검증기, ValidatorRegistry, WebDataBinder 에 추가한 검증기) 를 찾아서 실행
         // 검증기는 여러개를 등록할 수 있는데, 이때 어떤 검증기가 실행되어야 할지 구분이 필요하다.
         // 구분을 해주는 메소드가 supports() 이다.
         // supports(Item.class) 가 호출되고, 결과가 true 이면 ItemValidator 의 validate() 가 호출된다.
 
-        // 해당 컨트롤러에만 적용하는 방법 : @InitBinder 를 이용하여 WebDataBinder 에 검증기를 등록
+        // 해당 컨트롤러에만 적용하는 방법 : ValidatorRegistry.register(컨트롤러 타입, 검증기) (@InitBinder 로 WebDataBinder 에 추가해도 실행된다)
         // 모든 컨트롤러에 적용(글로벌 설정) : ItemServiceApplication 에 WebMvcConfigurer 를 구현한다.
         // public class ItemServiceApplication implements WebMvcConfigurer {..Override..}
 
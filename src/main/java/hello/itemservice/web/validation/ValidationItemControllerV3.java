@@ -1,9 +1,11 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.cache.CacheableItemPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -17,8 +19,6 @@ import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-
 @Slf4j
 @Controller
 @RequestMapping("/validation/v3/items")
@@ -27,13 +27,19 @@ public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
 
+    @CacheableItemPage
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long afterId,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        // keyset 페이징 : 전체를 복사하지 않고 afterId 다음 상품부터 size 개만 조회
+        ItemPage page = itemRepository.page(null, afterId, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("size", page.getSize());
+        model.addAttribute("nextAfterId", page.getNextAfterId());
         return "validation/v3/items";
     }
 
+    @CacheableItemPage
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
@@ -199,7 +205,13 @@ public class ValidationItemControllerV3 {
             return "validation/v3/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        // version 이 넘어오면 낙관적 잠금 : 폼을 연 뒤 다른 사용자가 먼저 수정했으면 다시 수정 폼 표시
+        if (item.getVersion() == null) {
+            itemRepository.update(itemId, item);
+        } else if (!itemRepository.update(itemId, item, item.getVersion())) {
+            bindingResult.reject("concurrentModification");
+            return "validation/v3/editForm";
+        }
         return "redirect:/validation/v3/items/{itemId}";
     }
 
@@ -1,9 +1,13 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.cache.CacheableItemPage;
+import hello.itemservice.web.stream.ChunkedFlushingIterable;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +19,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 
 @Slf4j
 @Controller
@@ -23,15 +27,37 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV4 {
 
+    // 전체 상품 화면에서 응답을 내보내는 상품 수
+    private static final int STREAM_FLUSH_SIZE = 256;
+
     private final ItemRepository itemRepository;
 
+    @CacheableItemPage
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("cond") ItemSearchCond cond, BindingResult bindingResult,
+                        @RequestParam(required = false) Long afterId,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        // 검색 조건 : 숫자가 아닌 값(typeMismatch) 을 입력한 조건은 오류를 표시하고 사용하지 않는다.
+        // keyset 페이징 : 전체를 복사하지 않고 afterId 다음 상품부터 size 개만 조회
+        ItemPage page = itemRepository.page(cond, afterId, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("size", page.getSize());
+        model.addAttribute("nextAfterId", page.getNextAfterId());
         return "validation/v4/items";
     }
 
+    /**
+     * 전체 상품을 한 화면에 표시 (관리자용)
+     * 목록을 만들지 않고 저장소를 나누어 읽으면서 STREAM_FLUSH_SIZE 개마다 응답을 내보낸다. (ChunkedFlushingIterable)
+     * 렌더링 결과를 모아야 하는 화면 캐시(@CacheableItemPage) 는 사용하지 않는다.
+     */
+    @GetMapping("/all")
+    public String allItems(HttpServletResponse response, Model model) {
+        model.addAttribute("items", new ChunkedFlushingIterable<>(itemRepository.stream().iterator(), response::flushBuffer, STREAM_FLUSH_SIZE));
+        return "validation/v4/allItems";
+    }
+
+    @CacheableItemPage
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
@@ -117,7 +143,11 @@ public class ValidationItemControllerV4 {
 
         Item item = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
 
-        itemRepository.update(itemId, item);
+        // 폼을 연 뒤 다른 사용자가 먼저 수정했으면 덮어쓰지 않고 다시 수정 폼 표시
+        if (!itemRepository.update(itemId, item, form.getVersion())) {
+            bindingResult.reject("concurrentModification");
+            return "validation/v4/editForm";
+        }
         return "redirect:/validation/v4/items/{itemId}";
     }
 
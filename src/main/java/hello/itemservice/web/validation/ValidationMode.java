@@ -0,0 +1,65 @@
+package hello.itemservice.web.validation;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+
+/**
+ * 검증 방식
+ * ALL_ERRORS : 모든 제약조건을 검사하고 모든 오류를 기록한다. (기본, 화면에 모든 오류를 표시)
+ * FAIL_FAST : 비용이 낮은 제약조건부터 검사하고 첫번째 오류에서 멈춘다. 글로벌 오류(totalPriceMin) 는 필드 오류가 없을 때만 검사한다.
+ *             유효 여부만 필요한 API 호출(시스템 간 호출, 대량 등록) 에서 잘못된 요청을 적은 비용으로 거절한다.
+ *
+ * 선택 방법
+ * - 요청마다 : 요청 헤더 X-Validation-Mode: fail-fast
+ * - 엔드포인트마다 : @Validated(ValidationMode.FailFast.class) (groups 가 아니라 표시용 hint 이므로 검증 전에 제거한다)
+ */
+public enum ValidationMode {
+
+    ALL_ERRORS, FAIL_FAST;
+
+    public static final String HEADER = "X-Validation-Mode";
+    private static final String FAIL_FAST_VALUE = "fail-fast";
+
+    /**
+     * @Validated 에 지정하면 요청 헤더와 관계없이 빠른 실패로 검증한다.
+     */
+    public interface FailFast {
+    }
+
+    /**
+     * 현재 요청 헤더의 검증 방식 (요청 밖이거나 헤더가 없으면 ALL_ERRORS)
+     */
+    public static ValidationMode current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            String value = ((ServletRequestAttributes) attributes).getRequest().getHeader(HEADER);
+            if (FAIL_FAST_VALUE.equalsIgnoreCase(value)) {
+                return FAIL_FAST;
+            }
+        }
+        return ALL_ERRORS;
+    }
+
+    /**
+     * @Validated 의 hint 와 요청 헤더의 검증 방식
+     */
+    public static ValidationMode of(Object[] validationHints) {
+        for (Object hint : validationHints) {
+            if (hint == FailFast.class) {
+                return FAIL_FAST;
+            }
+        }
+        return current();
+    }
+
+    /**
+     * FailFast 를 제외한 hint (Bean Validation groups)
+     */
+    public static Object[] groups(Object[] validationHints) {
+        return Arrays.stream(validationHints).filter(hint -> hint != FailFast.class).toArray();
+    }
+
+}
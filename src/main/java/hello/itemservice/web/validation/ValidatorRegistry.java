@@ -0,0 +1,190 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.metrics.ItemMetrics;
+import hello.itemservice.web.metrics.MeteredValidator;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ModelAttribute 검증기 등록 : @InitBinder 로 요청마다 검증기를 추가하는 대신, 시작할 때 한번만 결정해둔다.
+ *
+ * 대상 타입(Item, ItemSaveForm, ItemUpdateForm ...) 마다 검증기 순서
+ * - 글로벌 검증기(mvcValidator) : supports() 인 경우
+ * - 컨트롤러에 등록한 검증기(register) : supports() 인 경우, 등록 순서대로
+ * 핸들러 메서드 파라미터마다 검증 hint : @Validated(SaveCheck.class) 의 groups (@Valid 는 ModelAttributeMethodProcessor 와 같은 값)
+ *
+ * 요청마다 @InitBinder 호출, supports() 확인, 검증기 목록 복사가 없다. (ValidatingModelAttributeMethodProcessor)
+ * 등록하지 않은 검증기를 @InitBinder, WebBindingInitializer 로 바인더에 추가하면 그 검증기도 실행된다.
+ * 컨트롤러 검증기는 등록할 때 MeteredValidator 로 감싼다. (item.validation, validator=ItemValidator ...)
+ */
+public class ValidatorRegistry {
+
+    private final Validator globalValidator;
+    private final ItemMetrics itemMetrics;
+    private final Map<Class<?>, List<Validator>> controllerValidators = new LinkedHashMap<>();
+    // 등록한 검증기 (MeteredValidator 로 감싸기 전, 시작할 때만 변경)
+    private final Set<Validator> registeredValidators = Collections.newSetFromMap(new IdentityHashMap<>());
+    // 컨트롤러 타입 -> 대상 타입 -> 검증기 (시작할 때만 변경)
+    private final Map<Class<?>, Map<Class<?>, Validator[]>> validators = new HashMap<>();
+    private final Map<MethodParameter, Binding> bindings = new ConcurrentHashMap<>();
+
+    public ValidatorRegistry(Validator globalValidator, ItemMetrics itemMetrics) {
+        this.globalValidator = globalValidator;
+        this.itemMetrics = itemMetrics;
+        if (globalValidator != null) {
+            registeredValidators.add(globalValidator);
+        }
+    }
+
+    /**
+     * controllerType 의 @ModelAttribute 에만 적용할 검증기 (@InitBinder 의 dataBinder.addValidators 와 같다)
+     */
+    public ValidatorRegistry register(Class<?> controllerType, Validator... validators) {
+        List<Validator> registered = controllerValidators.computeIfAbsent(controllerType, type -> new ArrayList<>());
+        for (Validator validator : validators) {
+            registeredValidators.add(validator);
+            registered.add(new MeteredValidator(validator, validator.getClass().getSimpleName(), itemMetrics));
+        }
+        return this;
+    }
+
+    /**
+     * 글로벌 검증기이거나 register 로 등록한 검증기이면 true (binding 의 검증기로 이미 실행된다)
+     */
+    public boolean isRegistered(Validator validator) {
+        return registeredValidators.contains(validator);
+    }
+
+    /**
+     * 시작할 때 핸들러 메서드의 모든 파라미터를 미리 결정한다.
+     */
+    public synchronized void resolve(Collection<HandlerMethod> handlerMethods) {
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                bindings.computeIfAbsent(parameter, this::resolve);
+            }
+        }
+    }
+
+    /**
+     * 파라미터의 검증기, 검증 hint (미리 결정하지 않은 파라미터는 처음 한번만 결정한다)
+     */
+    public Binding binding(MethodParameter parameter) {
+        Binding binding = bindings.get(parameter);
+        if (binding != null) {
+            return binding;
+        }
+        synchronized (this) {
+            return bindings.computeIfAbsent(parameter, this::resolve);
+        }
+    }
+
+    private Binding resolve(MethodParameter parameter) {
+        Object[] hints = validationHints(parameter);
+        if (hints == null) {
+            return Binding.NONE;
+        }
+        Validator[] resolved = validators
+                .computeIfAbsent(parameter.getContainingClass(), type -> new HashMap<>())
+                .computeIfAbsent(parameter.getParameterType(), type -> resolveValidators(parameter.getContainingClass(), type));
+        return new Binding(resolved, hints);
+    }
+
+    private Validator[] resolveValidators(Class<?> controllerType, Class<?> targetType) {
+        List<Validator> resolved = new ArrayList<>();
+        if (globalValidator != null && globalValidator.supports(targetType)) {
+            resolved.add(globalValidator);
+        }
+        controllerValidators.forEach((type, registered) -> {
+            if (type.isAssignableFrom(controllerType)) {
+                for (Validator validator : registered) {
+                    if (validator.supports(targetType)) {
+                        resolved.add(validator);
+                    }
+                }
+            }
+        });
+        return resolved.toArray(new Validator[0]);
+    }
+
+    /**
+     * ModelAttributeMethodProcessor.validateIfApplicable 과 같은 규칙
+     * @return 검증하지 않는 파라미터이면 null
+     */
+    private static Object[] validationHints(MethodParameter parameter) {
+        for (Annotation ann : parameter.getParameterAnnotations()) {
+            Validated validatedAnn = AnnotationUtils.getAnnotation(ann, Validated.class);
+            if (validatedAnn != null || ann.annotationType().getSimpleName().startsWith("Valid")) {
+                Object hints = (validatedAnn != null ? validatedAnn.value() : AnnotationUtils.getValue(ann));
+                return (hints instanceof Object[] ? (Object[]) hints : new Object[]{hints});
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 파라미터 하나의 검증기와 검증 hint
+     */
+    public static class Binding {
+
+        static final Binding NONE = new Binding(new Validator[0], null);
+
+        private final Validator[] validators;
+        private final Object[] hints;
+
+        Binding(Validator[] validators, Object[] hints) {
+            this.validators = validators;
+            this.hints = hints;
+        }
+
+        public boolean isValidated() {
+            return hints != null;
+        }
+
+        public Validator[] getValidators() {
+            return validators.clone();
+        }
+
+        public Object[] getHints() {
+            return hints == null ? null : hints.clone();
+        }
+
+        /**
+         * DataBinder.validate(Object...) 와 같다.
+         */
+        public void validate(Object target, Errors errors) {
+            for (Validator validator : validators) {
+                validate(validator, target, errors);
+            }
+        }
+
+        /**
+         * 이 파라미터의 검증 hint 로 validator 를 실행한다. (등록하지 않은 검증기, supports() 는 호출하는 쪽에서 확인)
+         */
+        public void validate(Validator validator, Object target, Errors errors) {
+            if (hints.length > 0 && validator instanceof SmartValidator) {
+                ((SmartValidator) validator).validate(target, errors, hints);
+            } else {
+                validator.validate(target, errors);
+            }
+        }
+    }
+
+}
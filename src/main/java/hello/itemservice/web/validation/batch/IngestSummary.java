@@ -0,0 +1,15 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.Data;
+
+/**
+ * 스트리밍 등록 결과 요약 (응답의 마지막 줄)
+ */
+@Data
+public class IngestSummary {
+
+    private final long total;
+    private final long saved;
+    private final long rejected;
+
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 대량 등록 결과
+ * ids : 요청 순서(index) 와 같은 순서의 상품 ID, 검증에 실패한 항목은 null
+ * errors : 검증에 실패한 항목의 index 와 오류 목록
+ */
+@Data
+public class ItemBatchResult {
+
+    private final int total;
+    private final int saved;
+    private final List<Long> ids;
+    private final List<RowError> errors;
+
+}
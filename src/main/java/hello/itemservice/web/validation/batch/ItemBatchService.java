@@ -0,0 +1,92 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.compiled.Violation;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 대량 등록 : 항목마다 상품 등록(V4 addItem) 과 같은 규칙으로 검증하고,
+ * 검증을 통과한 상품만 한번에 저장한다. (ItemRepository.saveAll)
+ * 일부 항목이 실패해도 나머지는 저장하고, 실패한 항목은 index 별 오류로 응답한다.
+ * 빠른 실패(ValidationMode.FAIL_FAST) 이면 실패한 항목마다 첫번째 위반의 필드, 오류 코드만 응답한다. (메시지 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBatchService {
+
+    private final ItemRepository itemRepository;
+    private final ItemRowValidator itemRowValidator;
+    private final MessageSource messageSource;
+
+    public ItemBatchResult addItems(List<ItemSaveForm> forms, Locale locale) {
+        return addItems(forms, locale, ValidationMode.ALL_ERRORS);
+    }
+
+    public ItemBatchResult addItems(List<ItemSaveForm> forms, Locale locale, ValidationMode mode) {
+        List<Item> items = new ArrayList<>(forms.size());
+        int[] indexes = new int[forms.size()];
+        List<RowError> errors = new ArrayList<>();
+
+        for (int i = 0; i < forms.size(); i++) {
+            ItemSaveForm form = forms.get(i);
+            RowError error = validate(i, form, locale, mode);
+            if (error != null) {
+                errors.add(error);
+                continue;
+            }
+            indexes[items.size()] = i;
+            items.add(new Item(form.getItemName(), form.getPrice(), form.getQuantity()));
+        }
+
+        itemRepository.saveAll(items);
+
+        Long[] ids = new Long[forms.size()];
+        for (int i = 0; i < items.size(); i++) {
+            ids[indexes[i]] = items.get(i).getId();
+        }
+        // 항목마다 로그를 남기지 않고 요청당 한번만 남긴다.
+        log.info("batch items total={}, saved={}, rejected={}", forms.size(), items.size(), errors.size());
+        return new ItemBatchResult(forms.size(), items.size(), Arrays.asList(ids), errors);
+    }
+
+    /**
+     * 검증을 통과한 상품들을 모두 저장한다. (ItemBatchForm)
+     */
+    public ItemBatchResult saveAll(List<ItemSaveForm> forms) {
+        List<Item> items = new ArrayList<>(forms.size());
+        for (ItemSaveForm form : forms) {
+            items.add(new Item(form.getItemName(), form.getPrice(), form.getQuantity()));
+        }
+        itemRepository.saveAll(items);
+
+        List<Long> ids = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ids.add(item.getId());
+        }
+        log.info("batch form items total={}", items.size());
+        return new ItemBatchResult(items.size(), items.size(), ids, List.of());
+    }
+
+    private RowError validate(int index, ItemSaveForm form, Locale locale, ValidationMode mode) {
+        if (mode == ValidationMode.FAIL_FAST) {
+            Violation violation = itemRowValidator.firstViolation(form);
+            return violation == null ? null : RowError.of(index, violation);
+        }
+        BeanPropertyBindingResult bindingResult = itemRowValidator.validate(form);
+        return bindingResult.hasErrors() ? RowError.of(index, bindingResult, messageSource, locale) : null;
+    }
+
+}
@@ -0,0 +1,153 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import static hello.itemservice.web.validation.batch.ItemTransferFormat.*;
+
+/**
+ * 상품 내보내기 : 전체 상품을 ID 순서로 CSV 또는 BINARY 형식으로 쓴다. (ItemTransferFormat)
+ * 전체를 복사하지 않고 저장소를 순회하면서(ItemRepository.stream()) BUFFER_SIZE 의 direct 버퍼에 모아서 채널에 쓴다.
+ * 파일 채널이면 버퍼 내용이 JVM 힙을 거치지 않고 기록된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemExporter {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] CSV_HEADER = "id,itemName,price,quantity\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ItemRepository itemRepository;
+
+    /**
+     * @return 내보낸 상품 수
+     */
+    public long export(ItemTransferFormat format, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        if (format == CSV) {
+            buffer.put(CSV_HEADER);
+        } else {
+            buffer.putInt(BINARY_MAGIC).putShort(BINARY_VERSION);
+        }
+        long count = 0;
+        Iterator<Item> items = itemRepository.stream().iterator();
+        while (items.hasNext()) {
+            Item item = items.next();
+            byte[] name = item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+            // 숫자 (최대 20 + 11 + 11 자) 와 구분자, 따옴표로 감싼 이름 (최대 두배) 이 들어갈 크기
+            int maxSize = format == CSV
+                    ? 48 + (name == null ? 0 : name.length * 2 + 2)
+                    : BINARY_RECORD_HEADER_SIZE + (name == null ? 0 : name.length);
+            if (buffer.remaining() < maxSize) {
+                write(buffer, out);
+                if (buffer.remaining() < maxSize) {
+                    // 버퍼보다 큰 이름은 그 상품만 별도 버퍼로 쓴다.
+                    ByteBuffer large = ByteBuffer.allocate(maxSize);
+                    put(format, item, name, large);
+                    write(large, out);
+                    count++;
+                    continue;
+                }
+            }
+            put(format, item, name, buffer);
+            count++;
+        }
+        write(buffer, out);
+        log.info("export items format={}, count={}", format, count);
+        return count;
+    }
+
+    private static void put(ItemTransferFormat format, Item item, byte[] name, ByteBuffer buffer) {
+        if (format == CSV) {
+            putCsv(item, name, buffer);
+        } else {
+            putBinary(item, name, buffer);
+        }
+    }
+
+    private static void putCsv(Item item, byte[] name, ByteBuffer buffer) {
+        putAscii(item.getId(), buffer);
+        buffer.put((byte) ',');
+        if (name != null) {
+            putCsvText(name, buffer);
+        }
+        buffer.put((byte) ',');
+        putAscii(item.getPrice(), buffer);
+        buffer.put((byte) ',');
+        putAscii(item.getQuantity(), buffer);
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두번 쓴다.
+     */
+    private static void putCsvText(byte[] text, ByteBuffer buffer) {
+        boolean quote = false;
+        for (int i = 0; i < text.length && !quote; i++) {
+            byte b = text[i];
+            quote = b == ',' || b == '"' || b == '\n' || b == '\r';
+        }
+        if (!quote) {
+            buffer.put(text);
+            return;
+        }
+        buffer.put((byte) '"');
+        for (byte b : text) {
+            if (b == '"') {
+                buffer.put((byte) '"');
+            }
+            buffer.put(b);
+        }
+        buffer.put((byte) '"');
+    }
+
+    private static void putAscii(Number value, ByteBuffer buffer) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    private static void putBinary(Item item, byte[] name, ByteBuffer buffer) {
+        byte flags = 0;
+        if (name == null) {
+            flags |= NAME_NULL;
+        }
+        if (item.getPrice() == null) {
+            flags |= PRICE_NULL;
+        }
+        if (item.getQuantity() == null) {
+            flags |= QUANTITY_NULL;
+        }
+        buffer.put(flags);
+        putVarLong(item.getId(), buffer);
+        putVarInt(item.getPrice() == null ? 0 : item.getPrice(), buffer);
+        putVarInt(item.getQuantity() == null ? 0 : item.getQuantity(), buffer);
+        putVarLong(name == null ? 0 : name.length, buffer);
+        if (name != null) {
+            buffer.put(name);
+        }
+    }
+
+    private static void write(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
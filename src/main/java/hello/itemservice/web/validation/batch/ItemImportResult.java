@@ -0,0 +1,21 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 상품 가져오기 결과
+ * errors : 검증에 실패한 항목 중 index 가 작은 순서로 최대 ItemImporter.MAX_ERRORS 개 (rejected 는 전체 개수)
+ * error : 형식 오류로 중단한 경우 그 이유 (이전 항목은 저장), 끝까지 읽었으면 null
+ */
+@Data
+public class ItemImportResult {
+
+    private final long total;
+    private final long saved;
+    private final long rejected;
+    private final List<RowError> errors;
+    private final String error;
+
+}
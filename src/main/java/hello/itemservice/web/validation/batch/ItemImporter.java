@@ -0,0 +1,449 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static hello.itemservice.web.validation.batch.ItemTransferFormat.*;
+
+/**
+ * 상품 가져오기 : CSV 또는 BINARY 형식(ItemTransferFormat) 의 상품을 상품 등록과 같은 규칙으로 검증하고 저장한다.
+ *
+ * 읽기(형식 분석, 타입 변환) 는 호출한 스레드에서 순서대로 하고, batchSize 개씩 묶어서 parallelism 개의 스레드에서
+ * 검증, 저장(ItemRepository.saveAll) 한다. 묶음 단위로 저장하므로 ID 는 묶음 안에서만 입력 순서대로 발급된다.
+ * 스레드는 모든 가져오기가 함께 사용한다. (가져오기 요청마다 스레드를 만들지 않는다)
+ * 읽기가 더 빠르면 가져오기마다 parallelism * 2 개의 묶음까지만 기다리게 하고, 레코드 하나의 크기도 제한하므로
+ * 입력 크기와 관계없이 메모리 사용량이 일정하다.
+ *
+ * 타입 변환은 @ModelAttribute 바인딩과 같이 필드 단위로 처리한다. (price 가 "abc" 이면 해당 항목의 typeMismatch 오류)
+ * 형식 오류(닫히지 않은 따옴표, 잘린 레코드 ...) 는 이후를 읽을 수 없으므로 중단하고 result.error 로 알린다. (이미 저장한 항목은 유지)
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+
+    static final int MAX_ERRORS = 100;
+    // BINARY 레코드의 상품명 최대 크기, CSV 레코드의 최대 길이 (char 수)
+    static final int MAX_NAME_BYTES = 1 << 20;
+    static final int MAX_CSV_RECORD_LENGTH = MAX_NAME_BYTES;
+
+    private final ItemRepository itemRepository;
+    private final ItemRowValidator itemRowValidator;
+    private final MessageSource messageSource;
+    private final int batchSize;
+    // 가져오기마다 기다리게 하는 최대 묶음 수
+    private final int maxPendingBatches;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param parallelism 검증, 저장하는 스레드 수 (0 이하이면 CPU 수)
+     */
+    public ItemImporter(ItemRepository itemRepository, ItemRowValidator itemRowValidator, MessageSource messageSource,
+                        @Value("${item.transfer.batch-size:1000}") int batchSize,
+                        @Value("${item.transfer.parallelism:0}") int parallelism) {
+        this.itemRepository = itemRepository;
+        this.itemRowValidator = itemRowValidator;
+        this.messageSource = messageSource;
+        this.batchSize = Math.max(batchSize, 1);
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxPendingBatches = threads * 2;
+        // 가져오기가 없으면 스레드를 유지하지 않는다.
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("item-import-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public ItemImportResult importItems(ItemTransferFormat format, ReadableByteChannel in, Locale locale) throws IOException {
+        Progress progress = new Progress(locale);
+        // 처리 중인 묶음이 하나씩 가지고 있다가 끝나면 반납한다.
+        Semaphore permits = new Semaphore(maxPendingBatches);
+        long total = 0;
+        String error = null;
+        try {
+            List<BeanPropertyBindingResult> batch = new ArrayList<>(batchSize);
+            try {
+                Rows rows = format == CSV ? new CsvRows(in) : new BinaryRows(in);
+                BeanPropertyBindingResult row;
+                while (progress.failure == null && (row = rows.next()) != null) {
+                    batch.add(row);
+                    total++;
+                    if (batch.size() == batchSize) {
+                        submit(batch, total - batch.size(), progress, permits);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            } catch (InvalidFormatException | CharacterCodingException e) {
+                error = e.getMessage() != null ? e.getMessage() : "UTF-8 로 읽을 수 없는 입력입니다.";
+            }
+            submit(batch, total - batch.size(), progress, permits);
+        } finally {
+            awaitBatches(permits, progress);
+        }
+        if (progress.failure != null) {
+            throw new IllegalStateException("상품을 가져오는 중 오류가 발생했습니다.", progress.failure);
+        }
+
+        ItemImportResult result = new ItemImportResult(total, progress.saved.get(), progress.rejected.get(), progress.errors(), error);
+        log.info("import items format={}, total={}, saved={}, rejected={}, error={}",
+                format, result.getTotal(), result.getSaved(), result.getRejected(), result.getError());
+        return result;
+    }
+
+    private void submit(List<BeanPropertyBindingResult> batch, long firstIndex, Progress progress,
+                        Semaphore permits) throws InterruptedIOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("상품 가져오기가 중단되었습니다.");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!progress.cancelled) {
+                        save(batch, firstIndex, progress);
+                    }
+                } catch (RuntimeException | Error e) {
+                    progress.failure = e;
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void save(List<BeanPropertyBindingResult> batch, long firstIndex, Progress progress) {
+        List<Item> items = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            BeanPropertyBindingResult bindingResult = batch.get(i);
+            ItemSaveForm form = (ItemSaveForm) bindingResult.getTarget();
+            itemRowValidator.validate(form, bindingResult);
+            if (bindingResult.hasErrors()) {
+                progress.reject(firstIndex + i, bindingResult);
+                continue;
+            }
+            items.add(new Item(form.getItemName(), form.getPrice(), form.getQuantity()));
+        }
+        itemRepository.saveAll(items);
+        progress.saved.addAndGet(items.size());
+    }
+
+    /**
+     * 이 가져오기의 묶음이 모두 끝날 때까지 기다린다. (모든 permit 이 반납될 때까지)
+     * 중단되면 아직 시작하지 않은 묶음은 저장하지 않는다.
+     */
+    private void awaitBatches(Semaphore permits, Progress progress) throws InterruptedIOException {
+        try {
+            while (!permits.tryAcquire(maxPendingBatches, 1, TimeUnit.MINUTES)) {
+                log.info("import items waiting for batches");
+            }
+        } catch (InterruptedException e) {
+            progress.cancelled = true;
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("상품 가져오기가 중단되었습니다.");
+        }
+    }
+
+    /**
+     * 묶음을 처리하는 스레드들이 함께 기록하는 결과
+     */
+    private class Progress {
+
+        private final Locale locale;
+        private final AtomicLong saved = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        // index 가 작은 MAX_ERRORS 개 (가장 큰 index 가 먼저 나온다)
+        private final PriorityQueue<RowError> errors =
+                new PriorityQueue<>(Comparator.comparingInt(RowError::getIndex).reversed());
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        Progress(Locale locale) {
+            this.locale = locale;
+        }
+
+        void reject(long index, BeanPropertyBindingResult bindingResult) {
+            rejected.incrementAndGet();
+            int rowIndex = (int) Math.min(index, Integer.MAX_VALUE);
+            synchronized (errors) {
+                if (errors.size() == MAX_ERRORS && errors.peek().getIndex() <= rowIndex) {
+                    return;
+                }
+                errors.add(RowError.of(rowIndex, bindingResult, messageSource, locale));
+                if (errors.size() > MAX_ERRORS) {
+                    errors.poll();
+                }
+            }
+        }
+
+        List<RowError> errors() {
+            synchronized (errors) {
+                List<RowError> result = new ArrayList<>(errors);
+                result.sort(Comparator.comparingInt(RowError::getIndex));
+                return result;
+            }
+        }
+    }
+
+    /**
+     * 형식별로 항목을 하나씩 읽는다. 읽은 값은 ItemSaveForm 에, 타입 변환 오류는 BindingResult 에 담는다. (끝이면 null)
+     */
+    private interface Rows {
+        BeanPropertyBindingResult next() throws IOException;
+    }
+
+    private static class InvalidFormatException extends RuntimeException {
+        InvalidFormatException(String message) {
+            super(message);
+        }
+    }
+
+    private class CsvRows implements Rows {
+
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private long line = 1;
+        private final int nameColumn;
+        private final int priceColumn;
+        private final int quantityColumn;
+
+        CsvRows(ReadableByteChannel in) throws IOException {
+            reader = Channels.newReader(in, StandardCharsets.UTF_8.newDecoder(), -1);
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new InvalidFormatException("CSV 헤더가 없습니다.");
+            }
+            // UTF-8 BOM (엑셀에서 저장한 CSV)
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+            nameColumn = header.indexOf("itemName");
+            priceColumn = header.indexOf("price");
+            quantityColumn = header.indexOf("quantity");
+            if (nameColumn < 0 || priceColumn < 0 || quantityColumn < 0) {
+                throw new InvalidFormatException("CSV 헤더에 itemName, price, quantity 열이 필요합니다. header=" + header);
+            }
+        }
+
+        @Override
+        public BeanPropertyBindingResult next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isEmpty()); // 빈 줄
+
+            ItemSaveForm form = new ItemSaveForm();
+            BeanPropertyBindingResult bindingResult = itemRowValidator.newBindingResult(form);
+            form.setItemName(column(record, nameColumn));
+            form.setPrice(toInteger(column(record, priceColumn), "price", bindingResult));
+            form.setQuantity(toInteger(column(record, quantityColumn), "quantity", bindingResult));
+            return bindingResult;
+        }
+
+        private String column(List<String> record, int column) {
+            return column < record.size() ? record.get(column) : null;
+        }
+
+        /**
+         * 요청 파라미터 바인딩과 같이 빈 값은 null
+         */
+        private Integer toInteger(String text, String field, BeanPropertyBindingResult bindingResult) {
+            if (text == null || text.trim().isEmpty()) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                itemRowValidator.typeMismatch(field, text, bindingResult);
+                return null;
+            }
+        }
+
+        /**
+         * 레코드 하나 (따옴표 안의 줄바꿈 포함), 입력의 끝이면 null
+         */
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>(4);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            long startLine = line;
+            int length = 0;
+            while (true) {
+                // 아주 긴 필드, 필드가 아주 많은 레코드를 메모리에 모으지 않도록 레코드 길이를 제한한다.
+                if (++length > MAX_CSV_RECORD_LENGTH) {
+                    throw new InvalidFormatException("CSV 레코드가 너무 깁니다. 최대 " + MAX_CSV_RECORD_LENGTH + " 자, line=" + startLine);
+                }
+                if (quoted) {
+                    if (c < 0) {
+                        throw new InvalidFormatException("CSV 따옴표가 닫히지 않았습니다. line=" + startLine);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c < 0 || c == '\n') {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+
+    private class BinaryRows implements Rows {
+
+        private final ReadableByteChannel in;
+        private final ByteBuffer buffer = ByteBuffer.allocate(ItemExporter.BUFFER_SIZE);
+        private long record;
+
+        BinaryRows(ReadableByteChannel in) throws IOException {
+            this.in = in;
+            buffer.limit(0);
+            if (!fill(BINARY_HEADER_SIZE) || buffer.getInt() != BINARY_MAGIC) {
+                throw new InvalidFormatException("상품 BINARY 형식이 아닙니다.");
+            }
+            short version = buffer.getShort();
+            if (version != BINARY_VERSION) {
+                throw new InvalidFormatException("지원하지 않는 BINARY 형식 버전입니다. version=" + version);
+            }
+        }
+
+        @Override
+        public BeanPropertyBindingResult next() throws IOException {
+            if (!fill(1)) {
+                return null;
+            }
+            // 마지막 레코드는 BINARY_RECORD_HEADER_SIZE 보다 짧을 수 있으므로 결과와 관계없이 읽은 만큼 사용한다.
+            fill(BINARY_RECORD_HEADER_SIZE);
+            byte flags;
+            int price;
+            int quantity;
+            long nameLength;
+            try {
+                flags = buffer.get();
+                getVarLong(buffer); // 내보낼 때의 id (가져올 때는 새로 발급)
+                price = getVarInt(buffer);
+                quantity = getVarInt(buffer);
+                nameLength = getVarLong(buffer);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new InvalidFormatException("BINARY 레코드가 잘렸거나 잘못되었습니다. record=" + record);
+            }
+            if (nameLength < 0 || nameLength > MAX_NAME_BYTES) {
+                throw new InvalidFormatException("BINARY 레코드의 이름 길이가 잘못되었습니다. record=" + record);
+            }
+            byte[] name = new byte[(int) nameLength];
+            for (int read = 0; read < name.length; ) {
+                if (!fill(1)) {
+                    throw new InvalidFormatException("BINARY 레코드가 잘렸습니다. record=" + record);
+                }
+                int count = Math.min(buffer.remaining(), name.length - read);
+                buffer.get(name, read, count);
+                read += count;
+            }
+            record++;
+
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName((flags & NAME_NULL) != 0 ? null : new String(name, StandardCharsets.UTF_8));
+            form.setPrice((flags & PRICE_NULL) != 0 ? null : price);
+            form.setQuantity((flags & QUANTITY_NULL) != 0 ? null : quantity);
+            return itemRowValidator.newBindingResult(form);
+        }
+
+        /**
+         * 버퍼에 읽지 않은 바이트가 size 개 이상 남도록 채운다. (입력이 끝나서 채우지 못하면 false)
+         */
+        private boolean fill(int size) throws IOException {
+            if (buffer.remaining() >= size) {
+                return true;
+            }
+            buffer.compact();
+            try {
+                while (buffer.position() < size) {
+                    if (in.read(buffer) < 0) {
+                        break;
+                    }
+                }
+            } finally {
+                buffer.flip();
+            }
+            return buffer.remaining() >= size;
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package hello.itemservice.web.validation.batch;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.io.IOException;
+
+/**
+ * JSON 항목 하나를 ItemSaveForm 으로 읽는다. (ItemStreamIngester, 리액티브 버전의 스트리밍 대량 등록)
+ * 타입 변환은 @ModelAttribute 바인딩과 같이 필드 단위로 처리한다.
+ * price 에 "abc" 가 들어오면 해당 필드의 typeMismatch 오류가 되고, 나머지 필드는 그대로 읽는다.
+ */
+public class ItemJsonReader {
+
+    private final ItemRowValidator itemRowValidator;
+
+    public ItemJsonReader(ItemRowValidator itemRowValidator) {
+        this.itemRowValidator = itemRowValidator;
+    }
+
+    /**
+     * token 에서 시작하는 항목 하나를 읽는다. (타입 변환 오류만 기록, 검증은 호출하는 쪽에서) 모르는 필드는 무시한다.
+     * 객체가 아닌 항목은 target 이 없는 BindingResult 에 글로벌 오류(null 이면 required, 그 외 typeMismatch) 를 기록한다.
+     */
+    public BeanPropertyBindingResult read(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            BeanPropertyBindingResult bindingResult = itemRowValidator.newBindingResult(null);
+            bindingResult.reject(token == JsonToken.VALUE_NULL ? "required" : "typeMismatch");
+            return bindingResult;
+        }
+        ItemSaveForm form = new ItemSaveForm();
+        BeanPropertyBindingResult bindingResult = itemRowValidator.newBindingResult(form);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "itemName":
+                    form.setItemName(readText(parser, value, field, bindingResult));
+                    break;
+                case "price":
+                    form.setPrice(readInteger(parser, value, field, bindingResult));
+                    break;
+                case "quantity":
+                    form.setQuantity(readInteger(parser, value, field, bindingResult));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return bindingResult;
+    }
+
+    private String readText(JsonParser parser, JsonToken value, String field, BeanPropertyBindingResult bindingResult) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        itemRowValidator.typeMismatch(field, value.asString(), bindingResult);
+        return null;
+    }
+
+    /**
+     * 문자열도 숫자로 변환한다. (요청 파라미터 바인딩과 같이 빈 문자열은 null)
+     */
+    private Integer readInteger(JsonParser parser, JsonToken value, String field, BeanPropertyBindingResult bindingResult) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+            return parser.getIntValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(text);
+            } catch (NumberFormatException e) {
+                itemRowValidator.typeMismatch(field, parser.getText(), bindingResult);
+                return null;
+            }
+        }
+        String rejectedValue = value.isScalarValue() ? parser.getText() : value.asString();
+        parser.skipChildren();
+        itemRowValidator.typeMismatch(field, rejectedValue, bindingResult);
+        return null;
+    }
+
+}
@@ -0,0 +1,97 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.web.validation.ItemSaveFormValidator;
+import hello.itemservice.web.validation.compiled.Violation;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+/**
+ * 대량 등록 항목 검증 (배열, 스트리밍, 파일 가져오기 공통)
+ * 단건 API(@RequestBody ItemSaveForm) 와 같은 객체 이름, 오류 코드를 사용한다. (Range.itemSaveForm.price ...)
+ * 빠른 실패(ValidationMode.FAIL_FAST) 는 firstViolation() 으로 FieldError, 메시지 코드 없이 첫번째 위반만 찾는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemRowValidator {
+
+    static final String OBJECT_NAME = "itemSaveForm";
+    static final Violation REQUIRED = new Violation(null, "required");
+    static final Violation TOTAL_PRICE_MIN = new Violation(null, "totalPriceMin");
+
+    private final ItemSaveFormValidator itemSaveFormValidator;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ItemSaveFormCompiledValidator compiledValidator;
+
+    public BeanPropertyBindingResult newBindingResult(ItemSaveForm form) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+        bindingResult.setMessageCodesResolver(messageCodesResolver);
+        return bindingResult;
+    }
+
+    public BeanPropertyBindingResult validate(ItemSaveForm form) {
+        BeanPropertyBindingResult bindingResult = newBindingResult(form);
+        validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * bindingResult 에 이미 있는 타입 변환 오류(typeMismatch) 필드는 다시 검증하지 않는다.
+     */
+    public void validate(ItemSaveForm form, BeanPropertyBindingResult bindingResult) {
+        if (form == null) {
+            // JSON 배열의 null 항목
+            bindingResult.reject("required");
+            return;
+        }
+        itemSaveFormValidator.validate(form, bindingResult);
+    }
+
+    /**
+     * 첫번째 위반 (없으면 null) : validate() 와 같은 규칙을 비용이 낮은 순서로 검사하고 첫 위반에서 멈춘다.
+     * FieldError, 메시지 코드, 메시지 인자를 만들지 않는다.
+     */
+    public Violation firstViolation(ItemSaveForm form) {
+        if (form == null) {
+            return REQUIRED;
+        }
+        Violation violation = compiledValidator.firstViolation(form);
+        if (violation != null) {
+            return violation;
+        }
+        if (form.getPrice() * form.getQuantity() < 10000) {
+            return TOTAL_PRICE_MIN;
+        }
+        return null;
+    }
+
+    /**
+     * bindingResult 에 타입 변환 오류가 있으면 그 오류가 첫번째 위반이다.
+     */
+    public Violation firstViolation(ItemSaveForm form, BeanPropertyBindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            ObjectError error = bindingResult.getAllErrors().get(0);
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+            return new Violation(field, error.getCode());
+        }
+        return firstViolation(form);
+    }
+
+    /**
+     * 바인딩 실패 (DefaultBindingErrorProcessor 와 같은 오류 코드, 인자)
+     */
+    public void typeMismatch(String field, Object rejectedValue, BeanPropertyBindingResult bindingResult) {
+        String[] codes = bindingResult.resolveMessageCodes("typeMismatch", field);
+        Object[] arguments = {new DefaultMessageSourceResolvable(
+                new String[]{bindingResult.getObjectName() + "." + field, field}, field)};
+        bindingResult.addError(new FieldError(bindingResult.getObjectName(), field, rejectedValue, true, codes, arguments,
+                "Failed to convert value '" + rejectedValue + "' for property '" + field + "'"));
+    }
+
+}
@@ -0,0 +1,198 @@
+package hello.itemservice.web.validation.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.compiled.Violation;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 스트리밍 대량 등록 : 요청 본문 전체를 객체로 만들지 않고, 한 건씩 읽으면서 검증한다.
+ * 입력 : NDJSON ({...}\n{...}\n) 또는 JSON 배열 ([{...}, {...}])
+ * 출력 : NDJSON, 항목마다 {"index":0,"id":1} 또는 {"index":1,"errors":[...]}, 마지막 줄은 요약 {"total":..,"saved":..,"rejected":..}
+ *
+ * chunkSize 개씩 모아서 검증을 통과한 상품을 한번에 저장하고(ItemRepository.saveAll), 그 결과를 바로 응답에 쓴다.
+ * 메모리에는 chunkSize 개의 항목만 남으므로 요청 크기와 관계없이 사용량이 일정하다.
+ *
+ * 타입 변환은 @ModelAttribute 바인딩과 같이 필드 단위로 처리한다. (ItemJsonReader)
+ * price 에 "abc" 가 들어오면 해당 항목의 typeMismatch 오류가 되고, 나머지 필드와 다른 항목은 그대로 처리한다.
+ * JSON 문법 오류는 이후를 읽을 수 없으므로 {"error":"..."} 를 쓰고 중단한다. (이미 저장한 항목은 유지)
+ *
+ * 빠른 실패(ValidationMode.FAIL_FAST) 이면 실패한 항목마다 첫번째 위반의 필드, 오류 코드만 쓴다. (ItemRowValidator.firstViolation)
+ */
+@Slf4j
+@Component
+public class ItemStreamIngester {
+
+    private final ItemRepository itemRepository;
+    private final ItemRowValidator itemRowValidator;
+    private final ItemJsonReader itemJsonReader;
+    private final MessageSource messageSource;
+    private final int chunkSize;
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public ItemStreamIngester(ItemRepository itemRepository, ItemRowValidator itemRowValidator, MessageSource messageSource,
+                              @Value("${item.ingest.chunk-size:1000}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.itemRowValidator = itemRowValidator;
+        this.itemJsonReader = new ItemJsonReader(itemRowValidator);
+        this.messageSource = messageSource;
+        this.chunkSize = chunkSize;
+    }
+
+    public IngestSummary ingest(InputStream in, OutputStream out, Locale locale) throws IOException {
+        return ingest(in, out, locale, ValidationMode.ALL_ERRORS);
+    }
+
+    public IngestSummary ingest(InputStream in, OutputStream out, Locale locale, ValidationMode mode) throws IOException {
+        Chunk chunk = new Chunk();
+        long total = 0;
+        try (JsonParser parser = jsonFactory.createParser(in);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    // 문법 오류로 읽지 못한 항목은 total 에 포함하지 않는다.
+                    BeanPropertyBindingResult bindingResult = itemJsonReader.read(parser, token);
+                    chunk.add(total++, bindingResult, locale, mode);
+                    if (chunk.size() == chunkSize) {
+                        chunk.flush(generator);
+                    }
+                    token = parser.nextToken();
+                }
+                chunk.flush(generator);
+            } catch (JsonProcessingException e) {
+                chunk.flush(generator);
+                generator.writeStartObject();
+                generator.writeStringField("error", e.getOriginalMessage());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            IngestSummary summary = new IngestSummary(total, chunk.saved, chunk.rejected);
+            generator.writeStartObject();
+            generator.writeNumberField("total", summary.getTotal());
+            generator.writeNumberField("saved", summary.getSaved());
+            generator.writeNumberField("rejected", summary.getRejected());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+            log.info("ingest items total={}, saved={}, rejected={}", summary.getTotal(), summary.getSaved(), summary.getRejected());
+            return summary;
+        }
+    }
+
+    /**
+     * 저장, 응답하기 전의 항목들 (최대 chunkSize 개)
+     */
+    private class Chunk {
+
+        private final List<Long> indexes = new ArrayList<>(chunkSize);
+        // Item (검증 통과) 또는 RowError (검증 실패)
+        private final List<Object> results = new ArrayList<>(chunkSize);
+        private final List<Item> items = new ArrayList<>(chunkSize);
+        private long saved;
+        private long rejected;
+
+        void add(long index, BeanPropertyBindingResult bindingResult, Locale locale, ValidationMode mode) {
+            indexes.add(index);
+            RowError error = validate((int) Math.min(index, Integer.MAX_VALUE), bindingResult, locale, mode);
+            if (error != null) {
+                results.add(error);
+                rejected++;
+                return;
+            }
+            ItemSaveForm form = (ItemSaveForm) bindingResult.getTarget();
+            Item item = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+            results.add(item);
+            items.add(item);
+        }
+
+        /**
+         * 객체가 아닌 항목(target == null) 은 read() 에서 기록한 오류만 있다.
+         */
+        private RowError validate(int index, BeanPropertyBindingResult bindingResult, Locale locale, ValidationMode mode) {
+            ItemSaveForm form = (ItemSaveForm) bindingResult.getTarget();
+            if (mode == ValidationMode.FAIL_FAST) {
+                Violation violation = itemRowValidator.firstViolation(form, bindingResult);
+                return violation == null ? null : RowError.of(index, violation);
+            }
+            if (form != null) {
+                itemRowValidator.validate(form, bindingResult);
+            }
+            return bindingResult.hasErrors() ? RowError.of(index, bindingResult, messageSource, locale) : null;
+        }
+
+        int size() {
+            return results.size();
+        }
+
+        void flush(JsonGenerator generator) throws IOException {
+            if (results.isEmpty()) {
+                return;
+            }
+            itemRepository.saveAll(items);
+            saved += items.size();
+            for (int i = 0; i < results.size(); i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("index", indexes.get(i));
+                Object result = results.get(i);
+                if (result instanceof Item) {
+                    generator.writeNumberField("id", ((Item) result).getId());
+                } else {
+                    writeErrors(generator, ((RowError) result).getErrors());
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            indexes.clear();
+            results.clear();
+            items.clear();
+        }
+
+        private void writeErrors(JsonGenerator generator, List<RowError.Error> errors) throws IOException {
+            generator.writeArrayFieldStart("errors");
+            for (RowError.Error error : errors) {
+                generator.writeStartObject();
+                generator.writeStringField("field", error.getField());
+                generator.writeStringField("code", error.getCode());
+                Object rejectedValue = error.getRejectedValue();
+                if (rejectedValue instanceof Integer) {
+                    generator.writeNumberField("rejectedValue", (Integer) rejectedValue);
+                } else {
+                    generator.writeStringField("rejectedValue", rejectedValue == null ? null : rejectedValue.toString());
+                }
+                generator.writeStringField("message", error.getMessage());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+}
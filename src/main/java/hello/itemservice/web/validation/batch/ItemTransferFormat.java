@@ -0,0 +1,74 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * 상품 내보내기, 가져오기 형식
+ *
+ * CSV : 첫 줄은 헤더 (id,itemName,price,quantity), 값에 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싼다. (RFC 4180)
+ * 가져올 때는 헤더로 열 위치를 찾으므로 열 순서가 달라도 되고, id 등 다른 열은 무시한다.
+ *
+ * BINARY : 헤더 [0~3] MAGIC [4~5] VERSION (big endian) 다음에 상품마다
+ * null flags (1 byte), id, price, quantity, name length, name (UTF-8)
+ * 숫자는 가변 길이(varint, 7 bit 씩, price, quantity 는 zigzag) 로 기록해서 작은 값은 1~3 byte 만 사용한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ItemTransferFormat {
+
+    CSV("text/csv", "csv"),
+    BINARY("application/octet-stream", "bin");
+
+    static final int BINARY_MAGIC = 0x4954454d; // "ITEM"
+    static final short BINARY_VERSION = 1;
+    static final int BINARY_HEADER_SIZE = 6;
+    // 이름을 제외한 레코드 최대 크기 : flags + id(10) + price(5) + quantity(5) + name length(5)
+    static final int BINARY_RECORD_HEADER_SIZE = 26;
+    static final byte NAME_NULL = 1;
+    static final byte PRICE_NULL = 1 << 1;
+    static final byte QUANTITY_NULL = 1 << 2;
+
+    private final String contentType;
+    private final String extension;
+
+    static void putVarLong(long value, ByteBuffer buffer) {
+        while ((value & ~0x7fL) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 가 너무 깁니다.");
+    }
+
+    static void putVarInt(int value, ByteBuffer buffer) {
+        putVarLong(Integer.toUnsignedLong((value << 1) ^ (value >> 31)), buffer);
+    }
+
+    static int getVarInt(ByteBuffer buffer) {
+        int zigzag = (int) getVarLong(buffer);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * 파일 확장자로 형식을 정한다. (.csv 가 아니면 BINARY)
+     */
+    public static ItemTransferFormat of(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith("." + CSV.extension) ? CSV : BINARY;
+    }
+
+}
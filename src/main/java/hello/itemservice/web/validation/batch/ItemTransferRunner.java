@@ -0,0 +1,61 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * 명령행 상품 가져오기, 내보내기 (시작할 때 한번 실행)
+ * --item.transfer.import=items.csv : 파일의 상품을 가져온다.
+ * --item.transfer.export=items.bin : 전체 상품을 파일로 내보낸다. (가져오기를 함께 지정하면 가져온 뒤에 내보낸다)
+ * 형식은 확장자로 정한다. (.csv 는 CSV, 그 외는 BINARY)
+ */
+@Slf4j
+@Component
+public class ItemTransferRunner implements ApplicationRunner {
+
+    private final ItemImporter itemImporter;
+    private final ItemExporter itemExporter;
+    private final String importPath;
+    private final String exportPath;
+
+    public ItemTransferRunner(ItemImporter itemImporter, ItemExporter itemExporter,
+                              @Value("${item.transfer.import:}") String importPath,
+                              @Value("${item.transfer.export:}") String exportPath) {
+        this.itemImporter = itemImporter;
+        this.itemExporter = itemExporter;
+        this.importPath = importPath;
+        this.exportPath = exportPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (StringUtils.hasText(importPath)) {
+            Path path = Paths.get(importPath);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ItemImportResult result = itemImporter.importItems(ItemTransferFormat.of(path), channel, Locale.getDefault());
+                for (RowError error : result.getErrors()) {
+                    log.warn("import rejected index={}, errors={}", error.getIndex(), error.getErrors());
+                }
+            }
+        }
+        if (StringUtils.hasText(exportPath)) {
+            Path path = Paths.get(exportPath);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                itemExporter.export(ItemTransferFormat.of(path), channel);
+            }
+        }
+    }
+
+}
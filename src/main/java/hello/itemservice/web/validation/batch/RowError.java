@@ -0,0 +1,52 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.web.validation.compiled.Violation;
+import lombok.Data;
+import org.springframework.context.MessageSource;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 대량 등록에서 index 번째 항목의 검증 오류
+ * BindingResult 전체(codes, arguments ...) 대신 필드, 오류 코드, 메시지만 응답한다.
+ */
+@Data
+public class RowError {
+
+    private final int index;
+    private final List<Error> errors;
+
+    public static RowError of(int index, BindingResult bindingResult, MessageSource messageSource, Locale locale) {
+        List<Error> errors = new ArrayList<>(bindingResult.getErrorCount());
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+            Object rejectedValue = error instanceof FieldError ? ((FieldError) error).getRejectedValue() : null;
+            errors.add(new Error(field, error.getCode(), rejectedValue, messageSource.getMessage(error, locale)));
+        }
+        return new RowError(index, errors);
+    }
+
+    /**
+     * 빠른 실패 : 첫번째 위반의 필드, 오류 코드만 응답한다. (rejectedValue, message 는 null)
+     */
+    public static RowError of(int index, Violation violation) {
+        return new RowError(index, List.of(new Error(violation.getField(), violation.getCode(), null, null)));
+    }
+
+    /**
+     * field 가 null 이면 글로벌 에러 (예: totalPriceMin)
+     */
+    @Data
+    public static class Error {
+        private final String field;
+        private final String code;
+        private final Object rejectedValue;
+        private final String message;
+    }
+
+}
@@ -0,0 +1,83 @@
+package hello.itemservice.web.validation.compiled;
+
+import org.springframework.stereotype.Component;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.ValidatorFactory;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bean Validation 의 메시지 템플릿과 MessageInterpolator 로 기본 메시지를 만든다.
+ * 그래서 Bean Validation 으로 검증한 경우와 같은 메시지가 된다. 예) "1000에서 1000000 사이여야 합니다"
+ * 스프링이 설정한 MessageInterpolator 는 요청의 Locale(LocaleContextHolder) 을 사용한다.
+ * 검증에 실패한 경우에만 호출되므로 ConstraintDescriptor 만 캐시한다.
+ */
+@Component
+public class BeanValidationConstraintMessages implements ConstraintMessages {
+
+    private final javax.validation.Validator validator;
+    private final MessageInterpolator messageInterpolator;
+    private final Map<String, ConstraintDescriptor<?>> descriptors = new ConcurrentHashMap<>();
+
+    public BeanValidationConstraintMessages(ValidatorFactory validatorFactory) {
+        this.validator = validatorFactory.getValidator();
+        this.messageInterpolator = validatorFactory.getMessageInterpolator();
+    }
+
+    @Override
+    public String getDefaultMessage(Class<?> type, String field, String constraint, Object invalidValue) {
+        ConstraintDescriptor<?> descriptor = descriptors.computeIfAbsent(
+                type.getName() + "#" + field + "#" + constraint, key -> findDescriptor(type, field, constraint));
+        try {
+            return messageInterpolator.interpolate(descriptor.getMessageTemplate(), new Context(descriptor, invalidValue));
+        } catch (ValidationException e) {
+            return descriptor.getMessageTemplate();
+        }
+    }
+
+    private ConstraintDescriptor<?> findDescriptor(Class<?> type, String field, String constraint) {
+        PropertyDescriptor property = validator.getConstraintsForClass(type).getConstraintsForProperty(field);
+        if (property != null) {
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                if (descriptor.getAnnotation().annotationType().getSimpleName().equals(constraint)) {
+                    return descriptor;
+                }
+            }
+        }
+        throw new IllegalStateException("제약조건을 찾을 수 없습니다. " + type.getName() + "." + field + " @" + constraint);
+    }
+
+    private static class Context implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> descriptor;
+        private final Object validatedValue;
+
+        Context(ConstraintDescriptor<?> descriptor, Object validatedValue) {
+            this.descriptor = descriptor;
+            this.validatedValue = validatedValue;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            return validatedValue;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            throw new ValidationException("지원하지 않는 타입입니다. " + type);
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package hello.itemservice.web.validation.compiled;
+
+import org.springframework.validation.DataBinder;
+
+/**
+ * 컴파일 시점에 생성된 바인더 (@GenerateBinder)
+ * ServletRequestDataBinder 와 같은 값, 같은 typeMismatch 오류를 만들지만
+ * BeanWrapper, PropertyValues, ConversionService 조회 없이 요청 파라미터를 setter 로 바로 넣는다.
+ */
+public interface CompiledBinder {
+
+    /**
+     * 바인딩 대상 타입 (이 타입과 정확히 일치하는 객체만 바인딩한다)
+     */
+    Class<?> getTargetType();
+
+    /**
+     * @param binder 변환에 실패하면 binder 의 BindingErrorProcessor 로 오류를 추가한다.
+     */
+    void bind(Object target, RequestParameters parameters, DataBinder binder);
+
+}
@@ -0,0 +1,128 @@
+package hello.itemservice.web.validation.compiled;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.DataBinder;
+
+import java.beans.PropertyChangeEvent;
+
+/**
+ * 생성된 바인더(CompiledBinder) 가 사용하는 변환 규칙
+ * WebDataBinder + 기본 ConversionService 로 바인딩한 것과 같은 값을 만든다.
+ *
+ * 부호와 숫자만 있는 짧은 문자열은 직접 변환하고 (문자열, 예외를 만들지 않는다)
+ * 나머지(공백, 16진수, 범위 초과, 숫자가 아닌 값) 는 NumberUtils.parseNumber 로 변환한다. (StringToNumberConverterFactory 와 동일)
+ */
+public final class CompiledBinding {
+
+    // 이 자리수 이하는 int, long 범위를 넘지 않는다.
+    private static final int INT_DIGITS = 9;
+    private static final int LONG_DIGITS = 18;
+
+    private CompiledBinding() {
+    }
+
+    /**
+     * 값이 하나 이상 있는 파라미터 (값이 없는 파라미터는 바인딩하지 않는다, WebUtils.getParametersStartingWith)
+     * @return 없으면 null
+     */
+    public static String[] values(RequestParameters parameters, String name) {
+        String[] values = parameters.getParameterValues(name);
+        return values == null || values.length == 0 ? null : values;
+    }
+
+    /**
+     * 파라미터가 없으면 필드 기본값 파라미터(!price) 를 사용한다. (WebDataBinder.checkFieldDefaults)
+     */
+    public static String[] values(RequestParameters parameters, String name, String defaultName) {
+        String[] values = values(parameters, name);
+        return values != null ? values : values(parameters, defaultName);
+    }
+
+    /**
+     * 값이 여러 개이면 쉼표로 이어 붙인다. (TypeConverterDelegate : String[] -> String)
+     */
+    public static String toText(String[] values) {
+        return values.length == 1 ? values[0] : StringUtils.arrayToCommaDelimitedString(values);
+    }
+
+    /**
+     * 첫번째 값을 변환한다. (ArrayToObjectConverter), 빈 문자열은 null
+     * @throws IllegalArgumentException 숫자가 아니거나 범위를 넘으면
+     */
+    public static Integer toInteger(String[] values) {
+        String text = values[0];
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (isShortDecimal(text, INT_DIGITS)) {
+            return (int) parseDecimal(text);
+        }
+        return NumberUtils.parseNumber(text, Integer.class);
+    }
+
+    /**
+     * @see #toInteger(String[])
+     */
+    public static Long toLong(String[] values) {
+        String text = values[0];
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (isShortDecimal(text, LONG_DIGITS)) {
+            return parseDecimal(text);
+        }
+        return NumberUtils.parseNumber(text, Long.class);
+    }
+
+    /**
+     * BeanWrapper 가 변환에 실패했을 때와 같은 TypeMismatchException 을 바인더의 BindingErrorProcessor 로 처리한다.
+     * (DefaultBindingErrorProcessor : typeMismatch.item.price, typeMismatch.price, typeMismatch.java.lang.Integer, typeMismatch)
+     */
+    public static void typeMismatch(DataBinder binder, String field, String[] values, Class<? extends Number> requiredType) {
+        Object value = values.length == 1 ? values[0] : values;
+        PropertyChangeEvent event = new PropertyChangeEvent(binder.getTarget(), field, null, value);
+        binder.getBindingErrorProcessor().processPropertyAccessException(
+                new TypeMismatchException(event, requiredType, editorFailure(toText(values), requiredType)),
+                binder.getBindingResult());
+    }
+
+    /**
+     * TypeConverterDelegate 는 ConversionService 로 변환에 실패하면 기본 PropertyEditor(CustomNumberEditor) 로
+     * 쉼표로 이어 붙인 값을 다시 변환하고, 그 예외를 원인으로 남긴다.
+     */
+    private static IllegalArgumentException editorFailure(String text, Class<? extends Number> requiredType) {
+        try {
+            NumberUtils.parseNumber(text, requiredType);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+        return new NumberFormatException("For input string: \"" + text + "\"");
+    }
+
+    private static boolean isShortDecimal(String text, int maxDigits) {
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        int digits = text.length() - start;
+        if (digits == 0 || digits > maxDigits) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseDecimal(String text) {
+        boolean negative = text.charAt(0) == '-';
+        long value = 0;
+        for (int i = negative ? 1 : 0; i < text.length(); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return negative ? -value : value;
+    }
+
+}
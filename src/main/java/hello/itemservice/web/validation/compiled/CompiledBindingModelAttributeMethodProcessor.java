@@ -0,0 +1,60 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.ValidatingModelAttributeMethodProcessor;
+import hello.itemservice.web.validation.ValidatorRegistry;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.multipart.MultipartRequest;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.ServletRequest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 생성된 바인더(@GenerateBinder) 가 있는 타입은 생성된 바인더로 요청 파라미터를 바인딩한다. (binding.compiled.enabled=true, WebConfig)
+ * 바인더에 allowedFields, requiredFields 등을 설정했거나 multipart 요청이면 ServletRequestDataBinder 로 바인딩한다.
+ * (@InitBinder 로 PropertyEditor 를 등록하는 타입에는 @GenerateBinder 를 사용하지 않는다)
+ * 검증은 ValidatingModelAttributeMethodProcessor 와 같다.
+ */
+public class CompiledBindingModelAttributeMethodProcessor extends ValidatingModelAttributeMethodProcessor {
+
+    private final Map<Class<?>, CompiledBinder> compiledBinders = new HashMap<>();
+
+    public CompiledBindingModelAttributeMethodProcessor(boolean annotationNotRequired, ValidatorRegistry validatorRegistry,
+                                                        List<CompiledBinder> compiledBinders) {
+        super(annotationNotRequired, validatorRegistry);
+        for (CompiledBinder compiledBinder : compiledBinders) {
+            this.compiledBinders.put(compiledBinder.getTargetType(), compiledBinder);
+        }
+    }
+
+    @Override
+    protected void doBindRequestParameters(WebDataBinder binder, NativeWebRequest request) {
+        Object target = binder.getTarget();
+        CompiledBinder compiledBinder = target == null ? null : compiledBinders.get(target.getClass());
+        ServletRequest servletRequest = request.getNativeRequest(ServletRequest.class);
+        if (compiledBinder != null && servletRequest != null && isPlainForm(binder, servletRequest)) {
+            compiledBinder.bind(target, RequestParameters.of(servletRequest), binder);
+        } else {
+            super.doBindRequestParameters(binder, request);
+        }
+    }
+
+    /**
+     * 생성된 바인더가 ServletRequestDataBinder 와 같은 결과를 만드는 경우
+     */
+    private static boolean isPlainForm(WebDataBinder binder, ServletRequest request) {
+        return ObjectUtils.isEmpty(binder.getAllowedFields())
+                && ObjectUtils.isEmpty(binder.getDisallowedFields())
+                && ObjectUtils.isEmpty(binder.getRequiredFields())
+                && WebDataBinder.DEFAULT_FIELD_MARKER_PREFIX.equals(binder.getFieldMarkerPrefix())
+                && WebDataBinder.DEFAULT_FIELD_DEFAULT_PREFIX.equals(binder.getFieldDefaultPrefix())
+                && WebUtils.getNativeRequest(request, MultipartRequest.class) == null
+                && !StringUtils.startsWithIgnoreCase(request.getContentType(), "multipart/");
+    }
+
+}
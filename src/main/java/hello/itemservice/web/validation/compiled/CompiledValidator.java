@@ -0,0 +1,29 @@
+package hello.itemservice.web.validation.compiled;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * 컴파일 시점에 생성된 검증기 (@GenerateValidator)
+ * Bean Validation 과 같은 에러 코드를 만들지만, 리플렉션과 ConstraintViolation 생성 없이 검증한다.
+ */
+public interface CompiledValidator extends Validator {
+
+    /**
+     * 검증 대상 타입 (이 타입과 정확히 일치하는 객체만 검증한다)
+     */
+    Class<?> getTargetType();
+
+    /**
+     * 빠른 실패 검증 : 비용이 낮은 제약조건부터 검사하고 첫번째 위반만 기록한다. (ValidationMode.FAIL_FAST)
+     * 기록하는 오류는 validate() 가 만드는 오류와 같다.
+     */
+    void validateFirst(Object target, Errors errors);
+
+    /**
+     * 첫번째로 위반한 제약조건 (검사 순서는 validateFirst 와 같다), 위반이 없으면 null
+     * Errors, FieldError, 메시지 코드를 만들지 않으므로 유효 여부만 필요한 경우(대량 등록 빠른 거절) 에 사용한다.
+     */
+    Violation firstViolation(Object target);
+
+}
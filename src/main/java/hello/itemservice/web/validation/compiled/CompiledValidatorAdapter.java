@@ -0,0 +1,81 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.ValidationMode;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Validated 검증기 : 생성된 검증기(CompiledValidator) 가 있는 타입은 생성된 검증기로,
+ * 나머지 타입과 groups 를 지정한 경우(@Validated(SaveCheck.class))는 Bean Validation 으로 검증한다.
+ *
+ * 빠른 실패(ValidationMode.FAIL_FAST) 요청은 생성된 검증기의 validateFirst(), 그 외 타입은 failFastFallback
+ * (첫 위반에서 멈추는 Bean Validation) 으로 검증한다. 이미 바인딩 오류가 있으면 검증하지 않는다.
+ */
+public class CompiledValidatorAdapter implements SmartValidator {
+
+    private final Map<Class<?>, CompiledValidator> compiledValidators = new HashMap<>();
+    private final SmartValidator fallback;
+    private final SmartValidator failFastFallback;
+
+    public CompiledValidatorAdapter(List<CompiledValidator> compiledValidators, SmartValidator fallback,
+                                    SmartValidator failFastFallback) {
+        for (CompiledValidator validator : compiledValidators) {
+            this.compiledValidators.put(validator.getTargetType(), validator);
+        }
+        this.fallback = fallback;
+        this.failFastFallback = failFastFallback;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return compiledValidators.containsKey(clazz) || fallback.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, ValidationMode.current());
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        ValidationMode mode = ValidationMode.of(validationHints);
+        Object[] groups = ValidationMode.groups(validationHints);
+        if (groups.length == 0) {
+            validate(target, errors, mode);
+        } else if (mode == ValidationMode.FAIL_FAST) {
+            if (!errors.hasErrors()) {
+                failFastFallback.validate(target, errors, groups);
+            }
+        } else {
+            fallback.validate(target, errors, groups);
+        }
+    }
+
+    private void validate(Object target, Errors errors, ValidationMode mode) {
+        CompiledValidator validator = compiledValidators.get(target.getClass());
+        if (mode == ValidationMode.FAIL_FAST) {
+            if (errors.hasErrors()) {
+                return;
+            }
+            if (validator != null) {
+                validator.validateFirst(target, errors);
+            } else {
+                failFastFallback.validate(target, errors);
+            }
+        } else if (validator != null) {
+            validator.validate(target, errors);
+        } else {
+            fallback.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors, Object... validationHints) {
+        fallback.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+}
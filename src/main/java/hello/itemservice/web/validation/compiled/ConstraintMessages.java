@@ -0,0 +1,16 @@
+package hello.itemservice.web.validation.compiled;
+
+/**
+ * 생성된 검증기가 검증 실패시 사용하는 기본 메시지(default message)
+ */
+public interface ConstraintMessages {
+
+    /**
+     * @param type         검증 대상 타입
+     * @param field        필드 이름
+     * @param constraint   제약조건 이름 (NotBlank, Range ...)
+     * @param invalidValue 검증에 실패한 값
+     */
+    String getDefaultMessage(Class<?> type, String field, String constraint, Object invalidValue);
+
+}
@@ -0,0 +1,38 @@
+package hello.itemservice.web.validation.compiled;
+
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ServletRequest;
+import java.util.Map;
+
+/**
+ * 바인딩할 요청 파라미터 (ServletRequest.getParameterValues 와 같다)
+ */
+@FunctionalInterface
+public interface RequestParameters {
+
+    /**
+     * @return 파라미터가 없으면 null
+     */
+    String[] getParameterValues(String name);
+
+    /**
+     * 요청 파라미터, 없으면 URI 템플릿 변수 (ExtendedServletRequestDataBinder 와 같다)
+     */
+    @SuppressWarnings("unchecked")
+    static RequestParameters of(ServletRequest request) {
+        Map<String, String> uriVars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (uriVars == null || uriVars.isEmpty()) {
+            return request::getParameterValues;
+        }
+        return name -> {
+            String[] values = request.getParameterValues(name);
+            if (values == null || values.length == 0) {
+                String uriVar = uriVars.get(name);
+                return uriVar == null ? values : new String[]{uriVar};
+            }
+            return values;
+        };
+    }
+
+}
@@ -0,0 +1,16 @@
+package hello.itemservice.web.validation.compiled;
+
+import lombok.Data;
+
+/**
+ * 첫번째로 위반한 제약조건 (빠른 실패 검증의 결과)
+ * FieldError, 메시지 코드, 메시지를 만들지 않으므로 생성된 검증기는 상수로 만들어두고 그대로 반환한다.
+ * field 가 null 이면 글로벌 에러 (예: totalPriceMin)
+ */
+@Data
+public class Violation {
+
+    private final String field;
+    private final String code;
+
+}
@@ -0,0 +1,18 @@
+package hello.itemservice.web.validation.form;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * 여러 상품을 한번에 등록하는 폼 : {"items":[{"itemName":"itemA","price":10000,"quantity":10}, ...]}
+ * items 의 각 항목은 ItemBatchFormValidator 가 상품 등록과 같은 규칙으로 검증한다. (@Valid 중첩 검증 대신)
+ */
+@Data
+public class ItemBatchForm {
+
+    @NotEmpty
+    private List<ItemSaveForm> items;
+
+}
@@ -1,5 +1,7 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.processor.GenerateBinder;
+import hello.itemservice.processor.GenerateValidator;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,6 +10,8 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@GenerateValidator // 컴파일 시점에 ItemSaveFormCompiledValidator 생성
+@GenerateBinder // 컴파일 시점에 ItemSaveFormCompiledBinder 생성
 public class ItemSaveForm {
 
     @NotBlank
@@ -1,5 +1,7 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.processor.GenerateBinder;
+import hello.itemservice.processor.GenerateValidator;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,6 +10,8 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@GenerateValidator // 컴파일 시점에 ItemUpdateFormCompiledValidator 생성
+@GenerateBinder // 컴파일 시점에 ItemUpdateFormCompiledBinder 생성
 public class ItemUpdateForm {
 
     @NotNull
@@ -23,4 +27,8 @@ public class ItemUpdateForm {
     // 수정시 수량은 자유
     private Integer quantity;
 
+    // 수정 폼을 열 때 읽은 version (낙관적 잠금)
+    @NotNull
+    private Integer version;
+
 }
@@ -0,0 +1,179 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemRepositoryConcurrencyTest {
+
+    static final int THREADS = 16;
+    static final int ITEMS_PER_THREAD = 5_000;
+
+    ItemRepository itemRepository = new ItemRepository();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                    Item savedItem = itemRepository.save(new Item("item-" + thread + "-" + i, 10000, i));
+                    ids.add(savedItem.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        //then : ID 중복 없음, 저장 누락 없음
+        assertThat(ids).hasSize(THREADS * ITEMS_PER_THREAD);
+        assertThat(itemRepository.findAll()).hasSize(THREADS * ITEMS_PER_THREAD);
+        for (Long id : ids) {
+            assertThat(itemRepository.findById(id)).isNotNull();
+        }
+    }
+
+    @Test
+    void concurrentSaveAllWithSave() throws Exception {
+        //given : 절반은 대량 저장, 절반은 한 건씩 저장
+        int batchSize = 1_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<List<Item>> batches = new ArrayList<>();
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITEMS_PER_THREAD; i += batchSize) {
+                    if (thread % 2 == 0) {
+                        List<Item> batch = new ArrayList<>(batchSize);
+                        for (int j = 0; j < batchSize; j++) {
+                            batch.add(new Item("batch-" + thread + "-" + (i + j), 10000, j));
+                        }
+                        itemRepository.saveAll(batch);
+                        synchronized (batches) {
+                            batches.add(batch);
+                        }
+                    } else {
+                        for (int j = 0; j < batchSize; j++) {
+                            itemRepository.save(new Item("item-" + thread + "-" + (i + j), 10000, j));
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        //then : 저장 누락 없음, 대량 저장한 목록은 이어진 ID 를 받는다.
+        assertThat(itemRepository.findAll()).hasSize(THREADS * ITEMS_PER_THREAD);
+        for (List<Item> batch : batches) {
+            long firstId = batch.get(0).getId();
+            for (int j = 0; j < batch.size(); j++) {
+                assertThat(batch.get(j).getId()).isEqualTo(firstId + j);
+            }
+        }
+    }
+
+    @Test
+    void concurrentUpdate() throws Exception {
+        //given
+        Long itemId = itemRepository.save(new Item("item", 10000, 0)).getId();
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when : 각 스레드는 (name, price, quantity) 를 항상 같은 값 세트로 수정한다.
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                    itemRepository.update(itemId, new Item("item-" + thread, thread, thread));
+                    Item findItem = itemRepository.findById(itemId);
+                    // 일부 필드만 수정된 상태(torn write)가 보이면 안된다.
+                    assertThat(findItem.getItemName()).isEqualTo("item-" + findItem.getPrice());
+                    assertThat(findItem.getQuantity()).isEqualTo(findItem.getPrice());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        //then
+        assertThat(itemRepository.findAll()).hasSize(1);
+        assertThat(itemRepository.findById(itemId).getId()).isEqualTo(itemId);
+    }
+
+    @Test
+    void concurrentUpdateWithVersion() throws Exception {
+        //given
+        Long itemId = itemRepository.save(new Item("item", 0, 0)).getId();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+
+        //when : 읽은 version 으로 quantity 를 1 늘린다. 충돌하면 다시 읽고 재시도
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    while (true) {
+                        Item findItem = itemRepository.findById(itemId);
+                        Item updateParam = new Item("item", 0, findItem.getQuantity() + 1);
+                        if (itemRepository.update(itemId, updateParam, findItem.getVersion())) {
+                            success.incrementAndGet();
+                            break;
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        //then : 잃어버린 수정(lost update) 이 없다.
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getQuantity()).isEqualTo(THREADS * 1_000).isEqualTo(success.get());
+        assertThat(findItem.getVersion()).isEqualTo(THREADS * 1_000);
+    }
+}
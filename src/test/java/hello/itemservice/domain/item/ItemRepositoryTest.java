@@ -1,9 +1,11 @@
 package hello.itemservice.domain.item;
 
+import hello.itemservice.domain.item.store.SnapshotItemStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -29,6 +31,19 @@ class ItemRepositoryTest {
         assertThat(findItem).isEqualTo(savedItem);
     }
 
+    @Test
+    void saveAll() {
+        //given
+        List<Item> items = List.of(new Item("item1", 10000, 10), new Item("item2", 20000, 20));
+
+        //when
+        itemRepository.saveAll(items);
+
+        //then : ID 는 목록 순서대로 발급된다.
+        assertThat(items.get(1).getId()).isEqualTo(items.get(0).getId() + 1);
+        assertThat(itemRepository.findAll()).containsExactlyElementsOf(items);
+    }
+
     @Test
     void findAll() {
         //given
@@ -65,4 +80,93 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Long itemId = itemRepository.save(new Item("item1", 10000, 10)).getId();
+        int version = itemRepository.findById(itemId).getVersion();
+
+        //when : 같은 version 으로 두 번 수정
+        boolean first = itemRepository.update(itemId, new Item("item2", 20000, 20), version);
+        boolean second = itemRepository.update(itemId, new Item("item3", 30000, 30), version);
+
+        //then : 두 번째 수정은 먼저 수정된 내용을 덮어쓰지 않는다.
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void findPage() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        List<Item> firstPage = itemRepository.findPage(null, 2);
+        List<Item> secondPage = itemRepository.findPage(firstPage.get(1).getId(), 2);
+        List<Item> lastPage = itemRepository.findPage(secondPage.get(1).getId(), 2);
+
+        //then
+        assertThat(firstPage).extracting("itemName").containsExactly("item1", "item2");
+        assertThat(secondPage).extracting("itemName").containsExactly("item3", "item4");
+        assertThat(lastPage).extracting("itemName").containsExactly("item5");
+    }
+
+    @Test
+    void pageWithMaxSize() {
+        //given : 최대 페이지 크기 3
+        ItemRepository repository = new ItemRepository(new SnapshotItemStore(), 3);
+        for (int i = 1; i <= 5; i++) {
+            repository.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        ItemPage firstPage = repository.page(null, null, 10_000_000);
+        ItemPage lastPage = repository.page(new ItemSearchCond(), firstPage.getNextAfterId(), 10_000_000);
+
+        //then : 요청한 크기와 관계없이 최대 페이지 크기만큼만 조회한다.
+        assertThat(firstPage.getSize()).isEqualTo(3);
+        assertThat(firstPage.getItems()).extracting("itemName").containsExactly("item1", "item2", "item3");
+        assertThat(lastPage.getItems()).extracting("itemName").containsExactly("item4", "item5");
+        assertThat(lastPage.getNextAfterId()).isNull();
+        assertThat(repository.findPage(null, 10_000_000)).hasSize(3);
+    }
+
+    @Test
+    void pageExactlyFull() {
+        //given : 페이지 크기의 배수만큼 상품이 있다.
+        ItemRepository repository = new ItemRepository(new SnapshotItemStore(), 3);
+        for (int i = 1; i <= 6; i++) {
+            repository.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        ItemPage firstPage = repository.page(null, null, 3);
+        ItemPage lastPage = repository.page(null, firstPage.getNextAfterId(), 3);
+
+        //then : 꽉 찬 마지막 페이지에는 다음 페이지가 없다.
+        assertThat(firstPage.getItems()).extracting("itemName").containsExactly("item1", "item2", "item3");
+        assertThat(firstPage.getNextAfterId()).isEqualTo(firstPage.getItems().get(2).getId());
+        assertThat(lastPage.getItems()).extracting("itemName").containsExactly("item4", "item5", "item6");
+        assertThat(lastPage.getNextAfterId()).isNull();
+    }
+
+    @Test
+    void stream() {
+        //given
+        for (int i = 1; i <= 3; i++) {
+            itemRepository.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        List<String> names = itemRepository.stream().map(Item::getItemName).collect(Collectors.toList());
+
+        //then
+        assertThat(names).containsExactly("item1", "item2", "item3");
+    }
 }
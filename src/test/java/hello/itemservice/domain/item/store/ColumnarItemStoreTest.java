@@ -0,0 +1,124 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemStoreTest {
+
+    ColumnarItemStore store = new ColumnarItemStore();
+
+    @Test
+    void save() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = store.save(item);
+
+        //then
+        Item findItem = store.findById(savedItem.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+    }
+
+    @Test
+    void saveNullFields() {
+        Item savedItem = store.save(new Item());
+
+        Item findItem = store.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isNull();
+        assertThat(findItem.getPrice()).isNull();
+        assertThat(findItem.getQuantity()).isNull();
+    }
+
+    @Test
+    void findAllBeyondInitialCapacity() {
+        //given
+        for (int i = 0; i < 5000; i++) {
+            store.save(new Item("상품" + (i % 100), 1000 + i, i));
+        }
+
+        //when
+        List<Item> result = store.findAll();
+
+        //then
+        assertThat(result).hasSize(5000);
+        assertThat(result.get(4999).getItemName()).isEqualTo("상품99");
+        assertThat(result.get(4999).getPrice()).isEqualTo(5999);
+    }
+
+    @Test
+    void findPageAndStream() {
+        //given : stream() 은 STREAM_CHUNK_SIZE 단위로 나누어 읽는다.
+        int count = ItemStore.STREAM_CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            store.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        List<Item> page = store.findPage(3L, 2);
+        List<Long> ids = store.stream().map(Item::getId).collect(Collectors.toList());
+
+        //then
+        assertThat(page).extracting("id").containsExactly(4L, 5L);
+        assertThat(store.findPage((long) count, 10)).isEmpty();
+        assertThat(ids).hasSize(count);
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    void updateItem() {
+        //given
+        Long itemId = store.save(new Item("item1", 10000, 10)).getId();
+
+        //when
+        store.update(itemId, new Item("item2", 20000, 30));
+
+        //then
+        Item findItem = store.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(30);
+    }
+
+    @Test
+    void renameReleasesOldNames() {
+        //given
+        for (int i = 0; i < 1000; i++) {
+            store.save(new Item("상품" + i, 10000, 10));
+        }
+        store.update(2L, new Item(null, 10000, 10));
+
+        //when : 수정할 때마다 새 상품명 (이전 상품명은 참조가 없어진다)
+        for (int round = 0; round < 100; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                store.update(id, new Item("상품" + id + "-" + round, 10000, 10));
+            }
+        }
+
+        //then : 참조가 없는 상품명은 compact 되어 메모리가 계속 늘어나지 않는다. (compact 하지 않으면 약 4.5MB)
+        assertThat(store.capacityBytes()).isLessThan(1024 * 1024);
+        assertThat(store.findById(1L).getItemName()).isEqualTo("상품1-99");
+        assertThat(store.findById(1000L).getItemName()).isEqualTo("상품1000-99");
+        assertThat(store.findAll()).extracting(Item::getItemName).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void clear() {
+        //given
+        Long oldId = store.save(new Item("item1", 10000, 10)).getId();
+
+        //when
+        store.clear();
+        Long newId = store.save(new Item("item2", 20000, 20)).getId();
+
+        //then : clear 이후에도 ID 는 재사용하지 않는다.
+        assertThat(store.findById(oldId)).isNull();
+        assertThat(newId).isGreaterThan(oldId);
+        assertThat(store.findAll()).hasSize(1);
+    }
+}
@@ -0,0 +1,100 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemSearchCond;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IndexedItemStoreTest {
+
+    IndexedItemStore store = new IndexedItemStore(new MapItemStore(), 100);
+
+    @Test
+    void searchByIndex() {
+        //given
+        Item itemA = store.save(new Item("apple", 1000, 5));
+        store.save(new Item("banana", 2000, 50));
+        Item itemC = store.save(new Item("apricot", 3000, 1));
+
+        //when, then
+        assertThat(store.search(new ItemSearchCond("ap", null, null, null), null, 10)).containsExactly(itemA, itemC);
+        assertThat(store.search(new ItemSearchCond(null, 1500, 3000, null), null, 10)).extracting(Item::getItemName)
+                .containsExactly("banana", "apricot");
+        assertThat(store.search(new ItemSearchCond(null, null, null, 10), null, 10)).containsExactly(itemA, itemC);
+        assertThat(store.search(new ItemSearchCond("ap", null, null, 3), null, 10)).containsExactly(itemC);
+    }
+
+    @Test
+    void updateKeepsIndexInSync() {
+        //given
+        Item item = store.save(new Item("apple", 1000, 5));
+
+        //when
+        store.update(item.getId(), new Item("cherry", 50000, 100));
+
+        //then : 이전 값으로는 검색되지 않는다.
+        assertThat(store.search(new ItemSearchCond("ap", null, null, null), null, 10)).isEmpty();
+        assertThat(store.search(new ItemSearchCond(null, null, 1000, null), null, 10)).isEmpty();
+        assertThat(store.search(new ItemSearchCond(null, null, null, 10), null, 10)).isEmpty();
+        assertThat(store.search(new ItemSearchCond("ch", 50000, 50000, 101), null, 10))
+                .extracting(Item::getId).containsExactly(item.getId());
+    }
+
+    @Test
+    void restoreAndClear() {
+        //given
+        Item item = new Item("apple", 1000, 5);
+        item.setId(10L);
+        store.restore(item);
+
+        //when
+        Item restored = new Item("banana", 1000, 5);
+        restored.setId(10L);
+        restored.setVersion(1);
+        store.restore(restored);
+
+        //then
+        assertThat(store.search(new ItemSearchCond("ap", null, null, null), null, 10)).isEmpty();
+        assertThat(store.search(new ItemSearchCond("ba", null, null, null), null, 10)).containsExactly(restored);
+
+        store.clear();
+        assertThat(store.search(new ItemSearchCond(null, 0, null, null), null, 10)).isEmpty();
+    }
+
+    @Test
+    void sameResultAsScan() {
+        //given : 인덱스 후보가 maxCandidates(100) 보다 많은 조건은 전체 조회로 처리된다.
+        MapItemStore scanStore = new MapItemStore();
+        Random random = new Random(1);
+        for (int i = 0; i < 5000; i++) {
+            Item item = new Item("item" + random.nextInt(1000), 1000 + random.nextInt(1_000_000), random.nextInt(10_000));
+            store.save(item);
+            scanStore.restore(item);
+        }
+        List<ItemSearchCond> conds = List.of(
+                new ItemSearchCond("item12", null, null, null),
+                new ItemSearchCond("item", null, null, null),
+                new ItemSearchCond(null, 1000, 5000, null),
+                new ItemSearchCond(null, 1000, 1_000_000, 100),
+                new ItemSearchCond(null, null, null, 10),
+                new ItemSearchCond("item1", 500_000, null, 5000));
+
+        //when, then : keyset 페이징으로 끝까지 읽어도 결과가 같다.
+        for (ItemSearchCond cond : conds) {
+            Long afterId = null;
+            while (true) {
+                List<Item> page = store.search(cond, afterId, 7);
+                assertThat(page).as(cond.toString()).isEqualTo(scanStore.search(cond, afterId, 7));
+                if (page.size() < 7) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PersistentItemStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoverFromLog() throws IOException {
+        //given
+        PersistentItemStore store = open(MapItemStore::new);
+        Long itemAId = store.save(new Item("itemA", 10000, 10)).getId();
+        Long itemBId = store.save(new Item("itemB", 20000, 20)).getId();
+        store.update(itemAId, new Item("itemA2", 15000, 15));
+        store.close();
+
+        //when
+        PersistentItemStore recovered = open(MapItemStore::new);
+
+        //then
+        assertThat(recovered.findAll()).hasSize(2);
+        assertThat(recovered.findById(itemAId)).isEqualTo(item(itemAId, "itemA2", 15000, 15, 1));
+        assertThat(recovered.findById(itemBId)).isEqualTo(item(itemBId, "itemB", 20000, 20));
+        // 복구 후 발급되는 ID 는 기존 ID 와 겹치지 않는다.
+        assertThat(recovered.save(new Item("itemC", 30000, 30)).getId()).isGreaterThan(itemBId);
+        recovered.close();
+    }
+
+    @Test
+    void recoverFromSnapshotAndLog() throws IOException {
+        //given
+        PersistentItemStore store = open(ColumnarItemStore::new);
+        Long itemAId = store.save(new Item("itemA", 10000, 10)).getId();
+        store.snapshot();
+        Long itemBId = store.save(new Item("itemB", 20000, null)).getId();
+        store.update(itemAId, new Item(null, 15000, 15));
+        store.close();
+
+        //when
+        PersistentItemStore recovered = open(ColumnarItemStore::new);
+
+        //then : 이전 세대 로그는 삭제되고 스냅샷 + 새 로그로 복구된다.
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("items.snapshot", "items-2.log");
+        }
+        assertThat(recovered.findById(itemAId)).isEqualTo(item(itemAId, null, 15000, 15, 1));
+        assertThat(recovered.findById(itemBId)).isEqualTo(item(itemBId, "itemB", 20000, null));
+        recovered.close();
+    }
+
+    @Test
+    void recoverClear() throws IOException {
+        //given
+        PersistentItemStore store = open(ColumnarItemStore::new);
+        store.save(new Item("itemA", 10000, 10));
+        store.clear();
+        Long itemBId = store.save(new Item("itemB", 20000, 20)).getId();
+        store.close();
+
+        //when
+        PersistentItemStore recovered = open(ColumnarItemStore::new);
+
+        //then
+        assertThat(recovered.findAll()).containsExactly(item(itemBId, "itemB", 20000, 20));
+        recovered.close();
+    }
+
+    @Test
+    void ignoreTornRecord() throws IOException {
+        //given
+        PersistentItemStore store = open(MapItemStore::new);
+        Long itemAId = store.save(new Item("itemA", 10000, 10)).getId();
+        store.save(new Item("itemB", 20000, 20));
+        store.close();
+
+        // 두번째 레코드를 기록하던 중 종료된 상황
+        try (FileChannel channel = FileChannel.open(directory.resolve("items-1.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), ItemLog.RECORD_SIZE + 25);
+        }
+
+        //when
+        PersistentItemStore recovered = open(MapItemStore::new);
+
+        //then
+        assertThat(recovered.findAll()).containsExactly(item(itemAId, "itemA", 10000, 10));
+        recovered.close();
+    }
+
+    @Test
+    void recoverSaveAll() throws IOException {
+        //given
+        PersistentItemStore store = open(ColumnarItemStore::new);
+        store.saveAll(List.of(new Item("itemA", 10000, 10), new Item("itemB", 20000, 20)));
+        store.close();
+
+        //when
+        PersistentItemStore recovered = open(ColumnarItemStore::new);
+
+        //then
+        assertThat(recovered.findAll()).containsExactly(item(1L, "itemA", 10000, 10), item(2L, "itemB", 20000, 20));
+        recovered.close();
+    }
+
+    @Test
+    void recoverLongName() throws IOException {
+        //given : 한 레코드에 들어가지 않는 상품명 -> 이어지는 레코드에 나누어 기록
+        String longName = "가".repeat(100);
+        String veryLongName = "a".repeat(100_000); // 스냅샷 chunk 보다 큰 상품
+        PersistentItemStore store = open(ColumnarItemStore::new);
+        Long itemAId = store.save(new Item(longName, 10000, 10)).getId();
+        store.snapshot();
+        Long itemBId = store.saveAll(List.of(new Item("itemB", 20000, 20), new Item(veryLongName, 30000, 30))).get(0).getId();
+        store.update(itemAId, new Item(longName + "2", 15000, 15));
+        store.close();
+
+        //when
+        PersistentItemStore recovered = open(ColumnarItemStore::new);
+        recovered.snapshot();
+        recovered.close();
+        PersistentItemStore fromSnapshot = open(ColumnarItemStore::new);
+
+        //then
+        assertThat(recovered.findById(itemAId)).isEqualTo(item(itemAId, longName + "2", 15000, 15, 1));
+        assertThat(fromSnapshot.findAll()).containsExactly(
+                item(itemAId, longName + "2", 15000, 15, 1),
+                item(itemBId, "itemB", 20000, 20),
+                item(itemBId + 1, veryLongName, 30000, 30));
+        fromSnapshot.close();
+    }
+
+    @Test
+    void ignoreTornLongName() throws IOException {
+        //given : 이어지는 레코드를 기록하던 중 종료된 상황
+        PersistentItemStore store = open(MapItemStore::new);
+        Long itemAId = store.save(new Item("itemA", 10000, 10)).getId();
+        store.save(new Item("a".repeat(1000), 20000, 20));
+        store.close();
+        try (FileChannel channel = FileChannel.open(directory.resolve("items-1.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), ItemLog.RECORD_SIZE * 3 + 30);
+        }
+
+        //when
+        PersistentItemStore recovered = open(MapItemStore::new);
+        Long itemCId = recovered.save(new Item("itemC", 30000, 30)).getId();
+        recovered.close();
+        PersistentItemStore reopened = open(MapItemStore::new);
+
+        //then : 완성되지 않은 상품은 버리고, 그 자리부터 이어서 기록한다. (남아 있던 이어지는 레코드는 읽지 않는다)
+        assertThat(reopened.findAll()).containsExactly(item(itemAId, "itemA", 10000, 10), item(itemCId, "itemC", 30000, 30));
+        reopened.close();
+    }
+
+    @Test
+    void recoverLegacyRecord() throws IOException {
+        //given : version 이 없던 이전 형식(TYPE_PUT_LEGACY) 레코드
+        byte[] name = "itemA".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(ItemLog.RECORD_SIZE)
+                .put(ItemLog.TYPE_PUT_LEGACY).put((byte) 0).putShort((short) name.length)
+                .putInt(10000).putInt(10).putLong(1L).putInt(0).put(name);
+        record.putInt(20, ItemLog.checksum(new CRC32(), record.array(), 0));
+        Files.write(directory.resolve("items-1.log"), record.array());
+
+        //when
+        PersistentItemStore recovered = open(MapItemStore::new);
+
+        //then : version 은 0 으로 읽고, 이후 수정은 version 검사 대상이 된다.
+        assertThat(recovered.findById(1L)).isEqualTo(item(1L, "itemA", 10000, 10));
+        assertThat(recovered.update(1L, new Item("itemA2", 10000, 10), 0)).isTrue();
+        assertThat(recovered.update(1L, new Item("itemA3", 10000, 10), 0)).isFalse();
+        recovered.close();
+    }
+
+    private PersistentItemStore open(Supplier<ItemStore> delegate) {
+        return new PersistentItemStore(delegate.get(), directory, FsyncPolicy.ALWAYS, Duration.ofMillis(100), Duration.ZERO);
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        return item(id, itemName, price, quantity, 0);
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity, int version) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}
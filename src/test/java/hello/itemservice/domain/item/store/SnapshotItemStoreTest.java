@@ -0,0 +1,102 @@
+package hello.itemservice.domain.item.store;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SnapshotItemStoreTest {
+
+    SnapshotItemStore store = new SnapshotItemStore();
+
+    @Test
+    void saveAndFindImmutable() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = store.save(item);
+
+        //then : 저장소의 상품은 저장 후 원본을 수정해도 바뀌지 않고, 직접 수정할 수 없다.
+        Item findItem = store.findById(savedItem.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+        item.setPrice(20000);
+        assertThat(store.findById(savedItem.getId()).getPrice()).isEqualTo(10000);
+        assertThatThrownBy(() -> findItem.setPrice(20000)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void findAllIsSnapshot() {
+        //given
+        Item itemA = store.save(new Item("itemA", 10000, 10));
+        List<Item> before = store.findAll();
+
+        //when
+        store.update(itemA.getId(), new Item("itemB", 20000, 20));
+        store.save(new Item("itemC", 30000, 30));
+
+        //then : 조회한 목록은 이후 변경의 영향을 받지 않는다.
+        assertThat(before).extracting(Item::getItemName).containsExactly("itemA");
+        assertThat(store.findAll()).extracting(Item::getItemName).containsExactly("itemB", "itemC");
+        assertThatThrownBy(() -> before.add(new Item())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void findPageAndStreamBeyondOneLevel() {
+        //given : 32 * 32 개를 넘으면 trie 높이가 늘어난다.
+        int count = 32 * 32 * 3 + 5;
+        for (int i = 0; i < count; i++) {
+            store.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        List<Item> page = store.findPage(1000L, 3);
+
+        //then
+        assertThat(page).extracting(Item::getId).containsExactly(1001L, 1002L, 1003L);
+        assertThat(store.findAll()).hasSize(count);
+        assertThat(store.findAll().get(count - 1).getQuantity()).isEqualTo(count - 1);
+        assertThat(store.stream().map(Item::getId).collect(Collectors.toList()))
+                .hasSize(count).isSorted().startsWith(1L).endsWith((long) count);
+    }
+
+    @Test
+    void clearKeepsSequenceAndSkipsEmptyRange() {
+        //given
+        for (int i = 0; i < 100; i++) {
+            store.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        store.clear();
+        Item savedItem = store.save(new Item("itemA", 10000, 10));
+
+        //then : ID 는 이어서 발급되고, 비어있는 구간은 건너뛴다.
+        assertThat(savedItem.getId()).isEqualTo(101L);
+        assertThat(store.findAll()).containsExactly(savedItem);
+        assertThat(store.findPage(null, 10)).containsExactly(savedItem);
+        assertThat(store.stream().collect(Collectors.toList())).containsExactly(savedItem);
+    }
+
+    @Test
+    void restoreWithGap() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+        item.setId(5000L);
+        item.setVersion(3);
+
+        //when
+        store.restore(item);
+        Item savedItem = store.save(new Item("itemB", 10000, 10));
+
+        //then
+        assertThat(store.findById(5000L)).isEqualTo(item);
+        assertThat(savedItem.getId()).isEqualTo(5001L);
+        assertThat(store.findAll()).extracting(Item::getId).containsExactly(5000L, 5001L);
+        assertThat(store.findById(1L)).isNull();
+    }
+
+}
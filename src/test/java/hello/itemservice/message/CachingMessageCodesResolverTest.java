@@ -0,0 +1,39 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMessageCodesResolverTest {
+
+    CachingMessageCodesResolver codesResolver = new CachingMessageCodesResolver(new DefaultMessageCodesResolver(), 2);
+
+    @Test
+    void cachedCodes() {
+        String[] first = codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] second = codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+
+        assertThat(first).containsExactly("required.item.itemName", "required.itemName", "required.java.lang.String", "required");
+        assertThat(second).isSameAs(first);
+        assertThat(codesResolver.getStats().getHitCount()).isEqualTo(1);
+        assertThat(codesResolver.getStats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void objectAndFieldCodesAreDifferentKeys() {
+        assertThat(codesResolver.resolveMessageCodes("required", "item")).containsExactly("required.item", "required");
+        assertThat(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class)).hasSize(4);
+    }
+
+    @Test
+    void eviction() {
+        codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        codesResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+        codesResolver.resolveMessageCodes("max", "item", "quantity", Integer.class);
+
+        assertThat(codesResolver.getStats().getSize()).isEqualTo(2);
+        assertThat(codesResolver.getStats().getEvictionCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMessageSourceTest {
+
+    ResourceBundleMessageSource delegate;
+    CachingMessageSource ms;
+
+    @BeforeEach
+    void init() {
+        delegate = new ResourceBundleMessageSource();
+        delegate.setBasenames("messages", "errors");
+        delegate.setDefaultEncoding("UTF-8");
+        ms = new CachingMessageSource(delegate, 100, null);
+    }
+
+    @Test
+    void fieldErrorMessage() {
+        //given : range.item.price 가 있으므로 첫번째 코드에서 찾는다.
+        DefaultMessageSourceResolvable range = fieldError("range", "price", 1000, 1000000);
+        //given : max.item.price 가 없으므로 max.java.lang.Integer 까지 찾는다.
+        DefaultMessageSourceResolvable max = fieldError("max", "price", 9999);
+
+        //when
+        String rangeMessage = ms.getMessage(range, Locale.KOREA);
+        String maxMessage = ms.getMessage(max, Locale.KOREA);
+        String maxMessageAgain = ms.getMessage(fieldError("max", "price", 100), Locale.KOREA);
+
+        //then
+        assertThat(rangeMessage).isEqualTo(delegate.getMessage(range, Locale.KOREA)).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+        assertThat(maxMessage).isEqualTo(delegate.getMessage(max, Locale.KOREA)).isEqualTo("9,999 까지의 숫자를 허용합니다.");
+        assertThat(maxMessageAgain).isEqualTo("100 까지의 숫자를 허용합니다.");
+        assertThat(ms.getStats().getMissCount()).isEqualTo(2);
+        assertThat(ms.getStats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void defaultMessage() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"no_code.item", "no_code"}, null, "기본 메시지");
+
+        assertThat(ms.getMessage(resolvable, Locale.KOREA)).isEqualTo("기본 메시지");
+        assertThat(ms.getMessage(resolvable, Locale.KOREA)).isEqualTo("기본 메시지");
+        assertThat(ms.getStats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void notFoundMessage() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[]{"no_code.item", "no_code"});
+
+        assertThatThrownBy(() -> ms.getMessage(resolvable, Locale.KOREA))
+                .isInstanceOf(org.springframework.context.NoSuchMessageException.class);
+    }
+
+    @Test
+    void clearCache() {
+        ms.getMessage(fieldError("range", "price", 1000, 1000000), Locale.KOREA);
+        assertThat(ms.getStats().getSize()).isEqualTo(1);
+
+        ms.clearCache();
+
+        assertThat(ms.getStats().getSize()).isEqualTo(0);
+    }
+
+    private DefaultMessageSourceResolvable fieldError(String errorCode, String field, Object... args) {
+        String[] codes = new DefaultMessageCodesResolver().resolveMessageCodes(errorCode, "item", field, Integer.class);
+        return new DefaultMessageSourceResolvable(codes, args);
+    }
+
+}
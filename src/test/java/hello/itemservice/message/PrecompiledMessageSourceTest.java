@@ -0,0 +1,97 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * PrecompiledMessageSource 는 ResourceBundleMessageSource 와 같은 메시지를 만들어야 한다.
+ */
+class PrecompiledMessageSourceTest {
+
+    ResourceBundleMessageSource expected = resourceBundleMessageSource();
+    PrecompiledMessageSource ms = new PrecompiledMessageSource(new String[]{"messages", "errors"},
+            StandardCharsets.UTF_8, true, false, List.of(Locale.ENGLISH));
+
+    Locale[] locales = {null, Locale.KOREA, Locale.KOREAN, Locale.ENGLISH, Locale.US, Locale.FRENCH};
+
+    @Test
+    void message() {
+        for (Locale locale : locales) {
+            for (String code : new String[]{"hello", "label.item.itemName", "page.next", "required.item.itemName", "typeMismatch"}) {
+                assertThat(ms.getMessage(code, null, locale)).as("%s %s", code, locale)
+                        .isEqualTo(expected.getMessage(code, null, locale));
+            }
+        }
+    }
+
+    @Test
+    void argumentMessage() {
+        Object[][] arguments = {
+                {"Spring"}, {1000, 1000000}, {-1234567L, Long.MIN_VALUE}, {1234.5, new BigDecimal("12345.678")},
+                {null, (short) 12}, {}, {10000}
+        };
+        for (Locale locale : locales) {
+            for (String code : new String[]{"hello.name", "range.item.price", "totalPriceMin.item", "hello"}) {
+                for (Object[] args : arguments) {
+                    assertThat(ms.getMessage(code, args, locale)).as("%s %s", code, locale)
+                            .isEqualTo(expected.getMessage(code, args, locale));
+                }
+            }
+        }
+    }
+
+    @Test
+    void resolvableMessage() {
+        // Bean Validation 오류와 같이 첫번째 인자가 필드명 코드인 경우 (label 없음 -> 기본 메시지)
+        DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price");
+        String[] codes = new DefaultMessageCodesResolver().resolveMessageCodes("Range", "item", "price", Integer.class);
+        DefaultMessageSourceResolvable error = new DefaultMessageSourceResolvable(codes, new Object[]{field, 1000000L, 1000L});
+
+        assertThat(ms.getMessage(error, Locale.KOREA)).isEqualTo(expected.getMessage(error, Locale.KOREA))
+                .isEqualTo("price, 1,000 ~ 1,000,000 허용");
+    }
+
+    @Test
+    void defaultMessage() {
+        String[] patterns = {"기본 메시지", "it''s {0}", "'{0}' {1}", "{0,number,#} {1}", "{0} {", "{ 0}", "{1} {0} {2}"};
+        Object[] args = {12345, "a"};
+        for (String pattern : patterns) {
+            assertThat(ms.getMessage("no_code", args, pattern, Locale.KOREA)).as(pattern)
+                    .isEqualTo(expected.getMessage("no_code", args, pattern, Locale.KOREA));
+            assertThat(ms.getMessage("no_code", null, pattern, Locale.KOREA)).isEqualTo(pattern);
+        }
+        assertThat(ms.getMessage("no_code", null, null, Locale.KOREA)).isNull();
+    }
+
+    @Test
+    void notFoundMessage() {
+        assertThatThrownBy(() -> ms.getMessage("no_code", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> ms.getMessage(new DefaultMessageSourceResolvable("no_code"), Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    void reload() {
+        ms.reload();
+        assertThat(ms.getMessage("hello", null, Locale.ENGLISH)).isEqualTo("hello");
+    }
+
+    private ResourceBundleMessageSource resourceBundleMessageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+
+}
@@ -0,0 +1,88 @@
+package hello.itemservice.web.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "item.async.enabled=true")
+@AutoConfigureMockMvc
+class OffloadingRequestMappingHandlerAdapterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void addItemRedirect() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then : 비동기 결과를 다시 디스패치하면 기존과 같이 처리된다.
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(header().string("Location", matchesPattern("/validation/v4/items/\\d+\\?status=true")));
+    }
+
+    @Test
+    void addItemValidationError() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "100")
+                        .param("quantity", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v4/addForm"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "price", "Range"));
+    }
+
+    @Test
+    void apiLocale() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(post("/validation/api/items/batch")
+                        .locale(Locale.KOREA)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemName\":\"itemA\",\"price\":1000,\"quantity\":1}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then : 실행기 스레드에서도 요청 Locale 로 메시지를 만든다.
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors[0].errors[0].message", startsWith("전체 가격은")));
+    }
+
+    @Test
+    void streamEndpoint() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(post("/validation/api/items/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(endsWith("{\"total\":1,\"saved\":1,\"rejected\":0}\n")));
+    }
+
+}
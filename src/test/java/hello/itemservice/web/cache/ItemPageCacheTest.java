@@ -0,0 +1,130 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemPageCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    Long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+        itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+    }
+
+    @Test
+    void itemNotModified() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/validation/v4/items/{itemId}", itemId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_LANGUAGE)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when, then : 변경이 없으면 렌더링 없이 304
+        mockMvc.perform(get("/validation/v4/items/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void itemModifiedByUpdate() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/validation/v4/items/{itemId}", itemId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        itemRepository.update(itemId, new Item("itemB", 20000, 20));
+
+        //then : 수정되면 새 ETag 로 다시 렌더링
+        mockMvc.perform(get("/validation/v4/items/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(content().string(containsString("itemB")));
+    }
+
+    @Test
+    void otherItemUpdateKeepsItemETag() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/validation/v4/items/{itemId}", itemId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        Long otherId = itemRepository.save(new Item("itemC", 10000, 10)).getId();
+        itemRepository.update(otherId, new Item("itemD", 10000, 10));
+
+        //then
+        mockMvc.perform(get("/validation/v4/items/{itemId}", itemId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void renderedPageReused() throws Exception {
+        //given
+        MvcResult first = mockMvc.perform(get("/validation/v4/items/{itemId}", itemId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //when
+        MvcResult second = mockMvc.perform(get("/validation/v4/items/{itemId}", itemId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then : 핸들러를 호출하지 않고 보관된 렌더링 결과로 응답
+        assertThat(first.getModelAndView()).isNotNull();
+        assertThat(second.getModelAndView()).isNull();
+        assertThat(second.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+    }
+
+    @Test
+    void itemsModifiedBySave() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/validation/v1/items"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/validation/v1/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //when
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //then
+        mockMvc.perform(get("/validation/v1/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("itemB")));
+    }
+
+    @Test
+    void etagPerLanguage() throws Exception {
+        String ko = mockMvc.perform(get("/validation/v3/items/{itemId}", itemId).header(HttpHeaders.ACCEPT_LANGUAGE, "ko"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/validation/v3/items/{itemId}", itemId)
+                        .header(HttpHeaders.ACCEPT_LANGUAGE, "en")
+                        .header(HttpHeaders.IF_NONE_MATCH, ko))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(ko)));
+    }
+
+}
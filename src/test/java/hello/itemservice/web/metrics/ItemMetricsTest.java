@@ -0,0 +1,124 @@
+package hello.itemservice.web.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class ItemMetricsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void bindingResultErrors() throws Exception {
+        //given
+        double before = errorCount("ValidationItemControllerV4", "range");
+
+        //when
+        mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "100")
+                        .param("quantity", "10"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(errorCount("ValidationItemControllerV4", "range")).isEqualTo(before + 1);
+        assertThat(timer("item.binding", "controller", "ValidationItemControllerV4", "source", "modelAttribute").count()).isPositive();
+        assertThat(timer("item.validation", "controller", "ValidationItemControllerV4", "validator", "beanValidation").count()).isPositive();
+        assertThat(timer("item.render", "controller", "ValidationItemControllerV4").count()).isPositive();
+        assertThat(registry.get("item.repository").tag("operation", "save").timer()).isNotNull();
+    }
+
+    @Test
+    void registeredValidator() throws Exception {
+        //given
+        double before = errorCount("ValidationItemControllerV2", "totalPriceMin");
+
+        //when
+        mockMvc.perform(post("/validation/v2/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "1000")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk());
+
+        //then : 컨트롤러에 등록한 검증기(ValidatorRegistry) 도 검증기별로 기록된다.
+        assertThat(errorCount("ValidationItemControllerV2", "totalPriceMin")).isEqualTo(before + 1);
+        assertThat(timer("item.validation", "controller", "ValidationItemControllerV2", "validator", "ItemValidator").count()).isPositive();
+    }
+
+    @Test
+    void v1ErrorMap() throws Exception {
+        //given
+        double before = errorCount("ValidationItemControllerV1", "required");
+
+        //when
+        mockMvc.perform(post("/validation/v1/items/add")
+                        .param("itemName", "")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(errorCount("ValidationItemControllerV1", "required")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void requestBody() throws Exception {
+        //given
+        double before = errorCount("ValidationItemApiController", "max");
+
+        //when
+        mockMvc.perform(post("/validation/api/items/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10000}"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(errorCount("ValidationItemApiController", "max")).isEqualTo(before + 1);
+        assertThat(timer("item.binding", "controller", "ValidationItemApiController", "source", "requestBody").count()).isPositive();
+    }
+
+    @Test
+    void prometheus() throws Exception {
+        //given
+        mockMvc.perform(post("/validation/v4/items/add")
+                .param("itemName", "")
+                .param("price", "10000")
+                .param("quantity", "10"));
+
+        //when, then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("item_validation_errors_total{code=\"required\",controller=\"ValidationItemControllerV4\",}")))
+                .andExpect(content().string(containsString("item_repository_seconds_count")))
+                .andExpect(content().string(containsString("item_message_cache_requests_total")));
+    }
+
+    private double errorCount(String controller, String code) {
+        Counter counter = registry.find("item.validation.errors").tag("controller", controller).tag("code", code).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private Timer timer(String name, String... tags) {
+        return registry.get(name).tags(tags).timer();
+    }
+
+}
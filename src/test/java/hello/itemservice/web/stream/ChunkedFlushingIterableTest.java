@@ -0,0 +1,48 @@
+package hello.itemservice.web.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedFlushingIterableTest {
+
+    @Test
+    void flushEveryChunk() {
+        //given
+        List<Integer> source = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        AtomicInteger flushed = new AtomicInteger();
+        List<Integer> flushedAt = new ArrayList<>();
+        List<Integer> result = new ArrayList<>();
+        ChunkedFlushingIterable<Integer> iterable = new ChunkedFlushingIterable<>(source.iterator(), () -> {
+            flushed.incrementAndGet();
+            flushedAt.add(result.size());
+        }, 4);
+
+        //when
+        for (Integer value : iterable) {
+            result.add(value);
+        }
+
+        //then : 순회 시작, 4개, 8개 뒤 (마지막 나머지는 렌더링이 끝날 때 응답이 내보낸다)
+        assertThat(result).isEqualTo(source);
+        assertThat(flushed).hasValue(3);
+        assertThat(flushedAt).containsExactly(0, 4, 8);
+    }
+
+    @Test
+    void iterateOnce() {
+        ChunkedFlushingIterable<Integer> iterable = new ChunkedFlushingIterable<>(List.of(1).iterator(), () -> {
+        }, 1);
+        iterable.iterator();
+
+        assertThatThrownBy(iterable::iterator).isInstanceOf(IllegalStateException.class);
+    }
+
+}
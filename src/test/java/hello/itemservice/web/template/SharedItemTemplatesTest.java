@@ -0,0 +1,120 @@
+package hello.itemservice.web.template;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"item.template.shared.enabled=true", "item.cache.enabled=false"})
+@AutoConfigureMockMvc
+class SharedItemTemplatesTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    SharedItemTemplates sharedItemTemplates;
+
+    Long itemId;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+        itemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+    }
+
+    @Test
+    void preRenderedTemplate() {
+        //when
+        String template = sharedItemTemplates.template(sharedItemTemplates.templateName("items", "v4", Locale.ENGLISH));
+
+        //then : 메시지, 경로, 조각 참조가 미리 반영되고 동적인 부분만 남는다.
+        assertThat(template)
+                .contains("<h2>Item List</h2>", "placeholder=\"min price\"", "@{/validation/v4/items/add}",
+                        "~{validation/shared/fragments@v4@en :: head}", "th:text=\"${item.itemName}\"")
+                .doesNotContain("#{", "@version@", "th:placeholder");
+    }
+
+    @Test
+    void unknownTemplate() {
+        assertThat(sharedItemTemplates.template("validation/v1/items")).isNull();
+        assertThat(sharedItemTemplates.template("validation/shared/items@v9@ko")).isNull();
+    }
+
+    @Test
+    void unsupportedLanguage() throws Exception {
+        // 지원하지 않는 언어는 기본 언어(ko) 의 템플릿을 사용하고, 새 템플릿을 만들지 않는다.
+        assertThat(sharedItemTemplates.templateName("items", "v4", Locale.FRENCH)).isEqualTo("validation/shared/items@v4@ko");
+        assertThat(sharedItemTemplates.template("validation/shared/items@v4@fr")).isNull();
+
+        mockMvc.perform(get("/validation/v4/items").header(HttpHeaders.ACCEPT_LANGUAGE, "xx"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<h2>상품 목록</h2>")));
+    }
+
+    @Test
+    void itemsPerVersionAndLocale() throws Exception {
+        mockMvc.perform(get("/validation/v2/items").header(HttpHeaders.ACCEPT_LANGUAGE, "en"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<h2>Item List</h2>")))
+                .andExpect(content().string(containsString("href=\"/validation/v2/items/" + itemId + "\"")))
+                .andExpect(content().string(not(containsString("namePrefix"))));
+
+        mockMvc.perform(get("/validation/v4/items").param("namePrefix", "it").header(HttpHeaders.ACCEPT_LANGUAGE, "ko"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<h2>상품 목록</h2>")))
+                .andExpect(content().string(containsString("value=\"it\"")))
+                .andExpect(content().string(containsString("itemA")));
+    }
+
+    @Test
+    void v1AddFormErrors() throws Exception {
+        // v1 은 BindingResult 대신 errors 맵
+        mockMvc.perform(post("/validation/v1/items/add")
+                        .header(HttpHeaders.ACCEPT_LANGUAGE, "ko")
+                        .param("itemName", "")
+                        .param("price", "10")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("상품명은 필수입니다.")))
+                .andExpect(content().string(containsString("가격 * 수량의 합은 10,000원 이상이어야 합니다.")));
+    }
+
+    @Test
+    void v4AddFormErrors() throws Exception {
+        mockMvc.perform(post("/validation/v4/items/add")
+                        .header(HttpHeaders.ACCEPT_LANGUAGE, "ko")
+                        .param("itemName", "")
+                        .param("price", "10")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("class=\"form-control field-error\"")))
+                .andExpect(content().string(containsString("상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다.")));
+    }
+
+    @Test
+    void v4EditForm() throws Exception {
+        mockMvc.perform(get("/validation/v4/items/{itemId}/edit", itemId).header(HttpHeaders.ACCEPT_LANGUAGE, "en"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<h2>Item Update</h2>")))
+                .andExpect(content().string(containsString("name=\"version\" value=\"0\"")))
+                .andExpect(content().string(containsString("location.href=&#39;/validation/v4/items/" + itemId + "&#39;")));
+    }
+
+}
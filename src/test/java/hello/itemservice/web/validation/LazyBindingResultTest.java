@@ -0,0 +1,120 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemBatchForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.AbstractBindingResult;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyBindingResultTest {
+
+    @Test
+    void sameErrorsAsBeanPropertyBindingResult() {
+        //given : 타입 변환 실패(addError) 다음 검증 오류(rejectValue, reject), 다시 addError
+        Consumer<AbstractBindingResult> errors = bindingResult -> {
+            bindingResult.addError(new FieldError("item", "quantity", "abc", true,
+                    bindingResult.resolveMessageCodes("typeMismatch", "quantity"), null, null));
+            bindingResult.rejectValue("itemName", "required");
+            bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+            bindingResult.reject("totalPriceMin", new Object[]{10000, 100}, null);
+            bindingResult.addError(new FieldError("item", "price", 10, false,
+                    bindingResult.resolveMessageCodes("max", "price"), null, "max"));
+        };
+        Item item = new Item(" ", 10, null);
+        BeanPropertyBindingResult expected = new BeanPropertyBindingResult(item, "item");
+        LazyBindingResult actual = new LazyBindingResult(item, "item");
+
+        //when
+        errors.accept(expected);
+        errors.accept(actual);
+
+        //then
+        assertThat(actual.getErrorCount()).isEqualTo(5);
+        assertThat(actual.getAllErrors()).isEqualTo(expected.getAllErrors());
+        assertThat(actual.getFieldError("price").getRejectedValue()).isEqualTo(10);
+        // 로그(errors={}) 는 클래스 이름만 다르다.
+        assertThat(actual.toString().replace(LazyBindingResult.class.getName(), BeanPropertyBindingResult.class.getName()))
+                .isEqualTo(expected.toString());
+    }
+
+    @Test
+    void countWithoutCreatingErrors() {
+        //given
+        CountingMessageCodesResolver codesResolver = new CountingMessageCodesResolver();
+        LazyBindingResult bindingResult = new LazyBindingResult(new ItemSaveForm(), "item");
+        bindingResult.setMessageCodesResolver(codesResolver);
+
+        //when
+        bindingResult.rejectValue("itemName", "NotBlank");
+        bindingResult.rejectValue("price", "NotNull");
+        bindingResult.reject("totalPriceMin");
+
+        //then : 오류 수, 유무, 오류 코드는 메시지 코드를 만들지 않는다.
+        assertThat(bindingResult.hasErrors()).isTrue();
+        assertThat(bindingResult.getErrorCount()).isEqualTo(3);
+        assertThat(bindingResult.getFieldErrorCount()).isEqualTo(2);
+        assertThat(bindingResult.hasGlobalErrors()).isTrue();
+        assertThat(bindingResult.hasFieldErrors("price")).isTrue();
+        assertThat(bindingResult.hasFieldErrors("quantity")).isFalse();
+        List<String> codes = new ArrayList<>();
+        bindingResult.forEachErrorCode(codes::add);
+        assertThat(codes).containsExactly("NotBlank", "NotNull", "totalPriceMin");
+        assertThat(codesResolver.count).isZero();
+
+        //then : 필드 하나를 읽으면 그 필드의 오류만 만든다.
+        assertThat(bindingResult.getFieldError("price").getCodes()).containsExactly(
+                "NotNull.item.price", "NotNull.price", "NotNull.java.lang.Integer", "NotNull");
+        assertThat(codesResolver.count).isEqualTo(1);
+        assertThat(bindingResult.getFieldErrors("price")).hasSize(1);
+        assertThat(codesResolver.count).isEqualTo(1);
+
+        //then : 전체를 읽으면 나머지를 만든다.
+        assertThat(bindingResult.getAllErrors()).extracting(ObjectError::getCode)
+                .containsExactly("NotBlank", "NotNull", "totalPriceMin");
+        assertThat(codesResolver.count).isEqualTo(3);
+    }
+
+    @Test
+    void nestedPath() {
+        //given : 기록한 시점의 필드 경로를 사용한다.
+        ItemBatchForm form = new ItemBatchForm();
+        ItemSaveForm element = new ItemSaveForm();
+        element.setPrice(10);
+        form.setItems(List.of(element));
+        LazyBindingResult bindingResult = new LazyBindingResult(form, "itemBatchForm");
+
+        //when
+        bindingResult.pushNestedPath("items[0]");
+        bindingResult.rejectValue("price", "range");
+        bindingResult.popNestedPath();
+
+        //then
+        FieldError error = bindingResult.getFieldError("items[0].price");
+        assertThat(error.getRejectedValue()).isEqualTo(10);
+        assertThat(error.getCodes()).contains("range.itemBatchForm.items[0].price", "range.java.lang.Integer");
+        assertThat(bindingResult.getFieldErrors("items*")).containsExactly(error);
+    }
+
+    static class CountingMessageCodesResolver extends DefaultMessageCodesResolver {
+
+        int count;
+
+        @Override
+        public String[] resolveMessageCodes(String errorCode, String objectName, String field, @Nullable Class<?> fieldType) {
+            count++;
+            return super.resolveMessageCodes(errorCode, objectName, field, fieldType);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemBatchForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelCollectionValidatorTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+    static ItemSaveFormValidator itemSaveFormValidator;
+
+    @BeforeAll
+    static void init() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        itemSaveFormValidator = new ItemSaveFormValidator(beanValidator);
+    }
+
+    @AfterAll
+    static void destroy() {
+        beanValidator.close();
+    }
+
+    @Test
+    void nestedPath() {
+        //given
+        ItemBatchForm form = form(3);
+
+        //when
+        BeanPropertyBindingResult bindingResult = validate(new ParallelCollectionValidator(256, 1), form);
+
+        //then : 항목 순서대로, 항목의 글로벌 에러는 항목 경로의 필드 에러
+        FieldError price = bindingResult.getFieldError("items[1].price");
+        assertThat(price.getCode()).isEqualTo("Range");
+        assertThat(price.getCodes()).contains("Range.itemBatchForm.items[1].price", "Range.items.price");
+        assertThat(price.getRejectedValue()).isEqualTo(10);
+        FieldError total = bindingResult.getFieldError("items[2]");
+        assertThat(total.getCode()).isEqualTo("totalPriceMin");
+        assertThat(total.getCodes()).contains("totalPriceMin.itemBatchForm.items[2]", "totalPriceMin");
+        assertThat(bindingResult.getFieldError("items[0]").getCode()).isEqualTo("required");
+        assertThat(bindingResult.hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void parallelSameAsSequential() {
+        //given : threshold 보다 많은 항목
+        ItemBatchForm form = form(5000);
+        ParallelCollectionValidator sequential = new ParallelCollectionValidator(Integer.MAX_VALUE, 1);
+        ParallelCollectionValidator parallel = new ParallelCollectionValidator(16, 4);
+
+        //when
+        BeanPropertyBindingResult expected = validate(sequential, form);
+        BeanPropertyBindingResult actual = validate(parallel, form);
+        parallel.shutdown();
+
+        //then : 스레드와 관계없이 같은 오류, 같은 순서
+        assertThat(actual.getErrorCount()).isEqualTo(expected.getErrorCount()).isPositive();
+        assertThat(describe(actual)).containsExactlyElementsOf(describe(expected));
+    }
+
+    private BeanPropertyBindingResult validate(ParallelCollectionValidator validator, ItemBatchForm form) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "itemBatchForm");
+        validator.validate("items", form.getItems(), itemSaveFormValidator, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * i % 3 == 1 : 필드 오류(itemName, price), i % 3 == 2 : 글로벌 오류(totalPriceMin), i % 21 == 0 : null, 그 외는 정상
+     */
+    private static ItemBatchForm form(int size) {
+        List<ItemSaveForm> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ItemSaveForm item = new ItemSaveForm();
+            item.setItemName(i % 3 == 1 ? " " : "item" + i);
+            item.setPrice(i % 3 == 1 ? 10 : 1000);
+            item.setQuantity(i % 3 == 2 ? 1 : 10);
+            items.add(i % 3 == 0 && i % 7 == 0 ? null : item);
+        }
+        ItemBatchForm form = new ItemBatchForm();
+        form.setItems(items);
+        return form;
+    }
+
+    private static List<String> describe(BeanPropertyBindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(error -> ((FieldError) error).getField() + ":" + error.getCode() + ":" + String.join(",", error.getCodes()))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,116 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.validation.BindingResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "item.store.index.enabled=true")
+@AutoConfigureMockMvc
+class ValidationItemControllerV4Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+        itemRepository.saveAll(List.of(new Item("apple", 1000, 5), new Item("banana", 2000, 50),
+                new Item("apricot", 3000, 1)));
+    }
+
+    @Test
+    void itemsWithFilter() throws Exception {
+        mockMvc.perform(get("/validation/v4/items")
+                        .param("namePrefix", "ap")
+                        .param("maxQuantity", "10")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("items", contains(hasProperty("itemName", is("apple")))))
+                .andExpect(content().string(containsString("namePrefix=ap")));
+    }
+
+    @Test
+    void allItems() throws Exception {
+        mockMvc.perform(get("/validation/v4/items/all"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(containsString("apple"), containsString("banana"), containsString("apricot"))));
+    }
+
+    @Test
+    void itemsWithInvalidFilter() throws Exception {
+        // 숫자가 아닌 조건은 사용하지 않고 오류를 표시한다.
+        mockMvc.perform(get("/validation/v4/items")
+                        .param("namePrefix", "ap")
+                        .param("minPrice", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasFieldErrorCode("cond", "minPrice", "typeMismatch"))
+                .andExpect(model().attribute("items", hasSize(2)));
+    }
+
+    @Test
+    void addWithTypeMismatch() throws Exception {
+        // 생성된 바인더(ItemSaveFormCompiledBinder) 도 typeMismatch 오류를 만들고, 입력한 값은 그대로 다시 표시한다.
+        mockMvc.perform(post("/validation/v4/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "abc")
+                        .param("quantity", "10"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasFieldErrorCode("item", "price", "typeMismatch"))
+                .andExpect(model().attribute(BindingResult.MODEL_KEY_PREFIX + "item", instanceOf(LazyBindingResult.class)))
+                .andExpect(view().name("validation/v4/addForm"))
+                .andExpect(content().string(containsString("value=\"abc\"")));
+    }
+
+    @Test
+    void editWithStaleVersion() throws Exception {
+        //given : 수정 폼을 연 뒤 다른 사용자가 먼저 수정
+        Item item = itemRepository.findByNamePrefix("apple", 1).get(0);
+        itemRepository.update(item.getId(), new Item("apple", 1500, 10), item.getVersion());
+
+        //when
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "apple2")
+                        .param("price", "2000")
+                        .param("quantity", "10")
+                        .param("version", String.valueOf(item.getVersion())))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasErrors("item"))
+                .andExpect(view().name("validation/v4/editForm"));
+
+        //then : 먼저 수정한 내용이 유지된다.
+        assertThat(itemRepository.findById(item.getId()).getPrice()).isEqualTo(1500);
+    }
+
+    @Test
+    void editWithCurrentVersion() throws Exception {
+        Item item = itemRepository.findByNamePrefix("apple", 1).get(0);
+
+        mockMvc.perform(post("/validation/v4/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("itemName", "apple2")
+                        .param("price", "2000")
+                        .param("quantity", "10")
+                        .param("version", String.valueOf(item.getVersion())))
+                .andExpect(status().is3xxRedirection());
+
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("apple2");
+    }
+
+}
@@ -0,0 +1,110 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.metrics.ItemMetrics;
+import hello.itemservice.web.metrics.MeteredValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidatorRegistryTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+    static ValidatorRegistry registry;
+
+    @BeforeAll
+    static void init() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        registry = new ValidatorRegistry(beanValidator, new ItemMetrics(new SimpleMeterRegistry()))
+                .register(ValidationItemControllerV2.class, new ItemValidator());
+    }
+
+    @AfterAll
+    static void destroy() {
+        beanValidator.close();
+    }
+
+    @Test
+    void controllerValidator() throws Exception {
+        //given
+        MethodParameter parameter = new MethodParameter(ValidationItemControllerV2.class.getMethod("addItemV6",
+                Item.class, BindingResult.class, RedirectAttributes.class), 0);
+
+        //when
+        ValidatorRegistry.Binding binding = registry.binding(parameter);
+
+        //then : 글로벌 검증기 다음에 컨트롤러에 등록한 검증기
+        Validator[] validators = binding.getValidators();
+        assertThat(binding.isValidated()).isTrue();
+        assertThat(validators).hasSize(2);
+        assertThat(validators[0]).isSameAs(beanValidator);
+        assertThat(((MeteredValidator) validators[1]).getDelegate()).isInstanceOf(ItemValidator.class);
+        assertThat(registry.binding(parameter)).isSameAs(binding);
+
+        Item item = new Item(" ", 1000, 1);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        binding.validate(item, bindingResult);
+        assertThat(bindingResult.getGlobalError().getCode()).isEqualTo("totalPriceMin");
+    }
+
+    @Test
+    void validationGroups() throws Exception {
+        //given : ItemValidator 는 V2 에만 등록
+        MethodParameter save = new MethodParameter(ValidationItemControllerV3.class.getMethod("addItemV2",
+                Item.class, BindingResult.class, RedirectAttributes.class), 0);
+        MethodParameter update = new MethodParameter(ValidationItemControllerV3.class.getMethod("editV2",
+                Long.class, Item.class, BindingResult.class), 1);
+
+        //when
+        ValidatorRegistry.Binding saveBinding = registry.binding(save);
+        ValidatorRegistry.Binding updateBinding = registry.binding(update);
+
+        //then : 같은 대상 타입은 같은 검증기, groups 만 다르다.
+        assertThat(saveBinding.getValidators()).containsExactly(beanValidator);
+        assertThat(updateBinding.getValidators()).containsExactly(beanValidator);
+        assertThat(saveBinding.getHints()).containsExactly(SaveCheck.class);
+        assertThat(updateBinding.getHints()).containsExactly(UpdateCheck.class);
+    }
+
+    @Test
+    void binderValidator() throws Exception {
+        //given : 등록하지 않은 검증기를 @InitBinder 처럼 바인더에 추가 (글로벌 검증기는 WebBindingInitializer 처럼 설정)
+        MethodParameter parameter = new MethodParameter(ValidationItemControllerV3.class.getMethod("addItemV2",
+                Item.class, BindingResult.class, RedirectAttributes.class), 0);
+        Item item = new Item("itemA", 1000, 1);
+        WebDataBinder binder = new WebDataBinder(item, "item");
+        binder.setValidator(beanValidator);
+        binder.addValidators(new ItemValidator());
+
+        //when
+        new ValidatingModelAttributeMethodProcessor(false, registry).validateIfApplicable(binder, parameter);
+
+        //then : 바인더에 추가한 검증기도 실행하고, 글로벌 검증기는 한번만 실행한다.
+        assertThat(registry.isRegistered(beanValidator)).isTrue();
+        assertThat(binder.getBindingResult().getGlobalErrors())
+                .extracting(error -> error.getCode())
+                .containsExactly("totalPriceMin");
+    }
+
+    @Test
+    void notValidated() throws Exception {
+        MethodParameter parameter = new MethodParameter(ValidationItemControllerV2.class.getMethod("addItemV6",
+                Item.class, BindingResult.class, RedirectAttributes.class), 1);
+
+        assertThat(registry.binding(parameter).isValidated()).isFalse();
+    }
+
+}
@@ -0,0 +1,143 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ValidationMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemBatchServiceTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void addItems() throws Exception {
+        //given : 정상, 필드 오류, 글로벌 오류(totalPriceMin), null
+        String body = "[" +
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}," +
+                "{\"itemName\":\" \",\"price\":10,\"quantity\":10}," +
+                "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}," +
+                "null" +
+                "]";
+
+        //when
+        mockMvc.perform(post("/validation/api/items/batch")
+                        .locale(Locale.KOREA)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.ids[0]").isNumber())
+                .andExpect(jsonPath("$.ids[1]").value(nullValue()))
+                .andExpect(jsonPath("$.errors[*].index", contains(1, 2, 3)))
+                .andExpect(jsonPath("$.errors[0].errors[*].code", containsInAnyOrder("NotBlank", "Range", "totalPriceMin")))
+                .andExpect(jsonPath("$.errors[1].errors[0].code").value("totalPriceMin"))
+                .andExpect(jsonPath("$.errors[1].errors[0].field").value(nullValue()))
+                .andExpect(jsonPath("$.errors[1].errors[0].message").value("전체 가격은 10,000원 이상이어야 합니다. 현재 값 = 1,000"))
+                .andExpect(jsonPath("$.errors[2].errors[0].code").value("required"));
+    }
+
+    @Test
+    void addItemsFailFast() throws Exception {
+        //given
+        String body = "[" +
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}," +
+                "{\"itemName\":\" \",\"price\":10,\"quantity\":10}," +
+                "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}," +
+                "null" +
+                "]";
+
+        //when
+        mockMvc.perform(post("/validation/api/items/batch")
+                        .header(ValidationMode.HEADER, "fail-fast")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                //then : 항목마다 첫번째 위반의 필드, 오류 코드만 (메시지 없음)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.errors[*].index", contains(1, 2, 3)))
+                .andExpect(jsonPath("$.errors[0].errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].errors[0].field").value("price"))
+                .andExpect(jsonPath("$.errors[0].errors[0].code").value("Range"))
+                .andExpect(jsonPath("$.errors[0].errors[0].message").value(nullValue()))
+                .andExpect(jsonPath("$.errors[1].errors[0].code").value("totalPriceMin"))
+                .andExpect(jsonPath("$.errors[2].errors[0].code").value("required"));
+    }
+
+    @Test
+    void addItemFailFast() throws Exception {
+        //given : 필드 오류 2개 + 글로벌 오류 조건
+        String body = "{\"itemName\":\" \",\"price\":10,\"quantity\":1}";
+
+        //when
+        mockMvc.perform(post("/validation/api/items/add")
+                        .header(ValidationMode.HEADER, "fail-fast")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                //then : 첫번째 위반(FieldError) 만
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].field").value("price"))
+                .andExpect(jsonPath("$[0].code").value("Range"));
+    }
+
+    @Test
+    void addItemsForm() throws Exception {
+        //given
+        String body = "{\"items\":[" +
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}," +
+                "{\"itemName\":\"itemB\",\"price\":10,\"quantity\":10}," +
+                "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}" +
+                "]}";
+
+        //when
+        mockMvc.perform(post("/validation/api/items/batch/form")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                //then : 항목 경로의 오류, 항목 순서대로
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].field", contains("items[1].price", "items[1]", "items[2]")))
+                .andExpect(jsonPath("$[*].code", contains("Range", "totalPriceMin", "totalPriceMin")));
+
+        mockMvc.perform(post("/validation/api/items/batch/form")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.ids[0]").isNumber());
+    }
+
+    @Test
+    void savedItem() throws Exception {
+        String body = "[{\"itemName\":\"batchItem\",\"price\":20000,\"quantity\":5}]";
+
+        String response = mockMvc.perform(post("/validation/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        long id = Long.parseLong(response.replaceAll(".*\"ids\":\\[(\\d+)].*", "$1"));
+        assertThat(itemRepository.findById(id).getItemName()).isEqualTo("batchItem");
+    }
+
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ValidationMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemStreamIngesterTest {
+
+    @Autowired
+    ItemStreamIngester ingester;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void ingestNdjson() throws IOException {
+        //given : 정상, 타입 오류, 글로벌 오류, 모르는 필드
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n" +
+                "{\"itemName\":\"itemB\",\"price\":\"abc\",\"quantity\":10}\n" +
+                "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}\n" +
+                "{\"itemName\":\"itemD\",\"price\":\"20000\",\"quantity\":10,\"unknown\":{\"a\":[1]}}\n";
+
+        //when
+        String[] lines = ingest(body);
+
+        //then
+        assertThat(lines).hasSize(5);
+        long idA = Long.parseLong(lines[0].replaceAll(".*\"id\":(\\d+).*", "$1"));
+        assertThat(itemRepository.findById(idA).getItemName()).isEqualTo("itemA");
+        assertThat(lines[1]).startsWith("{\"index\":1,\"errors\":[{\"field\":\"price\",\"code\":\"typeMismatch\",\"rejectedValue\":\"abc\"");
+        assertThat(lines[1]).contains("숫자를 입력해주세요.").doesNotContain("NotNull");
+        assertThat(lines[2]).contains("\"code\":\"totalPriceMin\"");
+        assertThat(lines[3]).startsWith("{\"index\":3,\"id\":");
+        assertThat(lines[4]).isEqualTo("{\"total\":4,\"saved\":2,\"rejected\":2}");
+    }
+
+    @Test
+    void ingestFailFast() throws IOException {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n" +
+                "{\"itemName\":\" \",\"price\":\"abc\",\"quantity\":10}\n" +
+                "{\"itemName\":\" \",\"price\":10,\"quantity\":10}\n";
+
+        //when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ingester.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, Locale.KOREA, ValidationMode.FAIL_FAST);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        //then : 타입 변환 오류가 먼저, 그 외는 비용이 낮은 제약조건의 첫 위반
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("{\"index\":0,\"id\":");
+        assertThat(lines[1]).isEqualTo("{\"index\":1,\"errors\":[{\"field\":\"price\",\"code\":\"typeMismatch\",\"rejectedValue\":null,\"message\":null}]}");
+        assertThat(lines[2]).isEqualTo("{\"index\":2,\"errors\":[{\"field\":\"price\",\"code\":\"Range\",\"rejectedValue\":null,\"message\":null}]}");
+        assertThat(lines[3]).isEqualTo("{\"total\":3,\"saved\":1,\"rejected\":2}");
+    }
+
+    @Test
+    void ingestArrayInChunks() throws IOException {
+        //given : chunk-size(1000) 보다 많은 항목
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"itemName\":\"item").append(i).append("\",\"price\":10000,\"quantity\":10}");
+        }
+        body.append("]");
+
+        //when
+        String[] lines = ingest(body.toString());
+
+        //then
+        assertThat(lines).hasSize(2501);
+        assertThat(lines[2499]).startsWith("{\"index\":2499,\"id\":");
+        assertThat(lines[2500]).isEqualTo("{\"total\":2500,\"saved\":2500,\"rejected\":0}");
+    }
+
+    @Test
+    void stopOnSyntaxError() throws IOException {
+        String[] lines = ingest("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n{\"itemName\":");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"index\":0,\"id\":");
+        assertThat(lines[1]).startsWith("{\"error\":");
+        assertThat(lines[2]).isEqualTo("{\"total\":1,\"saved\":1,\"rejected\":0}");
+    }
+
+    @Test
+    void ndjsonEndpoint() throws Exception {
+        mockMvc.perform(post("/validation/api/items/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+    }
+
+    private String[] ingest(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ingester.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, Locale.KOREA);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+}
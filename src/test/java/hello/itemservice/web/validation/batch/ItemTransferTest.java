@@ -0,0 +1,222 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 묶음 여러개가 동시에 저장되도록 묶음 크기를 작게
+@SpringBootTest(properties = {"item.transfer.batch-size=3", "item.transfer.parallelism=4"})
+@AutoConfigureMockMvc
+class ItemTransferTest {
+
+    @Autowired
+    ItemExporter itemExporter;
+
+    @Autowired
+    ItemImporter itemImporter;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+        itemRepository.saveAll(List.of(
+                new Item("itemA", 10000, 10),
+                new Item("쉼표, \"따옴표\"", 20000, 20),
+                new Item("줄\n바꿈", 30000, 30)));
+    }
+
+    @Test
+    void exportCsv() throws IOException {
+        String csv = new String(export(ItemTransferFormat.CSV), StandardCharsets.UTF_8);
+
+        List<Long> ids = itemRepository.findAll().stream().map(Item::getId).collect(Collectors.toList());
+        assertThat(csv).isEqualTo("id,itemName,price,quantity\n" +
+                ids.get(0) + ",itemA,10000,10\n" +
+                ids.get(1) + ",\"쉼표, \"\"따옴표\"\"\",20000,20\n" +
+                ids.get(2) + ",\"줄\n바꿈\",30000,30\n");
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        for (ItemTransferFormat format : ItemTransferFormat.values()) {
+            //given
+            byte[] exported = export(format);
+            itemRepository.clearStore();
+
+            //when
+            ItemImportResult result = importItems(format, exported);
+
+            //then
+            assertThat(result.getTotal()).isEqualTo(3);
+            assertThat(result.getSaved()).isEqualTo(3);
+            assertThat(result.getError()).isNull();
+            assertThat(itemRepository.findAll())
+                    .extracting(Item::getItemName, Item::getPrice, Item::getQuantity)
+                    .containsExactlyInAnyOrder(
+                            tuple("itemA", 10000, 10),
+                            tuple("쉼표, \"따옴표\"", 20000, 20),
+                            tuple("줄\n바꿈", 30000, 30));
+        }
+    }
+
+    @Test
+    void importCsvWithErrors() throws IOException {
+        //given : 열 순서가 다른 헤더, 빈 줄, 타입 오류, 필드 오류, 글로벌 오류
+        itemRepository.clearStore();
+        StringBuilder csv = new StringBuilder("\uFEFFquantity,price,itemName,memo\r\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append("10,10000,item-").append(i).append(",x\r\n");
+        }
+        csv.append("\n");
+        csv.append("10,abc,typeMismatch\n");
+        csv.append("10,10000,\n");
+        csv.append("1,1000,totalPriceMin\n");
+
+        //when
+        ItemImportResult result = importItems(ItemTransferFormat.CSV, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        //then
+        assertThat(result.getTotal()).isEqualTo(23);
+        assertThat(result.getSaved()).isEqualTo(20);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(RowError::getIndex).containsExactly(20, 21, 22);
+        assertThat(result.getErrors().get(0).getErrors()).extracting(RowError.Error::getField, RowError.Error::getCode)
+                .containsExactly(tuple("price", "typeMismatch"));
+        assertThat(result.getErrors().get(1).getErrors()).extracting(RowError.Error::getCode).containsExactly("NotBlank");
+        assertThat(result.getErrors().get(2).getErrors()).extracting(RowError.Error::getCode).containsExactly("totalPriceMin");
+        assertThat(itemRepository.findAll()).hasSize(20);
+    }
+
+    @Test
+    void importInvalidFormat() throws IOException {
+        //given : 닫히지 않은 따옴표 -> 이전 항목까지만 저장
+        itemRepository.clearStore();
+        String csv = "itemName,price,quantity\nitemA,10000,10\n\"itemB,20000,20\n";
+
+        //when
+        ItemImportResult result = importItems(ItemTransferFormat.CSV, csv.getBytes(StandardCharsets.UTF_8));
+
+        //then
+        assertThat(result.getSaved()).isEqualTo(1);
+        assertThat(result.getError()).contains("line=3");
+
+        assertThat(importItems(ItemTransferFormat.CSV, "name,price\n".getBytes(StandardCharsets.UTF_8)).getError())
+                .contains("itemName, price, quantity");
+        assertThat(importItems(ItemTransferFormat.BINARY, new byte[]{1, 2, 3}).getError()).isNotNull();
+    }
+
+    @Test
+    void importTooLongCsvRecord() throws IOException {
+        //given : 레코드 길이 제한(MAX_CSV_RECORD_LENGTH) 을 넘는 필드 -> 이전 항목까지만 저장
+        itemRepository.clearStore();
+        String csv = "itemName,price,quantity\nitemA,10000,10\n" + "a".repeat(ItemImporter.MAX_CSV_RECORD_LENGTH) + ",20000,20\n";
+
+        //when
+        ItemImportResult result = importItems(ItemTransferFormat.CSV, csv.getBytes(StandardCharsets.UTF_8));
+
+        //then
+        assertThat(result.getSaved()).isEqualTo(1);
+        assertThat(result.getError()).contains("CSV 레코드가 너무 깁니다", "line=3");
+    }
+
+    @Test
+    void concurrentImports() throws Exception {
+        //given : 가져오기 요청마다 스레드를 만들지 않고 함께 사용한다.
+        itemRepository.clearStore();
+        StringBuilder csv = new StringBuilder("itemName,price,quantity\n");
+        for (int i = 0; i < 30; i++) {
+            csv.append("item").append(i).append(",10000,10\n");
+        }
+        byte[] input = csv.toString().getBytes(StandardCharsets.UTF_8);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        //when
+        List<Future<ItemImportResult>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> importItems(ItemTransferFormat.CSV, input)));
+        }
+        for (Future<ItemImportResult> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS).getSaved()).isEqualTo(30);
+        }
+        callers.shutdown();
+
+        //then
+        assertThat(itemRepository.findAll()).hasSize(8 * 30);
+        assertThat(Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("item-import-"))).hasSizeLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void varint() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (int value : new int[]{0, 1, -1, 63, -64, 10000, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            ItemTransferFormat.putVarInt(value, buffer);
+        }
+        ItemTransferFormat.putVarLong(Long.MAX_VALUE, buffer);
+        buffer.flip();
+
+        assertThat(new int[]{
+                ItemTransferFormat.getVarInt(buffer), ItemTransferFormat.getVarInt(buffer), ItemTransferFormat.getVarInt(buffer),
+                ItemTransferFormat.getVarInt(buffer), ItemTransferFormat.getVarInt(buffer), ItemTransferFormat.getVarInt(buffer),
+                ItemTransferFormat.getVarInt(buffer), ItemTransferFormat.getVarInt(buffer)})
+                .containsExactly(0, 1, -1, 63, -64, 10000, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        assertThat(ItemTransferFormat.getVarLong(buffer)).isEqualTo(Long.MAX_VALUE);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void endpoints() throws Exception {
+        byte[] exported = mockMvc.perform(get("/validation/api/items/export").param("format", "BINARY"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"items.bin\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        mockMvc.perform(post("/validation/api/items/import").param("format", "BINARY").content(exported))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.saved").value(3));
+        assertThat(itemRepository.findAll()).hasSize(6);
+    }
+
+    private byte[] export(ItemTransferFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        itemExporter.export(format, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private ItemImportResult importItems(ItemTransferFormat format, byte[] bytes) throws IOException {
+        return itemImporter.importItems(format, Channels.newChannel(new ByteArrayInputStream(bytes)), Locale.KOREA);
+    }
+
+}
@@ -0,0 +1,184 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledBinder;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.form.ItemUpdateFormCompiledBinder;
+import org.junit.jupiter.api.Test;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 생성된 바인더는 ServletRequestDataBinder 와 같은 값, 같은 오류(필드, 오류 코드, 인자, 거부된 값, 기본 메시지)를 만들어야 한다.
+ */
+class CompiledBinderTest {
+
+    static final DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+
+    @Test
+    void saveForm() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("itemName", "itemA");
+        request.addParameter("price", "10000");
+        request.addParameter("quantity", "-10");
+
+        //when
+        BindingResult expected = bindWithDataBinder(ItemSaveForm::new, request);
+        BindingResult actual = bindCompiled(ItemSaveForm::new, new ItemSaveFormCompiledBinder(), request);
+
+        //then
+        ItemSaveForm form = (ItemSaveForm) actual.getTarget();
+        assertThat(form.getItemName()).isEqualTo("itemA");
+        assertThat(form.getPrice()).isEqualTo(10000);
+        assertThat(form.getQuantity()).isEqualTo(-10);
+        assertThat(actual.hasErrors()).isFalse();
+        assertThat(form).isEqualTo(expected.getTarget());
+    }
+
+    @Test
+    void typeMismatch() {
+        //given : 숫자가 아닌 값, int 범위 초과
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("itemName", "itemA");
+        request.addParameter("price", "abc");
+        request.addParameter("quantity", "99999999999");
+
+        //when
+        BindingResult expected = bindWithDataBinder(ItemSaveForm::new, request);
+        BindingResult actual = bindCompiled(ItemSaveForm::new, new ItemSaveFormCompiledBinder(), request);
+
+        //then
+        assertThat(actual.getErrorCount()).isEqualTo(2);
+        assertThat(actual.getFieldError("price").getCodes()).containsExactly(
+                "typeMismatch.item.price", "typeMismatch.price", "typeMismatch.java.lang.Integer", "typeMismatch");
+        assertSameErrors(actual, expected);
+        assertThat(actual.getTarget()).isEqualTo(expected.getTarget());
+    }
+
+    @Test
+    void numberFormats() {
+        //given : 빈 문자열은 null, 공백과 16진수는 NumberUtils 와 같은 규칙
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("id", "0x10");
+        request.addParameter("price", " 1 000 ");
+        request.addParameter("quantity", "");
+        request.addParameter("version", "-");
+
+        //when
+        BindingResult expected = bindWithDataBinder(ItemUpdateForm::new, request);
+        BindingResult actual = bindCompiled(ItemUpdateForm::new, new ItemUpdateFormCompiledBinder(), request);
+
+        //then
+        ItemUpdateForm form = (ItemUpdateForm) actual.getTarget();
+        assertThat(form.getId()).isEqualTo(16L);
+        assertThat(form.getPrice()).isEqualTo(1000);
+        assertThat(form.getQuantity()).isNull();
+        assertThat(actual.getFieldError("version").getCode()).isEqualTo("typeMismatch");
+        assertThat(form).isEqualTo(expected.getTarget());
+        assertSameErrors(actual, expected);
+    }
+
+    @Test
+    void multipleValues() {
+        //given : 문자열은 쉼표로 이어 붙이고, 숫자는 첫번째 값
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("itemName", "itemA", "itemB");
+        request.addParameter("price", "1000", "2000");
+        request.addParameter("quantity", "x", "10");
+
+        //when
+        BindingResult expected = bindWithDataBinder(ItemSaveForm::new, request);
+        BindingResult actual = bindCompiled(ItemSaveForm::new, new ItemSaveFormCompiledBinder(), request);
+
+        //then
+        ItemSaveForm form = (ItemSaveForm) actual.getTarget();
+        assertThat(form.getItemName()).isEqualTo("itemA,itemB");
+        assertThat(form.getPrice()).isEqualTo(1000);
+        assertThat(actual.getFieldError("quantity").getRejectedValue()).isEqualTo("x,10");
+        assertThat(form).isEqualTo(expected.getTarget());
+        assertSameErrors(actual, expected);
+    }
+
+    @Test
+    void fieldDefaultsAndMarkers() {
+        //given : 기존 값이 있는 폼, 필드 기본값(!price), 필드 마커(_quantity)
+        Supplier<ItemSaveForm> existing = () -> {
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName("itemA");
+            form.setQuantity(10);
+            return form;
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("!price", "3000");
+        request.addParameter("_quantity", "on");
+
+        //when
+        BindingResult expected = bindWithDataBinder(existing, request);
+        BindingResult actual = bindCompiled(existing, new ItemSaveFormCompiledBinder(), request);
+
+        //then
+        ItemSaveForm form = (ItemSaveForm) actual.getTarget();
+        assertThat(form.getItemName()).isEqualTo("itemA");
+        assertThat(form.getPrice()).isEqualTo(3000);
+        assertThat(form.getQuantity()).isNull();
+        assertThat(form).isEqualTo(expected.getTarget());
+    }
+
+    @Test
+    void uriTemplateVariables() {
+        //given : 요청 파라미터가 없으면 URI 템플릿 변수 (/{id}/edit)
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "7", "price", "5000"));
+        request.addParameter("price", "2000");
+
+        //when
+        BindingResult expected = bindWithDataBinder(ItemUpdateForm::new, request);
+        BindingResult actual = bindCompiled(ItemUpdateForm::new, new ItemUpdateFormCompiledBinder(), request);
+
+        //then
+        ItemUpdateForm form = (ItemUpdateForm) actual.getTarget();
+        assertThat(form.getId()).isEqualTo(7L);
+        assertThat(form.getPrice()).isEqualTo(2000);
+        assertThat(form).isEqualTo(expected.getTarget());
+    }
+
+    private static BindingResult bindWithDataBinder(Supplier<?> target, MockHttpServletRequest request) {
+        ServletRequestDataBinder binder = new ExtendedServletRequestDataBinder(target.get(), "item");
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return binder.getBindingResult();
+    }
+
+    private static BindingResult bindCompiled(Supplier<?> target, CompiledBinder compiledBinder,
+                                              MockHttpServletRequest request) {
+        ServletRequestDataBinder binder = new ExtendedServletRequestDataBinder(target.get(), "item");
+        binder.setConversionService(conversionService);
+        compiledBinder.bind(binder.getTarget(), RequestParameters.of(request), binder);
+        return binder.getBindingResult();
+    }
+
+    private static void assertSameErrors(BindingResult actual, BindingResult expected) {
+        assertThat(actual.getErrorCount()).isEqualTo(expected.getErrorCount());
+        for (FieldError expectedError : expected.getFieldErrors()) {
+            FieldError actualError = actual.getFieldError(expectedError.getField());
+            assertThat(actualError).isNotNull();
+            assertThat(actualError.getCodes()).containsExactly(expectedError.getCodes());
+            assertThat(actualError.getArguments()).containsExactly(expectedError.getArguments());
+            assertThat(actualError.getRejectedValue()).isEqualTo(expectedError.getRejectedValue());
+            assertThat(actualError.isBindingFailure()).isEqualTo(expectedError.isBindingFailure());
+            assertThat(actualError.getDefaultMessage()).isEqualTo(expectedError.getDefaultMessage());
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.ValidationMode;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.form.ItemUpdateFormCompiledValidator;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 생성된 검증기는 Bean Validation 과 같은 오류(필드, 오류 코드, 메시지 인자, 기본 메시지)를 만들어야 한다.
+ */
+class CompiledValidatorTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+    static ConstraintMessages constraintMessages;
+
+    @BeforeAll
+    static void init() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        constraintMessages = new BeanValidationConstraintMessages(beanValidator);
+    }
+
+    @AfterAll
+    static void destroy() {
+        beanValidator.close();
+    }
+
+    @Test
+    void saveForm() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(10000);
+
+        //when
+        BeanPropertyBindingResult expected = validate(beanValidator, form);
+        BeanPropertyBindingResult actual = validate(new ItemSaveFormCompiledValidator(constraintMessages), form);
+
+        //then
+        assertThat(actual.getErrorCount()).isEqualTo(3);
+        assertSameErrors(actual, expected);
+    }
+
+    @Test
+    void saveFormNull() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+
+        //when
+        BeanPropertyBindingResult expected = validate(beanValidator, form);
+        BeanPropertyBindingResult actual = validate(new ItemSaveFormCompiledValidator(constraintMessages), form);
+
+        //then
+        assertThat(actual.getErrorCount()).isEqualTo(3);
+        assertSameErrors(actual, expected);
+    }
+
+    @Test
+    void updateForm() {
+        //given
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setItemName("itemA");
+        form.setPrice(2000000);
+        form.setQuantity(10000); // 수정시 수량은 자유롭게 변경 가능
+        form.setVersion(0);
+
+        //when
+        BeanPropertyBindingResult expected = validate(beanValidator, form);
+        BeanPropertyBindingResult actual = validate(new ItemUpdateFormCompiledValidator(constraintMessages), form);
+
+        //then
+        assertThat(actual.getErrorCount()).isEqualTo(2);
+        assertSameErrors(actual, expected);
+    }
+
+    @Test
+    void valid() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(10000);
+        form.setQuantity(10);
+
+        //when
+        BeanPropertyBindingResult result = validate(new ItemSaveFormCompiledValidator(constraintMessages), form);
+
+        //then
+        assertThat(result.hasErrors()).isFalse();
+    }
+
+    @Test
+    void validateFirst() {
+        //given : itemName, price, quantity 모두 위반
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setQuantity(10000);
+        ItemSaveFormCompiledValidator validator = new ItemSaveFormCompiledValidator(constraintMessages);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        validator.validateFirst(form, bindingResult);
+
+        //then : 비용이 낮은 제약조건(NotNull) 부터 검사하고 첫 위반에서 멈춘다.
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(bindingResult.getFieldError().getField()).isEqualTo("price");
+        assertThat(bindingResult.getFieldError().getCode()).isEqualTo("NotNull");
+        assertThat(validator.firstViolation(form)).isEqualTo(new Violation("price", "NotNull"));
+    }
+
+    @Test
+    void firstViolation() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10000);
+        form.setQuantity(10000);
+        ItemSaveFormCompiledValidator validator = new ItemSaveFormCompiledValidator(constraintMessages);
+
+        //when, then : 수치 비교(Max) 가 문자열 검사(NotBlank) 보다 먼저
+        assertThat(validator.firstViolation(form)).isEqualTo(new Violation("quantity", "Max"));
+        form.setQuantity(10);
+        assertThat(validator.firstViolation(form)).isEqualTo(new Violation("itemName", "NotBlank"));
+        form.setItemName("itemA");
+        assertThat(validator.firstViolation(form)).isNull();
+    }
+
+    @Test
+    void adapterFailFastHint() {
+        //given : @Validated(ValidationMode.FailFast.class)
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        SpringValidatorAdapter failFast = new SpringValidatorAdapter(beanValidator.unwrap(HibernateValidatorFactory.class)
+                .usingContext().failFast(true).getValidator());
+        CompiledValidatorAdapter compiled = new CompiledValidatorAdapter(
+                List.of(new ItemSaveFormCompiledValidator(constraintMessages)), beanValidator, failFast);
+        CompiledValidatorAdapter beanValidation = new CompiledValidatorAdapter(List.of(), beanValidator, failFast);
+
+        //when
+        BeanPropertyBindingResult compiledResult = new BeanPropertyBindingResult(form, "item");
+        compiled.validate(form, compiledResult, ValidationMode.FailFast.class);
+        BeanPropertyBindingResult beanValidationResult = new BeanPropertyBindingResult(form, "item");
+        beanValidation.validate(form, beanValidationResult, ValidationMode.FailFast.class);
+        BeanPropertyBindingResult allErrors = validate(compiled, form);
+
+        //then
+        assertThat(compiledResult.getErrorCount()).isEqualTo(1);
+        assertThat(compiledResult.getFieldError().getField()).isEqualTo("quantity");
+        assertThat(beanValidationResult.getErrorCount()).isEqualTo(1);
+        assertThat(allErrors.getErrorCount()).isEqualTo(3);
+    }
+
+    private BeanPropertyBindingResult validate(Validator validator, Object form) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    private void assertSameErrors(BeanPropertyBindingResult actual, BeanPropertyBindingResult expected) {
+        List<FieldError> actualErrors = sorted(actual.getFieldErrors());
+        List<FieldError> expectedErrors = sorted(expected.getFieldErrors());
+        assertThat(actualErrors).hasSameSizeAs(expectedErrors);
+        for (int i = 0; i < actualErrors.size(); i++) {
+            FieldError actualError = actualErrors.get(i);
+            FieldError expectedError = expectedErrors.get(i);
+            assertThat(actualError.getField()).isEqualTo(expectedError.getField());
+            assertThat(actualError.getCodes()).containsExactly(expectedError.getCodes());
+            assertThat(actualError.getArguments()).containsExactly(expectedError.getArguments());
+            assertThat(actualError.getDefaultMessage()).isEqualTo(expectedError.getDefaultMessage());
+            assertThat(actualError.getRejectedValue()).isEqualTo(expectedError.getRejectedValue());
+        }
+    }
+
+    private List<FieldError> sorted(List<FieldError> errors) {
+        return errors.stream()
+                .sorted(Comparator.comparing(FieldError::getField).thenComparing(FieldError::getCode))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,170 @@
+package hello.itemservice.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link GenerateBinder} 가 붙은 클래스의 필드마다 요청 파라미터를 읽어서 setter 를 호출하는 바인더를 생성한다.
+ *
+ * 생성된 바인더는 ServletRequestDataBinder 와 같은 결과를 만든다.
+ * - 값이 여러 개이면 String 은 쉼표로 이어 붙이고, 숫자는 첫번째 값을 변환한다.
+ * - 빈 문자열은 숫자 필드에서 null 이 된다. (StringToNumberConverterFactory)
+ * - 필드 기본값(!price), 필드 마커(_price) 파라미터
+ * - 변환에 실패하면 바인더의 BindingErrorProcessor 로 typeMismatch 오류를 추가한다. (typeMismatch.java.lang.Integer ...)
+ * 변환 규칙은 CompiledBinding 에 있고, 생성된 코드는 필드 이름과 타입만 알고 있다.
+ * 지원하지 않는 필드 타입을 사용하면 컴파일 에러로 알려준다. (바인딩 결과가 달라지는 것을 막기 위해)
+ */
+@SupportedAnnotationTypes("hello.itemservice.processor.GenerateBinder")
+public class BinderProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "CompiledBinder";
+
+    // 필드 타입 -> CompiledBinding 변환 메서드
+    private static final Map<String, String> CONVERSIONS = Map.of(
+            "java.lang.String", "toText",
+            "java.lang.Integer", "toInteger",
+            "java.lang.Long", "toLong");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateBinder 는 클래스에만 사용할 수 있습니다.");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        List<BoundField> fields = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD || member.getModifiers().contains(Modifier.STATIC)
+                    || member.getModifiers().contains(Modifier.FINAL)) {
+                continue;
+            }
+            BoundField field = new BoundField((VariableElement) member);
+            if (!CONVERSIONS.containsKey(field.typeName)) {
+                error(member, "지원하지 않는 필드 타입입니다. " + field.typeName);
+                return;
+            }
+            fields.add(field);
+        }
+        write(type, fields);
+    }
+
+    private void write(TypeElement type, List<BoundField> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String className = typeName + SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("import hello.itemservice.web.validation.compiled.CompiledBinder;\n")
+                .append("import hello.itemservice.web.validation.compiled.CompiledBinding;\n")
+                .append("import hello.itemservice.web.validation.compiled.RequestParameters;\n")
+                .append("import org.springframework.stereotype.Component;\n")
+                .append("import org.springframework.validation.DataBinder;\n\n")
+                .append("import javax.annotation.processing.Generated;\n\n")
+                .append("@Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("@Component\n")
+                .append("public final class ").append(className).append(" implements CompiledBinder {\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getTargetType() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void bind(Object target, RequestParameters parameters, DataBinder binder) {\n")
+                .append("        ").append(typeName).append(" form = (").append(typeName).append(") target;\n")
+                .append("        String[] values;\n");
+        for (BoundField field : fields) {
+            String conversion = CONVERSIONS.get(field.typeName);
+            String setter = "form." + field.setter();
+            source.append("\n        values = CompiledBinding.values(parameters, \"").append(field.name)
+                    .append("\", \"!").append(field.name).append("\");\n")
+                    .append("        if (values != null) {\n");
+            if (field.typeName.equals("java.lang.String")) {
+                source.append("            ").append(setter).append("(CompiledBinding.").append(conversion).append("(values));\n");
+            } else {
+                source.append("            try {\n")
+                        .append("                ").append(setter).append("(CompiledBinding.").append(conversion).append("(values));\n")
+                        .append("            } catch (IllegalArgumentException e) {\n")
+                        .append("                CompiledBinding.typeMismatch(binder, \"").append(field.name).append("\", values, ")
+                        .append(field.typeName).append(".class);\n")
+                        .append("            }\n");
+            }
+            // 필드 마커만 있으면 빈 값 (String, Integer, Long 은 null)
+            source.append("        } else if (CompiledBinding.values(parameters, \"_").append(field.name).append("\") != null) {\n")
+                    .append("            ").append(setter).append("(null);\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n\n")
+                .append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + className, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class BoundField {
+
+        final String name;
+        final String typeName;
+
+        BoundField(VariableElement field) {
+            this.name = field.getSimpleName().toString();
+            this.typeName = typeName(field.asType());
+        }
+
+        // TYPE_USE 제약조건(@NotBlank 등)이 붙은 타입은 toString() 에 어노테이션이 포함되므로 이름을 직접 구한다.
+        private static String typeName(TypeMirror type) {
+            if (type.getKind() == TypeKind.DECLARED) {
+                return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            }
+            return type.toString();
+        }
+
+        String setter() {
+            return "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package hello.itemservice.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일 시점에 요청 파라미터를 필드에 바로 넣는 바인더({타입명}CompiledBinder)를 생성한다.
+ * BeanWrapper, PropertyValues, ConversionService 조회 없이 setter 를 호출한다.
+ * 지원하는 필드 타입 : String, Integer, Long
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateBinder {
+}
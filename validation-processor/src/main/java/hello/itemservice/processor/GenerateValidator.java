@@ -0,0 +1,15 @@
+package hello.itemservice.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일 시점에 Bean Validation 제약조건을 읽어서 리플렉션 없는 검증기({타입명}CompiledValidator)를 생성한다.
+ * 지원하는 제약조건 : @NotNull, @NotBlank, @Min, @Max, @Range (기본 그룹만 지원)
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateValidator {
+}
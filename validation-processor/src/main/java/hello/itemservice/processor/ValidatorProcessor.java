@@ -0,0 +1,420 @@
+package hello.itemservice.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * {@link GenerateValidator} 가 붙은 클래스의 필드 제약조건을 읽어서 스프링 Validator 구현체를 생성한다.
+ *
+ * 생성된 검증기는 Hibernate Validator 와 같은 에러 코드, 인자(arguments)로 FieldError 를 만든다.
+ * 예) @NotBlank itemName -> NotBlank.item.itemName, NotBlank.itemName, NotBlank.java.lang.String, NotBlank
+ * 검증에 성공하면 getter 호출과 비교만 하므로 객체를 생성하지 않는다.
+ * 빠른 실패 검증(validateFirst, firstViolation) 은 제약조건을 검사 비용 순서(Constraint.cost) 로 검사하고 첫번째 위반에서 멈춘다.
+ * 지원하지 않는 제약조건이나 groups 를 사용하면 컴파일 에러로 알려준다. (검증 결과가 달라지는 것을 막기 위해)
+ */
+@SupportedAnnotationTypes("hello.itemservice.processor.GenerateValidator")
+public class ValidatorProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "CompiledValidator";
+
+    private static final String CONSTRAINT = "javax.validation.Constraint";
+    private static final String NOT_NULL = "javax.validation.constraints.NotNull";
+    private static final String NOT_BLANK = "javax.validation.constraints.NotBlank";
+    private static final String MIN = "javax.validation.constraints.Min";
+    private static final String MAX = "javax.validation.constraints.Max";
+    private static final String RANGE = "org.hibernate.validator.constraints.Range";
+
+    private static final Set<String> NUMBER_TYPES = Set.of(
+            "java.lang.Long", "java.lang.Integer", "java.lang.Short", "java.lang.Byte", "long", "int", "short", "byte");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateValidator 는 클래스에만 사용할 수 있습니다.");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (isConstraint(mirror)) {
+                error(type, "클래스 레벨 제약조건은 지원하지 않습니다. " + mirror);
+                return;
+            }
+        }
+        List<FieldConstraints> fields = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD || member.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            FieldConstraints field = readField((VariableElement) member);
+            if (field == null) {
+                return;
+            }
+            if (!field.constraints.isEmpty()) {
+                fields.add(field);
+            }
+        }
+        write(type, fields);
+    }
+
+    private FieldConstraints readField(VariableElement field) {
+        FieldConstraints result = new FieldConstraints(field);
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!isConstraint(mirror)) {
+                continue;
+            }
+            String annotationType = mirror.getAnnotationType().toString();
+            Map<String, Object> attributes = attributes(mirror);
+            Object groups = attributes.get("groups");
+            if (groups instanceof List && !((List<?>) groups).isEmpty()) {
+                error(field, "groups 는 지원하지 않습니다. " + mirror);
+                return null;
+            }
+            Constraint constraint;
+            switch (annotationType) {
+                case NOT_NULL:
+                    constraint = new Constraint("NotNull", "%1$s == null", Constraint.COST_NULL_CHECK);
+                    break;
+                case NOT_BLANK:
+                    if (!result.isCharSequence()) {
+                        error(field, "@NotBlank 는 문자열 필드에만 사용할 수 있습니다.");
+                        return null;
+                    }
+                    constraint = new Constraint("NotBlank", "!hasText(%1$s)", Constraint.COST_TEXT_SCAN);
+                    break;
+                case MIN:
+                case MAX:
+                case RANGE:
+                    if (!NUMBER_TYPES.contains(result.typeName)) {
+                        error(field, "지원하지 않는 숫자 타입입니다. " + result.typeName);
+                        return null;
+                    }
+                    constraint = numberConstraint(annotationType, attributes, result.isPrimitive());
+                    break;
+                default:
+                    error(field, "지원하지 않는 제약조건입니다. " + mirror);
+                    return null;
+            }
+            // 스프링의 SpringValidatorAdapter 와 같이 message, groups, payload 를 제외한 속성을 이름 순서로 인자에 추가한다.
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                String name = attribute.getKey();
+                if (!name.equals("message") && !name.equals("groups") && !name.equals("payload")) {
+                    constraint.arguments.add(literal(attribute.getValue()));
+                }
+            }
+            result.constraints.add(constraint);
+        }
+        return result;
+    }
+
+    private Constraint numberConstraint(String annotationType, Map<String, Object> attributes, boolean primitive) {
+        // Hibernate Validator 와 같이 long 으로 비교하고, null 은 유효한 값으로 본다.
+        String value = primitive ? "%1$s" : "%1$s.longValue()";
+        String nullCheck = primitive ? "" : "%1$s != null && ";
+        switch (annotationType) {
+            case MIN:
+                return new Constraint("Min", nullCheck + value + " < " + attributes.get("value") + "L", Constraint.COST_COMPARE);
+            case MAX:
+                return new Constraint("Max", nullCheck + value + " > " + attributes.get("value") + "L", Constraint.COST_COMPARE);
+            default:
+                return new Constraint("Range", nullCheck + "(" + value + " < " + attributes.get("min") + "L || "
+                        + value + " > " + attributes.get("max") + "L)", Constraint.COST_COMPARE);
+        }
+    }
+
+    private boolean isConstraint(AnnotationMirror mirror) {
+        for (AnnotationMirror meta : mirror.getAnnotationType().asElement().getAnnotationMirrors()) {
+            if (meta.getAnnotationType().toString().equals(CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 기본값을 포함한 어노테이션 속성
+     */
+    private Map<String, Object> attributes(AnnotationMirror mirror) {
+        Map<String, Object> attributes = new TreeMap<>();
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            attributes.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        return attributes;
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Long) {
+            return value + "L";
+        }
+        if (value instanceof String) {
+            return "\"" + ((String) value).replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+        return String.valueOf(value);
+    }
+
+    private void write(TypeElement type, List<FieldConstraints> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String className = typeName + SUFFIX;
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("import hello.itemservice.web.validation.compiled.CompiledValidator;\n")
+                .append("import hello.itemservice.web.validation.compiled.ConstraintMessages;\n")
+                .append("import hello.itemservice.web.validation.compiled.Violation;\n")
+                .append("import org.springframework.context.support.DefaultMessageSourceResolvable;\n")
+                .append("import org.springframework.stereotype.Component;\n")
+                .append("import org.springframework.validation.Errors;\n")
+                .append("import org.springframework.validation.FieldError;\n\n")
+                .append("import javax.annotation.processing.Generated;\n\n")
+                .append("@Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("@Component\n")
+                .append("public final class ").append(className).append(" implements CompiledValidator {\n\n");
+
+        for (FieldConstraints field : fields) {
+            for (Constraint constraint : field.constraints) {
+                source.append("    private static final Object[] ").append(constraint.constantName(field.name))
+                        .append(" = {").append(String.join(", ", constraint.arguments)).append("};\n");
+            }
+        }
+        for (FieldConstraints field : fields) {
+            for (Constraint constraint : field.constraints) {
+                source.append("    private static final Violation ").append(constraint.constantName(field.name)).append("_VIOLATION")
+                        .append(" = new Violation(\"").append(field.name).append("\", \"").append(constraint.code).append("\");\n");
+            }
+        }
+
+        source.append("\n    private final ConstraintMessages messages;\n\n")
+                .append("    public ").append(className).append("(ConstraintMessages messages) {\n")
+                .append("        this.messages = messages;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getTargetType() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public boolean supports(Class<?> clazz) {\n")
+                .append("        return ").append(typeName).append(".class == clazz;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void validate(Object target, Errors errors) {\n")
+                .append("        ").append(typeName).append(" form = (").append(typeName).append(") target;\n");
+        for (FieldConstraints field : fields) {
+            source.append("\n        ").append(field.typeName).append(" ").append(field.name)
+                    .append(" = form.").append(field.getter()).append("();\n");
+            // 같은 필드의 제약조건은 모두 검사한다. (Bean Validation 과 동일)
+            for (Constraint constraint : field.constraints) {
+                source.append("        if (").append(String.format(constraint.condition, field.name)).append(") {\n")
+                        .append("            reject(errors, \"").append(field.name).append("\", \"").append(constraint.code)
+                        .append("\", ").append(constraint.constantName(field.name)).append(", ").append(field.name).append(");\n")
+                        .append("        }\n");
+            }
+        }
+        source.append("    }\n\n");
+
+        // 빠른 실패 : 검사 비용이 낮은 제약조건부터 (같은 비용이면 선언 순서), 첫번째 위반에서 멈춘다.
+        List<FieldConstraint> ordered = new ArrayList<>();
+        for (FieldConstraints field : fields) {
+            for (Constraint constraint : field.constraints) {
+                ordered.add(new FieldConstraint(field, constraint));
+            }
+        }
+        ordered.sort(Comparator.comparingInt(fieldConstraint -> fieldConstraint.constraint.cost));
+
+        source.append("    @Override\n")
+                .append("    public void validateFirst(Object target, Errors errors) {\n");
+        appendFieldValues(source, typeName, fields);
+        for (FieldConstraint fieldConstraint : ordered) {
+            FieldConstraints field = fieldConstraint.field;
+            Constraint constraint = fieldConstraint.constraint;
+            source.append("        if (").append(String.format(constraint.condition, field.name)).append(") {\n")
+                    .append("            reject(errors, \"").append(field.name).append("\", \"").append(constraint.code)
+                    .append("\", ").append(constraint.constantName(field.name)).append(", ").append(field.name).append(");\n")
+                    .append("            return;\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public Violation firstViolation(Object target) {\n");
+        appendFieldValues(source, typeName, fields);
+        for (FieldConstraint fieldConstraint : ordered) {
+            FieldConstraints field = fieldConstraint.field;
+            Constraint constraint = fieldConstraint.constraint;
+            source.append("        if (").append(String.format(constraint.condition, field.name)).append(") {\n")
+                    .append("            return ").append(constraint.constantName(field.name)).append("_VIOLATION;\n")
+                    .append("        }\n");
+        }
+        source.append("        return null;\n")
+                .append("    }\n\n")
+                .append("    private void reject(Errors errors, String field, String code, Object[] attributes, Object value) {\n")
+                .append("        // 타입 변환에 실패한 필드는 검증 에러를 추가하지 않는다. (SpringValidatorAdapter 와 동일)\n")
+                .append("        FieldError fieldError = errors.getFieldError(field);\n")
+                .append("        if (fieldError != null && fieldError.isBindingFailure()) {\n")
+                .append("            return;\n")
+                .append("        }\n")
+                .append("        Object[] args = new Object[attributes.length + 1];\n")
+                .append("        args[0] = new DefaultMessageSourceResolvable(\n")
+                .append("                new String[]{errors.getObjectName() + Errors.NESTED_PATH_SEPARATOR + field, field}, field);\n")
+                .append("        System.arraycopy(attributes, 0, args, 1, attributes.length);\n")
+                .append("        errors.rejectValue(field, code, args, messages.getDefaultMessage(")
+                .append(typeName).append(".class, field, code, value));\n")
+                .append("    }\n\n")
+                .append("    private static boolean hasText(CharSequence value) {\n")
+                .append("        if (value == null) {\n")
+                .append("            return false;\n")
+                .append("        }\n")
+                .append("        // String.trim() 과 같은 기준 (공백 및 제어문자 제외), 문자열을 새로 만들지 않는다.\n")
+                .append("        for (int i = 0; i < value.length(); i++) {\n")
+                .append("            if (value.charAt(i) > ' ') {\n")
+                .append("                return true;\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        return false;\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + className, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void appendFieldValues(StringBuilder source, String typeName, List<FieldConstraints> fields) {
+        source.append("        ").append(typeName).append(" form = (").append(typeName).append(") target;\n");
+        for (FieldConstraints field : fields) {
+            source.append("        ").append(field.typeName).append(" ").append(field.name)
+                    .append(" = form.").append(field.getter()).append("();\n");
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class FieldConstraints {
+
+        final String name;
+        final String typeName;
+        final TypeMirror type;
+        final List<Constraint> constraints = new ArrayList<>();
+
+        FieldConstraints(VariableElement field) {
+            this.name = field.getSimpleName().toString();
+            this.type = field.asType();
+            this.typeName = typeName(type);
+        }
+
+        // TYPE_USE 제약조건(@NotBlank 등)이 붙은 타입은 toString() 에 어노테이션이 포함되므로 이름을 직접 구한다.
+        private static String typeName(TypeMirror type) {
+            if (type.getKind().isPrimitive()) {
+                return type.getKind().name().toLowerCase();
+            }
+            if (type.getKind() == TypeKind.DECLARED) {
+                return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            }
+            return type.toString();
+        }
+
+        boolean isPrimitive() {
+            return type.getKind().isPrimitive();
+        }
+
+        boolean isCharSequence() {
+            return type.getKind() == TypeKind.DECLARED
+                    && (typeName.equals("java.lang.String") || typeName.equals("java.lang.CharSequence"));
+        }
+
+        String getter() {
+            String prefix = type.getKind() == TypeKind.BOOLEAN ? "is" : "get";
+            return prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    private static class Constraint {
+
+        // 검사 비용 : null 비교 < 숫자 비교 (unboxing, 비교 두번) < 문자열 검사 (길이만큼 반복)
+        static final int COST_NULL_CHECK = 0;
+        static final int COST_COMPARE = 1;
+        static final int COST_TEXT_SCAN = 2;
+
+        final String code;
+        // String.format 형식, %1$s 는 필드 값
+        final String condition;
+        final int cost;
+        final List<String> arguments = new ArrayList<>();
+
+        Constraint(String code, String condition, int cost) {
+            this.code = code;
+            this.condition = condition;
+            this.cost = cost;
+        }
+
+        String constantName(String field) {
+            StringBuilder name = new StringBuilder();
+            for (char c : field.toCharArray()) {
+                if (Character.isUpperCase(c)) {
+                    name.append('_');
+                }
+                name.append(Character.toUpperCase(c));
+            }
+            return name.append('_').append(code.toUpperCase()).toString();
+        }
+    }
+
+    private static class FieldConstraint {
+
+        final FieldConstraints field;
+        final Constraint constraint;
+
+        FieldConstraint(FieldConstraints field, Constraint constraint) {
+            this.field = field;
+            this.constraint = constraint;
+        }
+    }
+
+}
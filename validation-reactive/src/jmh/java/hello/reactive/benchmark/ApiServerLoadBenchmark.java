@@ -0,0 +1,75 @@
+package hello.reactive.benchmark;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.reactive.ReactiveItemApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /validation/api/items/add 부하 테스트 : servlet (Spring MVC, Tomcat) vs reactive (WebFlux, Netty)
+ * 동시 요청(@Threads) 을 서버 스레드 수보다 많이 보내고, SampleTime 결과로 처리량과 p99 를 비교한다.
+ * valid : 검증 통과, invalid : 검증 실패 (getAllErrors 응답)
+ * ./gradlew :validation-reactive:jmh -Pjmh.args="ApiServerLoadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(256)
+public class ApiServerLoadBenchmark {
+
+    @Param({"servlet", "reactive"})
+    String server;
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest addRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = server.equals("servlet")
+                ? new SpringApplicationBuilder(ItemServiceApplication.class).web(WebApplicationType.SERVLET)
+                : new SpringApplicationBuilder(ReactiveItemApplication.class).web(WebApplicationType.REACTIVE);
+        context = builder.run("--server.port=0", "--spring.output.ansi.enabled=never", "--logging.level.root=warn");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        String body = input.equals("valid")
+                ? "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}"
+                : "{\"itemName\":\" \",\"price\":10,\"quantity\":10000}";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        addRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation/api/items/add"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int add() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(addRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("status=" + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+}
@@ -0,0 +1,25 @@
+package hello.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+import java.util.Map;
+
+/**
+ * 검증 API 의 WebFlux(Netty) 버전
+ * 서블릿 버전(hello.itemservice) 과 같은 요청, 응답 형식을 사용하고 ItemSaveForm, ItemRepository, 메시지 파일을 공유한다.
+ * 서블릿 버전의 컴포넌트 스캔에 포함되지 않도록 패키지를 분리했다.
+ */
+@SpringBootApplication
+public class ReactiveItemApplication {
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(ReactiveItemApplication.class);
+		// 공유 모듈에 spring-webmvc 가 있어도 Netty 로 실행하고, 서블릿 버전(8080) 과 함께 실행할 수 있도록 포트를 바꾼다.
+		application.setWebApplicationType(WebApplicationType.REACTIVE);
+		application.setDefaultProperties(Map.of("server.port", "8081"));
+		application.run(args);
+	}
+
+}
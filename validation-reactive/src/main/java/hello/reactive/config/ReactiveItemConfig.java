@@ -0,0 +1,36 @@
+package hello.reactive.config;
+
+import hello.itemservice.config.ItemStoreConfig;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.ItemSaveFormValidator;
+import hello.itemservice.web.validation.batch.ItemRowValidator;
+import hello.itemservice.web.validation.compiled.BeanValidationConstraintMessages;
+import hello.itemservice.web.validation.form.ItemSaveFormCompiledValidator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.Validator;
+
+import javax.validation.ValidatorFactory;
+
+/**
+ * 서블릿 버전과 같은 저장소(item.store.* 설정), 검증 규칙을 사용한다.
+ */
+@Configuration
+@Import({ItemStoreConfig.class, ItemRepository.class})
+public class ReactiveItemConfig {
+
+    /**
+     * 대량 등록 항목 검증 : Bean Validation(webFluxValidator) + 글로벌 에러(totalPriceMin)
+     * 빠른 실패(firstViolation) 는 생성된 검증기를 사용한다.
+     */
+    @Bean
+    public ItemRowValidator itemRowValidator(@Qualifier("webFluxValidator") Validator webFluxValidator,
+                                             @Qualifier("defaultValidator") ValidatorFactory validatorFactory) {
+        return new ItemRowValidator(new ItemSaveFormValidator(webFluxValidator), new DefaultMessageCodesResolver(),
+                new ItemSaveFormCompiledValidator(new BeanValidationConstraintMessages(validatorFactory)));
+    }
+
+}
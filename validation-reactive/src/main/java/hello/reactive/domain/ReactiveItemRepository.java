@@ -0,0 +1,48 @@
+package hello.reactive.domain;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * ItemRepository 의 논블로킹 버전
+ * 저장소(ItemStore) 는 파일 기록(PersistentItemStore, fsync) 처럼 대기할 수 있으므로,
+ * 모든 호출을 boundedElastic 스케줄러에서 실행하여 Netty 이벤트 루프를 막지 않는다.
+ */
+@Repository
+public class ReactiveItemRepository {
+
+    private final ItemRepository itemRepository;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    public ReactiveItemRepository(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    public Mono<Item> save(Item item) {
+        return Mono.fromCallable(() -> itemRepository.save(item)).subscribeOn(scheduler);
+    }
+
+    public Mono<List<Item>> saveAll(List<Item> items) {
+        return Mono.fromCallable(() -> itemRepository.saveAll(items)).subscribeOn(scheduler);
+    }
+
+    public Mono<Item> findById(Long id) {
+        return Mono.fromCallable(() -> itemRepository.findById(id)).subscribeOn(scheduler);
+    }
+
+    /**
+     * 전체 상품을 ID 순서로 순회한다. (ItemRepository.stream)
+     * 요청한 개수(request(n)) 만큼만 저장소에서 읽으므로 느린 클라이언트에도 전체를 메모리에 올리지 않는다.
+     */
+    public Flux<Item> findAll() {
+        return Flux.fromStream(itemRepository::stream).subscribeOn(scheduler);
+    }
+
+}
@@ -0,0 +1,29 @@
+package hello.reactive.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hello.itemservice.web.validation.batch.RowError;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 스트리밍 대량 등록의 항목별 결과 : {"index":0,"id":1} 또는 {"index":1,"errors":[...]}
+ * (서블릿 버전 ItemStreamIngester 와 같은 형식)
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemRowResult {
+
+    private final long index;
+    private final Long id;
+    private final List<RowError.Error> errors;
+
+    public static ItemRowResult saved(long index, Long id) {
+        return new ItemRowResult(index, id, null);
+    }
+
+    public static ItemRowResult rejected(long index, List<RowError.Error> errors) {
+        return new ItemRowResult(index, null, errors);
+    }
+
+}
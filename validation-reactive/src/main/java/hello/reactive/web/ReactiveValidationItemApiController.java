@@ -0,0 +1,188 @@
+package hello.reactive.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.batch.IngestSummary;
+import hello.itemservice.web.validation.batch.ItemJsonReader;
+import hello.itemservice.web.validation.batch.ItemRowValidator;
+import hello.itemservice.web.validation.batch.RowError;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.reactive.domain.ReactiveItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/items")
+public class ReactiveValidationItemApiController {
+
+    private final ReactiveItemRepository itemRepository;
+    private final Validator validator;
+    private final ItemRowValidator itemRowValidator;
+    private final ItemJsonReader itemJsonReader;
+    private final MessageSource messageSource;
+    private final int chunkSize;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public ReactiveValidationItemApiController(ReactiveItemRepository itemRepository,
+                                               @Qualifier("webFluxValidator") Validator validator,
+                                               ItemRowValidator itemRowValidator, MessageSource messageSource,
+                                               @Value("${item.ingest.chunk-size:1000}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.validator = validator;
+        this.itemRowValidator = itemRowValidator;
+        this.itemJsonReader = new ItemJsonReader(itemRowValidator);
+        this.messageSource = messageSource;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 서블릿 버전(ValidationItemApiController.addItem) 과 같은 응답
+     * 성공 : 요청한 ItemSaveForm, 검증 실패 : bindingResult.getAllErrors()
+     * WebFlux 는 @RequestBody 에 BindingResult 를 받을 수 없고 Mono 파라미터의 객체 이름도 달라지므로(itemSaveFormMono),
+     * 같은 객체 이름(itemSaveForm) 으로 직접 검증한다.
+     * JSON 을 객체로 만들지 못하면 서블릿 버전과 같이 400 으로 응답한다.
+     */
+    @PostMapping("/add")
+    public Mono<Object> addItem(@RequestBody Mono<ItemSaveForm> form) {
+        return form.map(saveForm -> {
+            BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "itemSaveForm");
+            validator.validate(saveForm, bindingResult);
+            if (bindingResult.hasErrors()) {
+                log.info("Validation errors = {}", bindingResult);
+                return bindingResult.getAllErrors();
+            }
+            log.info("성공 로직 실행");
+            return saveForm;
+        });
+    }
+
+    /**
+     * 전체 상품 : NDJSON 으로 한 건씩 응답한다.
+     * 클라이언트가 읽는 속도에 맞춰 저장소에서 읽는다. (backpressure)
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Item> items() {
+        return itemRepository.findAll();
+    }
+
+    /**
+     * 스트리밍 대량 등록 : NDJSON 요청을 한 줄씩 읽으면서 검증하고, chunkSize 개씩 저장한 뒤 항목별 결과를 NDJSON 으로 응답한다.
+     * 저장(응답) 이 늦어지면 요청 본문도 그만큼 늦게 읽으므로, 요청 크기와 관계없이 메모리에는 chunk 만 남는다.
+     * 항목은 서블릿 버전(ItemStreamIngester) 과 같이 ItemJsonReader 로 필드 단위로 읽으므로 검증 규칙, 응답 형식이 같다.
+     * - price 에 "abc" 가 들어오면 그 항목만 typeMismatch, null 항목은 required
+     * - JSON 문법 오류는 {"error":"..."} 를 쓰고 중단한다. (이미 저장한 항목은 유지)
+     * - 마지막 줄은 요약 {"total":..,"saved":..,"rejected":..}
+     * JSON 배열 입력, 빠른 실패(ValidationMode.FAIL_FAST) 는 지원하지 않는다.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> addItemsStream(@RequestBody Flux<String> lines, Locale locale) {
+        // 요청마다 센다. (chunk 는 concatMap 으로 순서대로 처리된다)
+        Counts counts = new Counts();
+        return lines.concatMapIterable(this::read)
+                .takeUntil(row -> row.error != null)
+                .index((index, row) -> row.index(index))
+                .buffer(chunkSize)
+                .concatMap(rows -> save(rows, locale, counts))
+                .concatWith(Mono.fromSupplier(() -> new IngestSummary(counts.total, counts.saved, counts.rejected)));
+    }
+
+    /**
+     * 한 줄의 항목들을 읽고 검증한다. (빈 줄은 항목이 없다)
+     */
+    private List<Row> read(String line) {
+        List<Row> rows = new ArrayList<>(1);
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                BeanPropertyBindingResult bindingResult = itemJsonReader.read(parser, token);
+                // 객체가 아닌 항목(target == null) 은 read() 에서 기록한 오류만 있다.
+                if (bindingResult.getTarget() != null) {
+                    itemRowValidator.validate((ItemSaveForm) bindingResult.getTarget(), bindingResult);
+                }
+                rows.add(new Row(bindingResult, null));
+            }
+        } catch (JsonProcessingException e) {
+            rows.add(new Row(null, e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private Flux<Object> save(List<Row> rows, Locale locale, Counts counts) {
+        List<Item> items = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.error == null && !row.bindingResult.hasErrors()) {
+                ItemSaveForm form = (ItemSaveForm) row.bindingResult.getTarget();
+                row.item = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+                items.add(row.item);
+            }
+        }
+        Mono<List<Item>> saved = items.isEmpty() ? Mono.just(items) : itemRepository.saveAll(items);
+        return saved.flatMapIterable(savedItems -> rows)
+                .map(row -> result(row, locale, counts));
+    }
+
+    private Object result(Row row, Locale locale, Counts counts) {
+        if (row.error != null) {
+            // 문법 오류로 읽지 못한 항목은 total 에 포함하지 않는다.
+            return Map.of("error", row.error);
+        }
+        counts.total++;
+        if (row.item != null) {
+            counts.saved++;
+            return ItemRowResult.saved(row.index, row.item.getId());
+        }
+        counts.rejected++;
+        return ItemRowResult.rejected(row.index,
+                RowError.of((int) Math.min(row.index, Integer.MAX_VALUE), row.bindingResult, messageSource, locale).getErrors());
+    }
+
+    private static class Row {
+        private final BeanPropertyBindingResult bindingResult;
+        // JSON 문법 오류 (이후는 읽지 않는다)
+        private final String error;
+        private long index;
+        private Item item;
+
+        Row(BeanPropertyBindingResult bindingResult, String error) {
+            this.bindingResult = bindingResult;
+            this.error = error;
+        }
+
+        Row index(long index) {
+            this.index = index;
+            return this;
+        }
+    }
+
+    private static class Counts {
+        private long total;
+        private long saved;
+        private long rejected;
+    }
+
+}
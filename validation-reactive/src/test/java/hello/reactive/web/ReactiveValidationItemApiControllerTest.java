@@ -0,0 +1,171 @@
+package hello.reactive.web;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveValidationItemApiControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void addItem() {
+        webTestClient.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itemName").isEqualTo("itemA")
+                .jsonPath("$.price").isEqualTo(10000);
+    }
+
+    @Test
+    void addItemValidationError() {
+        // 서블릿 버전의 bindingResult.getAllErrors() 와 같은 형식
+        webTestClient.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":10,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].objectName").isEqualTo("itemSaveForm")
+                .jsonPath("$[0].field").isEqualTo("price")
+                .jsonPath("$[0].rejectedValue").isEqualTo(10)
+                .jsonPath("$[0].code").isEqualTo("Range")
+                .jsonPath("$[0].codes[0]").isEqualTo("Range.itemSaveForm.price")
+                .jsonPath("$[0].bindingFailure").isEqualTo(false);
+    }
+
+    @Test
+    void addItemTypeMismatch() {
+        webTestClient.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":\"abc\",\"quantity\":10}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void itemsWithBackpressure() {
+        //given
+        for (int i = 0; i < 100; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        Flux<Item> items = webTestClient.get().uri("/validation/api/items")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Item.class)
+                .getResponseBody();
+
+        //then : 요청한 만큼만 받고 취소할 수 있다.
+        StepVerifier.create(items, 2)
+                .assertNext(item -> assertThat(item.getItemName()).isEqualTo("item0"))
+                .assertNext(item -> assertThat(item.getItemName()).isEqualTo("item1"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void addItemsStream() {
+        //given : 정상, 필드 오류, 글로벌 오류(totalPriceMin)
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n" +
+                "{\"itemName\":\" \",\"price\":10000,\"quantity\":10}\n" +
+                "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}\n";
+
+        //when
+        List<ItemRowResultView> results = addItemsStream(body);
+
+        //then : 마지막 줄은 요약
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(itemRepository.findById(results.get(0).getId()).getItemName()).isEqualTo("itemA");
+        assertThat(results.get(1).getErrors()).extracting(error -> error.get("code")).containsExactly("NotBlank");
+        assertThat(results.get(2).getErrors()).extracting(error -> error.get("message"))
+                .containsExactly("전체 가격은 10,000원 이상이어야 합니다. 현재 값 = 1,000");
+        assertThat(results.get(3)).extracting("total", "saved", "rejected").containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void addItemsStreamBindingErrors() {
+        //given : 타입 오류, null 항목, 빈 줄, JSON 문법 오류 (서블릿 버전 ItemStreamIngester 와 같은 결과)
+        String body = "{\"itemName\":\"itemA\",\"price\":\"abc\",\"quantity\":10}\n" +
+                "null\n" +
+                "\n" +
+                "{\"itemName\":\"itemC\",\"price\":10000,\"quantity\":10}\n" +
+                "{\"itemName\":\n" +
+                "{\"itemName\":\"itemE\",\"price\":10000,\"quantity\":10}\n";
+
+        //when
+        List<ItemRowResultView> results = addItemsStream(body);
+
+        //then : 타입 오류는 그 항목의 필드 오류, 문법 오류 이후는 읽지 않는다.
+        assertThat(results).hasSize(5);
+        assertThat(results.get(0).getIndex()).isEqualTo(0);
+        assertThat(results.get(0).getErrors()).extracting(error -> error.get("field"), error -> error.get("code"))
+                .containsExactly(tuple("price", "typeMismatch"));
+        assertThat(results.get(1).getIndex()).isEqualTo(1);
+        assertThat(results.get(1).getErrors()).extracting(error -> error.get("code")).containsExactly("required");
+        assertThat(results.get(2).getIndex()).isEqualTo(2);
+        assertThat(results.get(2).getId()).isNotNull();
+        assertThat(results.get(3).getError()).isNotBlank();
+        assertThat(results.get(4)).extracting("total", "saved", "rejected").containsExactly(3L, 1L, 2L);
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).containsExactly("itemC");
+    }
+
+    private List<ItemRowResultView> addItemsStream(String body) {
+        return webTestClient.post().uri("/validation/api/items/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header("Accept-Language", "ko")
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ItemRowResultView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+
+    @Data
+    static class ItemRowResultView {
+        private long index;
+        private Long id;
+        private List<Map<String, Object>> errors;
+        private String error;
+        // 요약 (마지막 줄)
+        private Long total;
+        private Long saved;
+        private Long rejected;
+    }
+
+}